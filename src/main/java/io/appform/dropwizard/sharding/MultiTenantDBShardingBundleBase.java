@@ -24,9 +24,13 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Maps;
 import io.appform.dropwizard.sharding.admin.BlacklistShardTask;
+import io.appform.dropwizard.sharding.admin.SlowStatementsTask;
 import io.appform.dropwizard.sharding.admin.UnblacklistShardTask;
+import io.appform.dropwizard.sharding.caching.CaffeineLookupCache;
+import io.appform.dropwizard.sharding.caching.CaffeineRelationalCache;
 import io.appform.dropwizard.sharding.caching.LookupCache;
 import io.appform.dropwizard.sharding.caching.RelationalCache;
+import io.appform.dropwizard.sharding.config.CacheConfig;
 import io.appform.dropwizard.sharding.config.MetricConfig;
 import io.appform.dropwizard.sharding.config.MultiTenantShardedHibernateFactory;
 import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
@@ -36,10 +40,13 @@ import io.appform.dropwizard.sharding.dao.MultiTenantCacheableRelationalDao;
 import io.appform.dropwizard.sharding.dao.MultiTenantLookupDao;
 import io.appform.dropwizard.sharding.dao.MultiTenantRelationalDao;
 import io.appform.dropwizard.sharding.dao.WrapperDao;
+import io.appform.dropwizard.sharding.execution.TenantExecutors;
+import io.appform.dropwizard.sharding.execution.VirtualThreads;
 import io.appform.dropwizard.sharding.healthcheck.HealthCheckManager;
 import io.appform.dropwizard.sharding.hibernate.SessionFactoryFactory;
 import io.appform.dropwizard.sharding.hibernate.SessionFactoryManager;
 import io.appform.dropwizard.sharding.hibernate.SessionFactorySource;
+import io.appform.dropwizard.sharding.metrics.SlowStatementRecorder;
 import io.appform.dropwizard.sharding.metrics.TransactionMetricManager;
 import io.appform.dropwizard.sharding.metrics.TransactionMetricObserver;
 import io.appform.dropwizard.sharding.observers.bucket.BucketKeyObserver;
@@ -61,15 +68,18 @@ import lombok.val;
 import org.apache.commons.collections.MapUtils;
 import org.hibernate.SessionFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -94,6 +104,12 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
 
   private Map<String, HealthCheckManager> healthCheckManagers = Maps.newHashMap();
 
+  private Map<String, Map<String, CacheConfig>> cacheConfigs = Maps.newHashMap();
+
+  private Map<String, TenantExecutors> tenantExecutors = Maps.newHashMap();
+
+  private MetricRegistry metricRegistry;
+
   protected MultiTenantDBShardingBundleBase(
       Class<?> entity,
       Class<?>... entities) {
@@ -114,13 +130,21 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
   @Override
   public void run(T configuration, Environment environment) {
     final var tenantedConfig = getConfig(configuration);
+    this.metricRegistry = environment.metrics();
     tenantedConfig.getTenants().forEach((tenantId, shardConfig) -> {
       //Encryption Support through jasypt-hibernate5
       var shardingOption = shardConfig.getShardingOptions();
       shardingOption = Objects.nonNull(shardingOption) ? shardingOption : new ShardingBundleOptions();
+      final int jdbcBatchSize = shardingOption.getJdbcBatchSize();
+      final long replicaReadAfterWriteWindowMs = shardingOption.getReplicaReadAfterWriteWindowMs();
+      final boolean replicaFallbackToPrimary = shardingOption.isReplicaFallbackToPrimary();
       final int shardCount = shardConfig.getShards().size();
-      final int shardInitializationParallelism = fetchParallelism(shardingOption);
-      final var executorService = Executors.newFixedThreadPool(shardInitializationParallelism);
+      if (!MapUtils.isEmpty(shardConfig.getReplicas())) {
+        shardConfig.getReplicas().keySet().forEach(shard -> Preconditions.checkArgument(
+                null != shard && shard >= 0 && shard < shardCount,
+                "Replicas configured for unknown shard " + shard + " of tenant " + tenantId));
+      }
+      final var executorService = initializationExecutor(tenantId, shardingOption);
       try {
         final var blacklistingStore = getBlacklistingStore();
         final var shardManager = createShardManager(shardCount, blacklistingStore);
@@ -139,10 +163,30 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
                         return shardInfoProvider.shardName(shard);
                       }
 
+                      @Override
+                      protected int jdbcBatchSize() {
+                        return jdbcBatchSize;
+                      }
+
                       @Override
                       public PooledDataSourceFactory getDataSourceFactory(T t) {
                         return shardConfig.getShards().get(shard);
                       }
+
+                      @Override
+                      protected List<? extends PooledDataSourceFactory> getReplicaDataSourceFactories(T t) {
+                        return shardConfig.replicasOf(shard);
+                      }
+
+                      @Override
+                      protected long replicaReadAfterWriteWindowMs() {
+                        return replicaReadAfterWriteWindowMs;
+                      }
+
+                      @Override
+                      protected boolean replicaFallbackToPrimary() {
+                        return replicaFallbackToPrimary;
+                      }
                     }.build(configuration, environment);
                   } catch (Exception e) {
                     log.error("Failed to build session factory for shard {}", shard, e);
@@ -153,11 +197,19 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
         final var sessionFactorySources = getSessionFactorySources(tenantId, futures);
         final var sessionFactoryManager = new SessionFactoryManager(sessionFactorySources);
         environment.lifecycle().manage(sessionFactoryManager);
+        final var metricManager = new TransactionMetricManager(shardConfig::getMetricConfig,
+                environment.metrics());
+        if (metricManager.isPoolMetricApplicable()) {
+          IntStream.range(0, shardCount).forEach(shard -> metricManager.registerPoolGauges(
+                  shardInfoProvider.shardName(shard), sessionFactorySources.get(shard).getDataSource()));
+        }
         val sessionFactory = sessionFactorySources
                 .stream()
                 .map(SessionFactorySource::getFactory)
                 .collect(Collectors.toList());
         sessionFactory.forEach(factory -> factory.getProperties().put("tenant.id", tenantId));
+        registerSlowStatementRecorders(tenantId, shardConfig.getMetricConfig(), shardInfoProvider, sessionFactory,
+                environment);
         if (shardingOption.isEncryptionSupportEnabled()) {
           Preconditions.checkArgument(shardingOption.getEncryptionIv().length() == 16,
                   "Encryption IV Should be 16 bytes long");
@@ -168,8 +220,13 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
         }
         this.sessionFactories.put(tenantId, sessionFactory);
         this.shardingOptions.put(tenantId, shardingOption);
-        setupObservers(tenantId, shardConfig.getMetricConfig(), environment.metrics(), this.shardManagers,
-              this.initialisedEntitiesMeta);
+        final var executors = new TenantExecutors(tenantId, shardingOption);
+        environment.lifecycle().manage(executors);
+        this.tenantExecutors.put(tenantId, executors);
+        if (!MapUtils.isEmpty(shardConfig.getCaches())) {
+          this.cacheConfigs.put(tenantId, shardConfig.getCaches());
+        }
+        setupObservers(tenantId, metricManager, this.shardManagers, this.initialisedEntitiesMeta);
         environment.admin().addTask(new BlacklistShardTask(tenantId, shardManager));
         environment.admin().addTask(new UnblacklistShardTask(tenantId, shardManager));
       } finally {
@@ -207,13 +264,26 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
     return () -> getConfig(config).getTenants().get(tenantId).getMetricConfig();
   }
 
+  /**
+   * Creates a lookup dao for the entity. If caches are configured for the entity, the returned dao
+   * reads and writes through a {@link CaffeineLookupCache} for the tenants that have one configured.
+   */
   public <EntityType, T extends Configuration>
   MultiTenantLookupDao<EntityType> createParentObjectDao(Class<EntityType> clazz) {
+    final Map<String, CaffeineLookupCache<EntityType>> caches = Maps.newHashMap();
+    cacheConfigs(clazz).forEach((tenantId, cacheConfig) -> caches.put(tenantId,
+        new CaffeineLookupCache<>(cacheMetricName(tenantId, clazz), cacheConfig, metricRegistry)));
+    if (!caches.isEmpty()) {
+      final var dao = createParentObjectDao(clazz, Maps.<String, LookupCache<EntityType>>newHashMap(caches));
+      caches.forEach((tenantId, cache) -> cache.setLoader(key -> dao.get(tenantId, key, Function.identity())));
+      return dao;
+    }
     return new MultiTenantLookupDao<>(this.sessionFactories, clazz,
         this.shardManagers,
         this.shardingOptions,
         shardInfoProviders,
-        rootObserver);
+        rootObserver,
+        tenantExecutors);
   }
 
   public <EntityType, T extends Configuration>
@@ -224,16 +294,29 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
         cacheManager,
         this.shardingOptions,
         shardInfoProviders,
-        rootObserver);
+        rootObserver,
+        tenantExecutors);
   }
 
+  /**
+   * Creates a relational dao for the entity. If caches are configured for the entity, the returned
+   * dao reads and writes through a {@link CaffeineRelationalCache} for the tenants that have one
+   * configured.
+   */
   public <EntityType, T extends Configuration>
   MultiTenantRelationalDao<EntityType> createRelatedObjectDao(Class<EntityType> clazz) {
+    final Map<String, RelationalCache<EntityType>> caches = Maps.newHashMap();
+    cacheConfigs(clazz).forEach((tenantId, cacheConfig) -> caches.put(tenantId,
+        new CaffeineRelationalCache<>(cacheMetricName(tenantId, clazz), cacheConfig, metricRegistry)));
+    if (!caches.isEmpty()) {
+      return createRelatedObjectDao(clazz, caches);
+    }
     return new MultiTenantRelationalDao<>(this.sessionFactories, clazz,
         this.shardManagers,
         this.shardingOptions,
         shardInfoProviders,
-        rootObserver);
+        rootObserver,
+        tenantExecutors);
   }
 
 
@@ -246,7 +329,8 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
         cacheManager,
         this.shardingOptions,
         shardInfoProviders,
-        rootObserver);
+        rootObserver,
+        tenantExecutors);
   }
 
   public <EntityType, DaoType extends AbstractDAO<EntityType>, T extends Configuration>
@@ -269,6 +353,50 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
         extraConstructorParamClasses, extraConstructorParamObjects, this.shardManagers.get(tenantId));
   }
 
+  private Map<String, CacheConfig> cacheConfigs(final Class<?> clazz) {
+    final Map<String, CacheConfig> entityCacheConfigs = Maps.newHashMap();
+    cacheConfigs.forEach((tenantId, tenantCacheConfigs) -> {
+      final var cacheConfig = tenantCacheConfigs.get(clazz.getCanonicalName());
+      if (null != cacheConfig) {
+        entityCacheConfigs.put(tenantId, cacheConfig);
+      }
+    });
+    return entityCacheConfigs;
+  }
+
+  private static String cacheMetricName(final String tenantId, final Class<?> clazz) {
+    return MetricRegistry.name("db.sharding.cache", tenantId, clazz.getCanonicalName().replace('.', '_'));
+  }
+
+  private void registerSlowStatementRecorders(final String tenantId,
+                                              final MetricConfig metricConfig,
+                                              final ShardInfoProvider shardInfoProvider,
+                                              final List<SessionFactory> sessionFactories,
+                                              final Environment environment) {
+    if (null == metricConfig || null == metricConfig.getSlowStatements()) {
+      return;
+    }
+    final List<SlowStatementRecorder> recorders = new ArrayList<>(sessionFactories.size());
+    for (int shard = 0; shard < sessionFactories.size(); shard++) {
+      final var recorder = new SlowStatementRecorder(shardInfoProvider.shardName(shard),
+              metricConfig.getSlowStatements());
+      sessionFactories.get(shard).getProperties().put(SlowStatementRecorder.SESSION_FACTORY_PROPERTY, recorder);
+      recorders.add(recorder);
+    }
+    environment.admin().addTask(new SlowStatementsTask(tenantId, recorders));
+  }
+
+  private ExecutorService initializationExecutor(final String tenantId,
+                                                 final ShardingBundleOptions bundleOptions) {
+    if (bundleOptions.isVirtualThreads()) {
+      if (VirtualThreads.isSupported()) {
+        return VirtualThreads.newExecutor(tenantId + "-shard-init");
+      }
+      log.warn("Virtual threads are not supported on {}, using platform threads", Runtime.version());
+    }
+    return Executors.newFixedThreadPool(fetchParallelism(bundleOptions));
+  }
+
   private int fetchParallelism(final ShardingBundleOptions bundleOptions) {
     final var availableCpus = Runtime.getRuntime().availableProcessors();
     final var defaultParallelism = Math.max(1, availableCpus - 2);
@@ -309,8 +437,7 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
   }
 
   private void setupObservers(final String tenantId,
-                              final MetricConfig metricConfig,
-                              final MetricRegistry metricRegistry,
+                              final TransactionMetricManager metricManager,
                               final Map<String, ShardManager> shardManagers,
                               final Map<String, EntityMeta> initialisedEntityMeta) {
     //Observer chain starts with filters and ends with listener invocations
@@ -331,9 +458,7 @@ public abstract class MultiTenantDBShardingBundleBase<T extends Configuration> e
       }
       this.rootObserver = observer.setNext(rootObserver);
     }
-    rootObserver = new TransactionMetricObserver(
-            new TransactionMetricManager(() -> metricConfig,
-                    metricRegistry)).setNext(rootObserver);
+    rootObserver = new TransactionMetricObserver(metricManager).setNext(rootObserver);
 
     rootObserver = new FilteringObserver(rootObserver).addFilters(filters);
     //Print the observer chain
@@ -1,18 +1,22 @@
 package io.appform.dropwizard.sharding;
 
 import lombok.Builder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 @Slf4j
 public class ShardInfoProvider {
 
+    @Getter
     private final String namespace;
     private static final String SHARD_NAMING_FORMAT = "connectionpool-%s-%d";
     private static final String SHARD_NAMING_REGEX = "connectionpool-(\\w+)-(\\d+)";
     private static final Pattern SHARD_NAMING_PATTERN = Pattern.compile(SHARD_NAMING_REGEX);
+    private volatile String[] shardNames = new String[0];
 
 
     @Builder
@@ -37,7 +41,27 @@ public class ShardInfoProvider {
     }
 
     public String shardName(int shardId) {
-        return String.format(SHARD_NAMING_FORMAT, namespace, shardId);
+        final String[] names = shardNames;
+        if (shardId >= 0 && shardId < names.length && null != names[shardId]) {
+            return names[shardId];
+        }
+        return cacheShardName(shardId);
+    }
+
+    /*
+     * Shard names are looked up on every transaction, so they are formatted once and reused
+     */
+    private synchronized String cacheShardName(int shardId) {
+        final String name = String.format(SHARD_NAMING_FORMAT, namespace, shardId);
+        if (shardId < 0) {
+            return name;
+        }
+        final String[] names = shardId < shardNames.length
+                               ? shardNames
+                               : Arrays.copyOf(shardNames, shardId + 1);
+        names[shardId] = name;
+        shardNames = names;
+        return name;
     }
 
 
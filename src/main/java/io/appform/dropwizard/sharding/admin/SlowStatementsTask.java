@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.admin;
+
+import io.appform.dropwizard.sharding.metrics.SlowStatementRecorder;
+import io.dropwizard.servlets.tasks.Task;
+import lombok.val;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dumps the slowest statements of every shard of a tenant. Pass shardId to dump a single shard and
+ * reset=true to start tracking afresh after the dump.
+ * Example URL: http://localhost:8081/tasks/{tenantId}.slowStatements?shardId=1
+ */
+public class SlowStatementsTask extends Task {
+    private final List<SlowStatementRecorder> recorders;
+
+    public SlowStatementsTask(String tenantId, List<SlowStatementRecorder> recorders) {
+        super(tenantId + ".slowStatements");
+        this.recorders = recorders;
+    }
+
+    @Override
+    public void execute(Map<String, List<String>> map, PrintWriter out) throws Exception {
+        val reset = map.getOrDefault("reset", List.of()).contains("true");
+        if (map.containsKey("shardId")) {
+            val shard = TaskUtils.parseShardParam(map);
+            if (shard < 0 || shard >= recorders.size()) {
+                throw new Exception("Invalid shard id provided: " + shard);
+            }
+            dump(recorders.get(shard), reset, out);
+            return;
+        }
+        for (val recorder : recorders) {
+            dump(recorder, reset, out);
+        }
+    }
+
+    private static void dump(final SlowStatementRecorder recorder, final boolean reset, final PrintWriter out) {
+        out.println(recorder.getShardName());
+        out.printf("%10s %10s %10s %10s %10s  %s%n", "count", "mean(ms)", "p50(ms)", "p99(ms)", "max(ms)", "statement");
+        for (val statement : recorder.slowStatements()) {
+            out.printf("%10d %10.2f %10.2f %10.2f %10d  %s%n",
+                    statement.getCount(),
+                    statement.getMeanMs(),
+                    statement.getP50Ms(),
+                    statement.getP99Ms(),
+                    statement.getMaxMs(),
+                    statement.getFingerprint());
+        }
+        out.println();
+        if (reset) {
+            recorder.clear();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.caching;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.appform.dropwizard.sharding.config.CacheConfig;
+import lombok.experimental.UtilityClass;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Common setup for the Caffeine backed caches
+ */
+@UtilityClass
+class CaffeineCaches {
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Caffeine<K, V> newBuilder(final CacheConfig config,
+                                            final Weigher<K, V> weigher,
+                                            final boolean refreshable) {
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (null != config.getExpireAfterWrite()) {
+            builder.expireAfterWrite(config.getExpireAfterWrite().getQuantity(),
+                                     config.getExpireAfterWrite().getUnit());
+        }
+        if (refreshable && null != config.getRefreshAfterWrite()) {
+            builder.refreshAfterWrite(config.getRefreshAfterWrite().getQuantity(),
+                                      config.getRefreshAfterWrite().getUnit());
+        }
+        if (config.getMaximumWeight() > 0) {
+            return builder.maximumWeight(config.getMaximumWeight()).weigher(weigher);
+        }
+        return (Caffeine<K, V>) (Caffeine<?, ?>) builder.maximumSize(config.getMaximumSize());
+    }
+
+    /**
+     * Gets the value of the key, loading it on the calling thread if absent. Callers arriving while
+     * the key is being loaded wait for that load instead of starting their own. Only the pending
+     * future is inserted while holding the cache's lock for the key, the loader runs outside it, so
+     * a slow load does not hold up other keys. A write or invalidation of the key made while it
+     * is being loaded wins over the loaded value. A null value is not cached.
+     */
+    static <K, V> V getOrLoad(final AsyncCache<K, V> cache, final K key, final Supplier<V> loader) {
+        final CompletableFuture<V> promise = new CompletableFuture<>();
+        final CompletableFuture<V> future = cache.get(key, (ignored, executor) -> promise);
+        if (future == promise) {
+            try {
+                promise.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                promise.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Exports cache stats as gauges named {@code <name>.<stat>}. Gauges of an older cache with the
+     * same name get replaced.
+     */
+    static void registerMetrics(final String name, final Cache<?, ?> cache, final MetricRegistry metricRegistry) {
+        if (null == metricRegistry) {
+            return;
+        }
+        register(metricRegistry, MetricRegistry.name(name, "hits"), () -> cache.stats().hitCount());
+        register(metricRegistry, MetricRegistry.name(name, "misses"), () -> cache.stats().missCount());
+        register(metricRegistry, MetricRegistry.name(name, "hitRate"), () -> cache.stats().hitRate());
+        register(metricRegistry, MetricRegistry.name(name, "evictions"), () -> cache.stats().evictionCount());
+        register(metricRegistry, MetricRegistry.name(name, "evictionWeight"),
+                 () -> cache.stats().evictionWeight());
+        register(metricRegistry, MetricRegistry.name(name, "loadFailures"), () -> cache.stats().loadFailureCount());
+        register(metricRegistry, MetricRegistry.name(name, "size"), cache::estimatedSize);
+    }
+
+    private static <T> void register(final MetricRegistry metricRegistry,
+                                     final String name,
+                                     final Supplier<T> value) {
+        metricRegistry.remove(name);
+        metricRegistry.register(name, (Gauge<T>) value::get);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.appform.dropwizard.sharding.config.CacheConfig;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded {@link LookupCache} backed by Caffeine.
+ * <p>
+ * Entries expire and are evicted as per the {@link CacheConfig}. If refreshAfterWrite is configured
+ * and a loader has been set using {@link #setLoader(CacheLoader)}, entries older than the refresh
+ * interval are reloaded in the background on access, while the old value keeps getting served.
+ * Hit, miss and eviction stats are exported to the metric registry under the given name.
+ * <p>
+ * If negativeExpireAfterWrite is configured, keys that {@link #getOrLoad(String, Supplier)} found
+ * missing are remembered separately for that long, with stats under {@code <name>.negative}. Any
+ * {@link #put(String, Object)} or {@link #invalidate(String)} of the key forgets it. A key is not
+ * remembered as missing if it was written or invalidated while it was being loaded, as the load may
+ * have read the row before the write committed.
+ */
+public class CaffeineLookupCache<V> implements LookupCache<V> {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final AsyncLoadingCache<String, V> asyncCache;
+    private final LoadingCache<String, V> cache;
+    private final Cache<String, Boolean> missing;
+    //Bumped on every write or invalidation of the keys of a stripe
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private volatile CacheLoader<String, V> loader;
+
+    public CaffeineLookupCache(final String name,
+                               final CacheConfig config,
+                               final MetricRegistry metricRegistry) {
+        this(name, config, metricRegistry, (key, value) -> 1);
+    }
+
+    public CaffeineLookupCache(final String name,
+                               final CacheConfig config,
+                               final MetricRegistry metricRegistry,
+                               final Weigher<String, V> weigher) {
+        this.asyncCache = CaffeineCaches.newBuilder(config, weigher, true)
+                .buildAsync((CacheLoader<String, V>) this::load);
+        this.cache = asyncCache.synchronous();
+        CaffeineCaches.registerMetrics(name, cache, metricRegistry);
+        if (null == config.getNegativeExpireAfterWrite()) {
+            this.missing = null;
+            return;
+        }
+        final CacheConfig negativeConfig = CacheConfig.builder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getNegativeExpireAfterWrite())
+                .build();
+        this.missing = CaffeineCaches.<String, Boolean>newBuilder(negativeConfig, (key, value) -> 1, false)
+                .build();
+        CaffeineCaches.registerMetrics(MetricRegistry.name(name, "negative"), missing, metricRegistry);
+    }
+
+    /**
+     * Sets the loader used to refresh entries. Entries are not refreshed till a loader is set.
+     */
+    public void setLoader(final CacheLoader<String, V> loader) {
+        this.loader = loader;
+    }
+
+    @Override
+    public void put(String key, V entity) {
+        if (null == entity) {
+            invalidate(key);
+            return;
+        }
+        cache.put(key, entity);
+        forgetMissing(key);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return null != cache.getIfPresent(key);
+    }
+
+    @Override
+    public V get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void invalidate(String key) {
+        cache.invalidate(key);
+        forgetMissing(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (null != missing) {
+            for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+                generations.incrementAndGet(stripe);
+            }
+            missing.invalidateAll();
+        }
+    }
+
+    /**
+     * Callers for a key being loaded wait for the load to complete. The load runs on the calling
+     * thread, outside the locks of the cache.
+     */
+    @Override
+    public V getOrLoad(String key, Supplier<V> loader) {
+        if (null == missing) {
+            return CaffeineCaches.getOrLoad(asyncCache, key, loader);
+        }
+        if (null != missing.getIfPresent(key)) {
+            return null;
+        }
+        final int stripe = stripe(key);
+        final long generation = generations.get(stripe);
+        final V value = CaffeineCaches.getOrLoad(asyncCache, key, loader);
+        if (null != value || generation != generations.get(stripe)) {
+            return value;
+        }
+        missing.put(key, Boolean.TRUE);
+        //A write that bumped the generation after the check above may have forgotten the key
+        //before it got remembered
+        if (generation != generations.get(stripe)) {
+            missing.invalidate(key);
+        }
+        return null;
+    }
+
+    /*
+     * Bumps the generation before forgetting the key, so that a load racing with this either sees the
+     * new generation or gets its negative entry dropped here
+     */
+    private void forgetMissing(String key) {
+        if (null != missing) {
+            generations.incrementAndGet(stripe(key));
+            missing.invalidate(key);
+        }
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private V load(String key) throws Exception {
+        final CacheLoader<String, V> currentLoader = loader;
+        //Returning null drops the entry, same as it would have expired
+        return null == currentLoader ? null : currentLoader.load(key);
+    }
+}
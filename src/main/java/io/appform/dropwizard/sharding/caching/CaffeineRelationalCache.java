@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.appform.dropwizard.sharding.config.CacheConfig;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bounded {@link RelationalCache} backed by Caffeine.
+ * <p>
+ * Single entities and lists of entities selected for a parent are kept in the same cache, so that
+ * size and weight limits apply to both together. A list weighs as many as the entities in it.
+ * Hit, miss and eviction stats are exported to the metric registry under the given name.
+ */
+public class CaffeineRelationalCache<V> implements RelationalCache<V> {
+
+    private static final int ALL = -1;
+
+    private final AsyncCache<Object, Object> asyncCache;
+    private final Cache<Object, Object> cache;
+
+    public CaffeineRelationalCache(final String name,
+                                   final CacheConfig config,
+                                   final MetricRegistry metricRegistry) {
+        this.asyncCache = CaffeineCaches.newBuilder(config,
+                                                    (key, value) -> value instanceof List
+                                                                    ? Math.max(1, ((List<?>) value).size())
+                                                                    : 1,
+                                                    false)
+                .buildAsync();
+        this.cache = asyncCache.synchronous();
+        CaffeineCaches.registerMetrics(name, cache, metricRegistry);
+    }
+
+    @Override
+    public void put(String parentKey, Object key, V entity) {
+        put(new EntityKey(parentKey, key), entity);
+    }
+
+    @Override
+    public void put(String parentKey, List<V> entities) {
+        put(new SelectKey(parentKey, ALL, ALL), entities);
+    }
+
+    @Override
+    public void put(String parentKey, int first, int numResults, List<V> entities) {
+        put(new SelectKey(parentKey, first, numResults), entities);
+    }
+
+    @Override
+    public boolean exists(String parentKey, Object key) {
+        return null != cache.getIfPresent(new EntityKey(parentKey, key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String parentKey, Object key) {
+        return (V) cache.getIfPresent(new EntityKey(parentKey, key));
+    }
+
+    /**
+     * Callers for a key being loaded wait for the load to complete. The load runs on the calling
+     * thread, outside the locks of the cache.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrLoad(String parentKey, Object key, Supplier<V> loader) {
+        return (V) CaffeineCaches.getOrLoad(asyncCache, new EntityKey(parentKey, key), loader::get);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<V> select(String parentKey) {
+        return (List<V>) cache.getIfPresent(new SelectKey(parentKey, ALL, ALL));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<V> select(String parentKey, int first, int numResults) {
+        return (List<V>) cache.getIfPresent(new SelectKey(parentKey, first, numResults));
+    }
+
+    private void put(Object key, Object value) {
+        if (null == value) {
+            cache.invalidate(key);
+            return;
+        }
+        cache.put(key, value);
+    }
+
+    @Value
+    private static class EntityKey {
+        String parentKey;
+        Object key;
+    }
+
+    @Value
+    private static class SelectKey {
+        String parentKey;
+        int first;
+        int numResults;
+    }
+}
@@ -16,6 +16,7 @@
  */
 package io.appform.dropwizard.sharding.caching;
 
+import java.util.function.Supplier;
 
 /**
  * A simple cache interface which allows plugging in any caching framework or infrastructure to enable
@@ -46,4 +47,43 @@ public interface LookupCache<V> {
      * @return entity Entity that was read through the cache
      */
     V get(String key);
+
+    /**
+     * Drops the cached entity, and any note that the key does not exist, after a write that does not
+     * hand back the written entity. The default implementation does nothing.
+     *
+     * @param key The key of the entity that was written or deleted
+     */
+    default void invalidate(String key) {
+    }
+
+    /**
+     * Drops everything cached, after a write that could have changed entities it does not identify,
+     * for example an update using a query. The default implementation does nothing.
+     */
+    default void invalidateAll() {
+    }
+
+    /**
+     * Read through method that will be called if a cache enabled {@link io.appform.dropwizard.sharding.dao.CacheableLookupDao#get(String)}
+     * or {@link io.appform.dropwizard.sharding.dao.CacheableLookupDao#exists(String)} is used.
+     * The default implementation costs a single {@link #get(String)} on a hit, and calls the loader and
+     * {@link #put(String, Object)} on a miss. Implementations can override it to load atomically.
+     *
+     * @param key    The key of the entity that needs to be read
+     * @param loader Loads the entity from the database, returns null if it does not exist. Concurrent
+     *               loads for the same key are collapsed into one by the dao.
+     * @return entity Entity that was read through the cache, null if it does not exist
+     */
+    default V getOrLoad(String key, Supplier<V> loader) {
+        final V cached = get(key);
+        if (null != cached) {
+            return cached;
+        }
+        final V loaded = loader.get();
+        if (null != loaded) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
 }
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.caching;
+
+import io.appform.dropwizard.sharding.dao.operations.Count;
+import io.appform.dropwizard.sharding.dao.operations.CountByQuerySpec;
+import io.appform.dropwizard.sharding.dao.operations.ForEachWithScroll;
+import io.appform.dropwizard.sharding.dao.operations.Get;
+import io.appform.dropwizard.sharding.dao.operations.GetAndUpdate;
+import io.appform.dropwizard.sharding.dao.operations.OpContext;
+import io.appform.dropwizard.sharding.dao.operations.RunInSession;
+import io.appform.dropwizard.sharding.dao.operations.RunWithCriteria;
+import io.appform.dropwizard.sharding.dao.operations.Save;
+import io.appform.dropwizard.sharding.dao.operations.SaveAll;
+import io.appform.dropwizard.sharding.dao.operations.Select;
+import io.appform.dropwizard.sharding.dao.operations.SelectAndUpdate;
+import io.appform.dropwizard.sharding.dao.operations.UpdateAll;
+import io.appform.dropwizard.sharding.dao.operations.UpdateByQuery;
+import io.appform.dropwizard.sharding.dao.operations.UpdateWithScroll;
+import io.appform.dropwizard.sharding.dao.operations.lockedcontext.LockAndExecute;
+import io.appform.dropwizard.sharding.dao.operations.lookupdao.CreateOrUpdateByLookupKey;
+import io.appform.dropwizard.sharding.dao.operations.lookupdao.DeleteByLookupKey;
+import io.appform.dropwizard.sharding.dao.operations.lookupdao.GetAndUpdateByLookupKey;
+import io.appform.dropwizard.sharding.dao.operations.lookupdao.GetByLookupKey;
+import io.appform.dropwizard.sharding.dao.operations.lookupdao.readonlycontext.ReadOnlyForLookupDao;
+import io.appform.dropwizard.sharding.dao.operations.relationaldao.CreateOrUpdate;
+import io.appform.dropwizard.sharding.dao.operations.relationaldao.CreateOrUpdateInLockedContext;
+import io.appform.dropwizard.sharding.dao.operations.relationaldao.readonlycontext.ReadOnlyForRelationalDao;
+import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
+import io.appform.dropwizard.sharding.observers.TransactionObserver;
+import io.appform.dropwizard.sharding.sharding.LookupKey;
+import lombok.val;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps {@link LookupCache}s coherent with every write made through a dao.
+ * <p>
+ * Placed at the head of the observer chain of a cacheable dao, it visits the {@link OpContext} of
+ * every transaction, notes the keys of the entities the operation writes, and invalidates them in
+ * the cache of the tenant once the transaction is over, whether it committed or not. Operations that
+ * can write rows they do not identify, such as {@link UpdateByQuery}, invalidate the whole cache of
+ * the tenant. Write through, if any, is left to the dao, which runs after this.
+ */
+public class LookupCacheInvalidator<T> extends TransactionObserver {
+
+    private final Class<T> entityClass;
+    private final Field keyField;
+    private final Map<String, ? extends LookupCache<T>> caches;
+    private final Map<String, String> tenantByShardName;
+
+    /**
+     * @param entityClass       Entity managed by the dao, the key is read from its {@link LookupKey} field
+     * @param caches            Caches of the dao, by tenant
+     * @param tenantByShardName Tenant owning every shard, by shard name
+     * @param next              Rest of the observer chain
+     */
+    public LookupCacheInvalidator(final Class<T> entityClass,
+                                  final Map<String, ? extends LookupCache<T>> caches,
+                                  final Map<String, String> tenantByShardName,
+                                  final TransactionObserver next) {
+        super(next);
+        this.entityClass = entityClass;
+        //The dao validates the key field, this only has to find it
+        final Field[] fields = FieldUtils.getFieldsWithAnnotation(entityClass, LookupKey.class);
+        this.keyField = fields.length == 1 ? fields[0] : null;
+        if (null != keyField) {
+            keyField.setAccessible(true);
+        }
+        this.caches = caches;
+        this.tenantByShardName = tenantByShardName;
+    }
+
+    @Override
+    public <R> R execute(TransactionExecutionContext context, Supplier<R> supplier) {
+        final LookupCache<T> cache = caches.get(tenantByShardName.get(context.getShardName()));
+        if (null == cache) {
+            return proceed(context, supplier);
+        }
+        val collector = new WrittenKeyCollector();
+        context.getOpContext().visit(collector);
+        try {
+            return proceed(context, supplier);
+        } finally {
+            if (collector.all) {
+                cache.invalidateAll();
+            } else {
+                collector.keys.forEach(cache::invalidate);
+            }
+        }
+    }
+
+    private String keyOf(Object entity) {
+        if (null == keyField || !entityClass.isInstance(entity)) {
+            return null;
+        }
+        try {
+            final Object key = keyField.get(entity);
+            return null == key ? null : key.toString();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not read key of " + entityClass.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Wraps the savers and updaters of an operation to note the keys of the entities written.
+     */
+    private class WrittenKeyCollector implements OpContext.OpContextVisitor<Void> {
+        private final Set<String> keys = new HashSet<>();
+        private boolean all;
+
+        private void written(Object entity) {
+            final String key = keyOf(entity);
+            if (null != key) {
+                keys.add(key);
+            }
+        }
+
+        private <E> BiConsumer<E, E> noting(BiConsumer<E, E> updater) {
+            if (null == updater) {
+                return null;
+            }
+            return (oldEntity, newEntity) -> {
+                written(oldEntity);
+                written(newEntity);
+                updater.accept(oldEntity, newEntity);
+            };
+        }
+
+        @Override
+        public Void visit(Count opContext) {
+            return null;
+        }
+
+        @Override
+        public Void visit(CountByQuerySpec opContext) {
+            return null;
+        }
+
+        @Override
+        public <E, R> Void visit(Get<E, R> opContext) {
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(GetAndUpdate<E> opContext) {
+            opContext.setUpdater(noting(opContext.getUpdater()));
+            return null;
+        }
+
+        @Override
+        public <E, R> Void visit(GetByLookupKey<E, R> opContext) {
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(GetAndUpdateByLookupKey<E> opContext) {
+            keys.add(opContext.getId());
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(ReadOnlyForLookupDao<E> opContext) {
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(ReadOnlyForRelationalDao<E> opContext) {
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(LockAndExecute<E> opContext) {
+            switch (opContext.getMode()) {
+                case READ:
+                    //Anything done in the context can change the locked entity
+                    final var oldGetter = opContext.getGetter();
+                    opContext.setGetter(() -> {
+                        final E entity = oldGetter.get();
+                        written(entity);
+                        return entity;
+                    });
+                    break;
+                case INSERT:
+                    written(opContext.getEntity());
+                    break;
+                default:
+                    all = true;
+                    break;
+            }
+            return null;
+        }
+
+        @Override
+        public Void visit(UpdateByQuery opContext) {
+            all = true;
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(UpdateWithScroll<E> opContext) {
+            opContext.setUpdater(noting(opContext.getUpdater()));
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(ForEachWithScroll<E> opContext) {
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(UpdateAll<E> opContext) {
+            opContext.setUpdater(noting(opContext.getUpdater()));
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(SelectAndUpdate<E> opContext) {
+            opContext.setUpdater(noting(opContext.getUpdater()));
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(RunInSession<E> opContext) {
+            //The handler can write anything, only the entity it is run for is known
+            if (null == opContext.getLookupKey()) {
+                all = true;
+            } else {
+                keys.add(opContext.getLookupKey());
+            }
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(RunWithCriteria<E> opContext) {
+            return null;
+        }
+
+        @Override
+        public Void visit(DeleteByLookupKey opContext) {
+            keys.add(opContext.getId());
+            return null;
+        }
+
+        @Override
+        public <U, V> Void visit(Save<U, V> opContext) {
+            written(opContext.getEntity());
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(SaveAll<E> opContext) {
+            final Collection<E> entities = opContext.getEntities();
+            entities.forEach(this::written);
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(CreateOrUpdateByLookupKey<E> opContext) {
+            keys.add(opContext.getId());
+            return null;
+        }
+
+        @Override
+        public <E> Void visit(CreateOrUpdate<E> opContext) {
+            opContext.setUpdater(noting(opContext.getUpdater()));
+            final var oldSaver = opContext.getSaver();
+            if (null != oldSaver) {
+                opContext.setSaver(entity -> {
+                    written(entity);
+                    return oldSaver.apply(entity);
+                });
+            }
+            return null;
+        }
+
+        @Override
+        public <E, U> Void visit(CreateOrUpdateInLockedContext<E, U> opContext) {
+            opContext.setUpdater(noting(opContext.getUpdater()));
+            final var oldSaver = opContext.getSaver();
+            opContext.setSaver(entity -> {
+                written(entity);
+                return oldSaver.apply(entity);
+            });
+            return null;
+        }
+
+        @Override
+        public <E, R> Void visit(Select<E, R> opContext) {
+            return null;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.hibernate.criterion.DetachedCriteria;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * A simple cache interface which allows plugging in any caching framework or infrastructure to enable
@@ -71,6 +72,30 @@ public interface RelationalCache<V> {
      */
     V get(String parentKey, Object key);
 
+    /**
+     * Read through method that will be called if a cache enabled {@link io.appform.dropwizard.sharding.dao.CacheableRelationalDao#get(String, Object)} is used.
+     * The default implementation costs a single {@link #get(String, Object)} on a hit, and calls the
+     * loader and {@link #put(String, Object, Object)} on a miss. Implementations can override it to
+     * load atomically.
+     *
+     * @param parentKey The key of the parent the entity is related to
+     * @param key       The key of the entity that needs to be read
+     * @param loader    Loads the entity from the database, returns null if it does not exist.
+     *                  Concurrent loads for the same key are collapsed into one by the dao.
+     * @return entity Entity that was read through the cache, null if it does not exist
+     */
+    default V getOrLoad(String parentKey, Object key, Supplier<V> loader) {
+        final V cached = get(parentKey, key);
+        if (null != cached) {
+            return cached;
+        }
+        final V loaded = loader.get();
+        if (null != loaded) {
+            put(parentKey, key, loaded);
+        }
+        return loaded;
+    }
+
     /**
      * Read through method that will be called if a cache enabled {@link io.appform.dropwizard.sharding.dao.CacheableRelationalDao#select(String, DetachedCriteria, int, int, Function)} is used
      *
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.caching;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.val;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent loads of the same key into a single load.
+ * <p>
+ * The first caller for a key runs the loader; callers arriving while that load is in progress wait
+ * for it and get the same result (or exception). Nothing is remembered once the load completes, so
+ * this is meant to sit in front of a cache, not to replace it.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public V load(K key, Function<K, V> loader) {
+        val promise = new CompletableFuture<V>();
+        val existing = inFlight.putIfAbsent(key, promise);
+        if (null != existing) {
+            waiting.incrementAndGet();
+            try {
+                return await(existing);
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+        try {
+            val value = loader.apply(key);
+            promise.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            promise.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, promise);
+        }
+    }
+
+    /**
+     * @return Number of callers waiting for a load started by another caller
+     */
+    @VisibleForTesting
+    int waiting() {
+        return waiting.get();
+    }
+
+    private V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            val cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.appform.dropwizard.sharding.config;
+
+import io.dropwizard.util.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configuration for the built-in Caffeine backed entity caches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheConfig {
+
+    /**
+     * Max number of entries in the cache. Ignored if maximumWeight is set.
+     */
+    @Builder.Default
+    private long maximumSize = 10_000;
+
+    /**
+     * Max total weight of the entries in the cache. A single entity weighs one, a cached list of
+     * entities weighs as many as the entities in it. Zero or less to bound by maximumSize instead.
+     */
+    private long maximumWeight;
+
+    /**
+     * Entries are evicted this long after they were written. Null to never expire entries.
+     */
+    @Builder.Default
+    private Duration expireAfterWrite = Duration.minutes(5);
+
+    /**
+     * Entries are reloaded from the database on access once they are older than this. Null to
+     * disable. Only applies to lookup caches, relational caches rely on expiry alone.
+     */
+    private Duration refreshAfterWrite;
+
+    /**
+     * Keys found missing in the database are remembered for this long, so repeated lookups for
+     * them skip the database. Null to disable, which is the default. Keep this short: a key created
+     * without going through the cacheable dao stays invisible till its entry expires. Only applies
+     * to lookup caches.
+     */
+    private Duration negativeExpireAfterWrite;
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import javax.validation.Valid;
 import java.util.Set;
 
 @Data
@@ -12,6 +13,63 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 public class MetricConfig {
+    /**
+     * Records entity operation metrics for all entities. Read the first time an operation on an
+     * entity is seen; changing it afterwards does not affect operations already seen.
+     */
     private boolean enabledForAll;
+
+    /**
+     * Canonical names of the entities to record entity operation metrics for. Like
+     * {@link #enabledForAll}, read once per operation on an entity, the first time it is seen.
+     */
     private Set<String> enabledForEntities;
+
+    /**
+     * Reservoir for the latency timers of entity operations.
+     */
+    @Valid
+    @Builder.Default
+    private ReservoirConfig entityReservoir = new ReservoirConfig();
+
+    /**
+     * Reservoir for the latency timers of shards. Shard timers see the combined throughput of all
+     * entities on the shard.
+     */
+    @Valid
+    @Builder.Default
+    private ReservoirConfig shardReservoir = new ReservoirConfig();
+
+    /**
+     * Records the time spent acquiring the connection, beginning, executing, flushing and committing,
+     * per entity operation and per shard. Adds five timers for every operation and shard, so it is
+     * off by default. Like {@link #enabledForAll}, read once per operation on an entity.
+     */
+    private boolean phaseTimersEnabled;
+
+    /**
+     * Records entity operation metrics separately for every tenant, as
+     * db.sharding.entity.&lt;tenant&gt;.&lt;entity&gt;.&lt;dao&gt;.&lt;command&gt;. Shard metrics are
+     * always per tenant, as shard names carry the tenant.
+     */
+    private boolean tenantDimensionEnabled;
+
+    /**
+     * Tenants that get their own entity operation metrics when the tenant dimension is enabled. Null
+     * or empty for all tenants. Operations of other tenants are recorded under "others".
+     */
+    private Set<String> enabledForTenants;
+
+    /**
+     * Max number of tenants that get their own entity operation metrics when the tenant dimension is
+     * enabled. Tenants seen after this many are recorded under "others". Zero or less for no limit.
+     */
+    private int maxTenants;
+
+    /**
+     * Tracks the slowest sql statements of every shard when set. The statements can be dumped
+     * through the &lt;tenant&gt;.slowStatements admin task.
+     */
+    @Valid
+    private SlowStatementConfig slowStatements;
 }
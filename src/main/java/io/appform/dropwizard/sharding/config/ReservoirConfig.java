@@ -0,0 +1,90 @@
+package io.appform.dropwizard.sharding.config;
+
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for the reservoir backing latency timers and histograms.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservoirConfig {
+
+    public enum Type {
+        /**
+         * Keeps every sample recorded in the last {@link #window}. Exact, but memory grows with the
+         * throughput of the operation.
+         */
+        SLIDING_TIME_WINDOW,
+        /**
+         * Keeps {@link #size} samples, biased towards the recent ones. Bounded memory and lock free
+         * recording.
+         */
+        EXPONENTIALLY_DECAYING,
+        /**
+         * Keeps a uniform random sample of {@link #size} samples over the lifetime of the process.
+         */
+        UNIFORM,
+        /**
+         * Keeps the last {@link #size} samples.
+         */
+        SLIDING_WINDOW,
+        /**
+         * Counts every sample of the last one to two {@link #window}s in an HdrHistogram, with
+         * {@link #significantDigits} digits of precision. Bounded memory whatever the throughput, and
+         * exact max and percentiles up to that precision. Needs org.hdrhistogram:HdrHistogram, an
+         * optional dependency of this library, on the classpath.
+         */
+        HDR_HISTOGRAM
+    }
+
+    @NotNull
+    @Builder.Default
+    private Type type = Type.SLIDING_TIME_WINDOW;
+
+    /**
+     * Window of samples kept by {@link Type#SLIDING_TIME_WINDOW} and {@link Type#HDR_HISTOGRAM}
+     * reservoirs.
+     */
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    @Builder.Default
+    private Duration window = Duration.seconds(60);
+
+    /**
+     * Number of samples kept by {@link Type#EXPONENTIALLY_DECAYING}, {@link Type#UNIFORM} and
+     * {@link Type#SLIDING_WINDOW} reservoirs.
+     */
+    @Min(1)
+    @Builder.Default
+    private int size = 1028;
+
+    /**
+     * Bias of {@link Type#EXPONENTIALLY_DECAYING} reservoirs towards recent samples. Higher values
+     * forget older samples faster.
+     */
+    @DecimalMin(value = "0", inclusive = false)
+    @Builder.Default
+    private double alpha = 0.015;
+
+    /**
+     * Number of significant decimal digits kept by {@link Type#HDR_HISTOGRAM} reservoirs. Memory grows
+     * tenfold with every digit.
+     */
+    @Min(0)
+    @Max(5)
+    @Builder.Default
+    private int significantDigits = 2;
+}
@@ -28,13 +28,16 @@ import org.hibernate.validator.constraints.NotEmpty;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * {@summary Config for shards hibernate factory.
  * <ul>
  * <li>shards : This holds shards information.</li>
  * <li>shardingOptions : This can be used to set certain settings in db-bundle like skipTransactionOnRead etc.</li>
+ * <li>replicas : Read replicas of the shards, keyed by the index of the shard in shards.</li>
  * </ul>}
  */
 @Data
@@ -48,9 +51,35 @@ public class ShardedHibernateFactory {
     @Singular
     private List<DataSourceFactory> shards = Lists.newArrayList();
 
+    /**
+     * Read replicas, keyed by the index of the shard in {@link #shards}. Read only operations on a
+     * shard are run on its replicas. Shards without replicas serve all operations from the primary.
+     */
+    @Valid
+    private Map<Integer, List<DataSourceFactory>> replicas;
+
     @Valid
     private ShardingBundleOptions shardingOptions;
 
     @Valid
     private MetricConfig metricConfig;
+
+    /**
+     * Built-in caches, keyed by the canonical class name of the entity to be cached. DAOs created
+     * for these entities read and write through a cache configured accordingly.
+     */
+    @Valid
+    private Map<String, CacheConfig> caches;
+
+    /**
+     * {@summary Get the replicas configured for the given shard.}
+     * @param shard Index of the shard in {@link #shards}
+     * @return Replicas of the shard, empty if there are none
+     */
+    public List<DataSourceFactory> replicasOf(final int shard) {
+        if (null == replicas) {
+            return Collections.emptyList();
+        }
+        return replicas.getOrDefault(shard, Collections.emptyList());
+    }
 }
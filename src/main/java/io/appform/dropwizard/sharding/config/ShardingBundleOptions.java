@@ -10,6 +10,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class ShardingBundleOptions {
+    /**
+     * Run read only operations (gets, selects, counts, scatter-gather, scroll, read only contexts etc.)
+     * without a transaction. Saves the BEGIN and COMMIT round trips on every read, the statements run
+     * in the autocommit mode of the pooled connection, so reads spanning multiple statements do not
+     * see a consistent snapshot. Writes, including runInSession, always run in a transaction.
+     */
     private boolean skipReadOnlyTransaction = false;
 
     @Builder.Default
@@ -26,4 +32,74 @@ public class ShardingBundleOptions {
 
     private int shardInitializationParallelism;
 
+    /**
+     * Max number of shards a single scatter-gather style query is sent to concurrently.
+     * Values of one or less run such queries serially across shards.
+     */
+    private int scatterGatherParallelism;
+
+    /**
+     * Max number of keys sent to a shard in a single IN clause by multi-key lookups. Larger key sets
+     * are split into multiple queries. Values of zero or less use the default of 500.
+     */
+    private int multiGetBatchSize;
+
+    /**
+     * JDBC batch size for inserts and updates. When set, it is configured as hibernate.jdbc.batch_size
+     * on the session factories of all shards (unless overridden in the database properties) and bulk
+     * saves flush and clear the session after every batch. Zero or less keeps hibernate defaults and
+     * the legacy unbatched bulk save. Note that hibernate does not batch inserts for entities with
+     * IDENTITY generated ids.
+     */
+    private int jdbcBatchSize;
+
+    /**
+     * Use a StatelessSession for bulk saves when jdbcBatchSize is set. Skips the persistence context,
+     * dirty checking, cascades and interceptors/listeners of the session.
+     */
+    private boolean statelessBulkSave;
+
+    /**
+     * Run the query spec based selects of scatter-gather, select and scroll reads on a StatelessSession
+     * sharing the connection of the current session. Loaded rows are not put in the persistence
+     * context, so no snapshots or first level cache entries are kept for them. Returned entities are
+     * detached: lazy associations are not loaded and fail on access, fetch them in the query instead.
+     * Criteria based reads always run on the session.
+     */
+    private boolean statelessReads;
+
+    /**
+     * Max number of async dao calls (getAsync, saveAsync etc.) run concurrently, per tenant. Zero or
+     * less runs async calls on the calling thread.
+     */
+    private int asyncParallelism;
+
+    /**
+     * Max number of async dao calls waiting for a thread, per tenant. Calls beyond this fail fast.
+     * Zero or less uses the default of 1000.
+     */
+    private int asyncQueueSize;
+
+    /**
+     * Run scatter-gather fan-out, async dao calls and session factory bootstrap on virtual threads.
+     * Needs JDK 21 or later, platform threads are used on older runtimes. The configured
+     * parallelism and queue bounds still apply, and so does the connection pool size of every shard.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * Read only operations on a shard go to its primary for this many milliseconds after a read-write
+     * operation is started on the shard by this process, so that recent writes are read back even if
+     * the replicas lag behind. Set it to the replication lag the application cannot tolerate. Zero or
+     * less always reads from the replicas. Only applies to shards that have replicas configured.
+     */
+    private long replicaReadAfterWriteWindowMs;
+
+    /**
+     * Run read only operations on the primary when none of the replicas of the shard can be connected
+     * to. Reads fail otherwise.
+     */
+    @Builder.Default
+    private boolean replicaFallbackToPrimary = true;
+
 }
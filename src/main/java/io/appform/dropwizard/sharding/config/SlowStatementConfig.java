@@ -0,0 +1,30 @@
+package io.appform.dropwizard.sharding.config;
+
+import io.dropwizard.util.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Configuration for tracking slow sql statements per shard.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlowStatementConfig {
+
+    /**
+     * Statements running for at least this long are tracked.
+     */
+    @Builder.Default
+    private Duration threshold = Duration.milliseconds(100);
+
+    /**
+     * Max number of statement fingerprints tracked per shard. Once full, the fingerprints with the
+     * lowest max latency make way for slower ones.
+     */
+    @Builder.Default
+    private int maxStatements = 100;
+}
@@ -6,12 +6,14 @@ import org.hibernate.Hibernate;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.query.Query;
 import org.hibernate.query.internal.AbstractProducedQuery;
 
 import javax.persistence.criteria.CriteriaQuery;
 import java.io.Serializable;
 import java.util.List;
+import java.util.function.Function;
 
 import static java.util.Objects.requireNonNull;
 
@@ -183,6 +185,25 @@ public class AbstractDAO<E> {
         return requireNonNull(query).list();
     }
 
+    /**
+     * Get the results of a query run on a {@link StatelessSession} opened on the connection, and hence
+     * in the transaction, of the current session. Loaded entities are not added to the persistence
+     * context of the session and are returned detached.
+     *
+     * @param queryBuilder builds the query to run on the stateless session
+     * @return the list of matched query results
+     */
+    protected List<E> listStateless(Function<StatelessSession, Query<E>> queryBuilder) {
+        return currentSession().doReturningWork(connection -> {
+            final StatelessSession statelessSession = sessionFactory.openStatelessSession(connection);
+            try {
+                return queryBuilder.apply(statelessSession).list();
+            } finally {
+                statelessSession.close();
+            }
+        });
+    }
+
     /**
      * Return the persistent instance of {@code <E>} with the given identifier, or {@code null} if
      * there is no such persistent instance. (If the instance, or a proxy for the instance, is
@@ -583,6 +583,7 @@ public class LockedContext<T> {
         return TransactionExecutionContext.builder()
                 .commandName("execute")
                 .shardName(shardInfoProvider.shardName(shardId))
+                .tenantId(tenantId)
                 .entityClass(entityClass)
                 .daoType(daoType)
                 .opContext(opContext)
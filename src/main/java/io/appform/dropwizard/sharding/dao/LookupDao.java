@@ -17,6 +17,7 @@
 
 package io.appform.dropwizard.sharding.dao;
 
+import io.appform.dropwizard.sharding.query.Aggregation;
 import io.appform.dropwizard.sharding.query.QuerySpec;
 import io.appform.dropwizard.sharding.scroll.ScrollPointer;
 import io.appform.dropwizard.sharding.scroll.ScrollResult;
@@ -31,9 +32,11 @@ import org.hibernate.Session;
 import org.hibernate.criterion.DetachedCriteria;
 
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -344,7 +347,8 @@ public class LookupDao<T> implements ShardedDao<T> {
      * - Pointer returned can be used to _only_ scroll down
      *
      * @param inCriteria    The core criteria for the query
-     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session. An empty
+     *                      pointer in {@link ScrollPointer.Mode#KEYSET} mode starts a keyset (seek) scroll.
      * @param pageSize      Page size of scroll result
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
      * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results with
@@ -371,7 +375,8 @@ public class LookupDao<T> implements ShardedDao<T> {
      * - Pointer returned can be used to _only_ scroll up
      *
      * @param inCriteria    The core criteria for the query
-     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session. An empty
+     *                      pointer in {@link ScrollPointer.Mode#KEYSET} mode starts a keyset (seek) scroll.
      * @param pageSize      Count of records per shard
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
      * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results with
@@ -386,6 +391,44 @@ public class LookupDao<T> implements ShardedDao<T> {
         return delegate.scrollUp(dbNamespace, inCriteria, inPointer, pageSize, sortFieldName);
     }
 
+    /**
+     * Scrolls down across shards with the filter provided as a {@link QuerySpec}.
+     * See {@link #scrollDown(DetachedCriteria, ScrollPointer, int, String)} for details. Any ordering set by the
+     * query spec is replaced by ordering on 'sortFieldName'.
+     *
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param pageSize      Page size of scroll result
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results
+     */
+    public ScrollResult<T> scrollDown(
+            final QuerySpec<T, T> querySpec,
+            final ScrollPointer inPointer,
+            final int pageSize,
+            @NonNull final String sortFieldName) {
+        return delegate.scrollDown(dbNamespace, querySpec, inPointer, pageSize, sortFieldName);
+    }
+
+    /**
+     * Scrolls up across shards with the filter provided as a {@link QuerySpec}.
+     * See {@link #scrollUp(DetachedCriteria, ScrollPointer, int, String)} for details. Any ordering set by the
+     * query spec is replaced by ordering on 'sortFieldName'.
+     *
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param pageSize      Count of records per shard
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results
+     */
+    public ScrollResult<T> scrollUp(
+            final QuerySpec<T, T> querySpec,
+            final ScrollPointer inPointer,
+            final int pageSize,
+            @NonNull final String sortFieldName) {
+        return delegate.scrollUp(dbNamespace, querySpec, inPointer, pageSize, sortFieldName);
+    }
+
     /**
      * Counts the number of entities that match the specified criteria on each database shard.
      *
@@ -403,6 +446,18 @@ public class LookupDao<T> implements ShardedDao<T> {
         return delegate.count(dbNamespace, criteria);
     }
 
+    /**
+     * Computes the aggregation over the entities matching the criteria across all shards. Only the
+     * per shard aggregates are read from the shards and merged.
+     *
+     * @param criteria    The select criteria
+     * @param aggregation Group by properties and aggregates to be computed
+     * @return A row per group with the merged values of the aggregates
+     */
+    public List<Aggregation.Row> aggregate(DetachedCriteria criteria, Aggregation aggregation) {
+        return delegate.aggregate(dbNamespace, criteria, aggregation);
+    }
+
     /**
      * Run arbitrary read-only queries on all shards and return results.
      *
@@ -431,8 +486,9 @@ public class LookupDao<T> implements ShardedDao<T> {
      * Retrieves a list of entities associated with the specified keys from the database.
      *
      * <p>This method groups the provided keys by their corresponding database shards,
-     * and then retrieves entities that match these keys from each shard serially.
-     * The results are combined into a single list of entities and returned.
+     * and then retrieves entities that match these keys from each shard, concurrently if
+     * scatterGatherParallelism is configured. Large key sets are looked up in batches of
+     * multiGetBatchSize keys. The results are combined into a single list of entities and returned.
      *
      * @param keys A list of keys for which entities should be retrieved from the database.
      * @return A list of entities obtained by querying the database for the specified keys.
@@ -442,6 +498,46 @@ public class LookupDao<T> implements ShardedDao<T> {
         return delegate.get(dbNamespace, keys);
     }
 
+    /**
+     * Retrieves the entities associated with the specified keys, indexed by key.
+     * Keys that do not exist are absent from the returned map.
+     *
+     * @param keys Keys (values of the field annotated with {@link LookupKey}) to be retrieved
+     * @return Map of key to the entity with that key, in the iteration order of the given keys
+     * @throws java.lang.RuntimeException If an error occurs while querying the database.
+     */
+    public Map<String, T> multiGet(Collection<String> keys) {
+        return delegate.multiGet(dbNamespace, keys);
+    }
+
+    /**
+     * Async variant of {@link #get(String)}, see {@link MultiTenantLookupDao#getAsync(String, String)}.
+     */
+    public CompletableFuture<Optional<T>> getAsync(String key) {
+        return delegate.getAsync(dbNamespace, key);
+    }
+
+    /**
+     * Async variant of {@link #save(Object)}, see {@link MultiTenantLookupDao#saveAsync(String, Object)}.
+     */
+    public CompletableFuture<Optional<T>> saveAsync(T entity) {
+        return delegate.saveAsync(dbNamespace, entity);
+    }
+
+    /**
+     * Async variant of {@link #multiGet(Collection)}.
+     */
+    public CompletableFuture<Map<String, T>> multiGetAsync(Collection<String> keys) {
+        return delegate.multiGetAsync(dbNamespace, keys);
+    }
+
+    /**
+     * Async variant of {@link #scatterGather(DetachedCriteria)}.
+     */
+    public CompletableFuture<List<T>> scatterGatherAsync(DetachedCriteria criteria) {
+        return delegate.scatterGatherAsync(dbNamespace, criteria);
+    }
+
 
     /**
      * Executes a function within a database session on the shard corresponding to the provided ID.
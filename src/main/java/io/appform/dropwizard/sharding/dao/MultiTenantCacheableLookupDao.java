@@ -19,18 +19,25 @@ package io.appform.dropwizard.sharding.dao;
 
 import io.appform.dropwizard.sharding.ShardInfoProvider;
 import io.appform.dropwizard.sharding.caching.LookupCache;
+import io.appform.dropwizard.sharding.caching.LookupCacheInvalidator;
+import io.appform.dropwizard.sharding.caching.SingleFlight;
 import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
 import io.appform.dropwizard.sharding.exceptions.DaoFwdException;
+import io.appform.dropwizard.sharding.execution.TenantExecutors;
 import io.appform.dropwizard.sharding.observers.TransactionObserver;
 import io.appform.dropwizard.sharding.sharding.LookupKey;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.SessionFactory;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * A write through/read through cache enabled dao to manage lookup and top level elements in the
@@ -43,12 +50,15 @@ import java.util.function.Function;
 public class MultiTenantCacheableLookupDao<T> extends MultiTenantLookupDao<T> {
 
   private Map<String, LookupCache<T>> cache;
+  private final SingleFlight<List<String>, T> loads = new SingleFlight<>();
 
   /**
    * Constructs a CacheableLookupDao instance with caching support.
    * <p>
    * This constructor initializes a CacheableLookupDao instance with the provided parameters,
-   * enabling caching for improved performance and data retrieval optimization.
+   * enabling caching for improved performance and data retrieval optimization. Every write made
+   * through the dao, including the ones made from a {@link LockedContext}, invalidates the cached
+   * entities it touches, see {@link LookupCacheInvalidator}.
    *
    * @param sessionFactories  A list of SessionFactory instances for database access.
    * @param entityClass       The Class representing the entity type handled by the DAO.
@@ -65,20 +75,53 @@ public class MultiTenantCacheableLookupDao<T> extends MultiTenantLookupDao<T> {
                                        Map<String, ShardingBundleOptions> shardingOptions,
                                        Map<String, ShardInfoProvider> shardInfoProvider,
                                        TransactionObserver observer) {
-    super(sessionFactories, entityClass, shardManagers, shardingOptions, shardInfoProvider, observer);
+    this(sessionFactories, entityClass, shardManagers, cache, shardingOptions, shardInfoProvider, observer,
+        TenantExecutors.forDao(entityClass, shardInfoProvider.keySet(), shardingOptions));
+  }
+
+  /**
+   * Same as above, with the fan-out and async threads of every tenant shared with other daos of
+   * the tenant.
+   *
+   * @param tenantExecutors Executors of every tenant, see {@link TenantExecutors}
+   */
+  public MultiTenantCacheableLookupDao(Map<String, List<SessionFactory>> sessionFactories,
+                                       Class<T> entityClass,
+                                       Map<String, ShardManager> shardManagers,
+                                       Map<String, LookupCache<T>> cache,
+                                       Map<String, ShardingBundleOptions> shardingOptions,
+                                       Map<String, ShardInfoProvider> shardInfoProvider,
+                                       TransactionObserver observer,
+                                       Map<String, TenantExecutors> tenantExecutors) {
+    super(sessionFactories, entityClass, shardManagers, shardingOptions, shardInfoProvider,
+        new LookupCacheInvalidator<>(entityClass, cache,
+            tenantByShardName(sessionFactories, shardInfoProvider), observer), tenantExecutors);
     this.cache = cache;
   }
 
+  private static Map<String, String> tenantByShardName(
+      Map<String, List<SessionFactory>> sessionFactories,
+      Map<String, ShardInfoProvider> shardInfoProviders) {
+    final Map<String, String> tenantByShardName = new HashMap<>();
+    shardInfoProviders.forEach((tenantId, shardInfoProvider) -> {
+      final int numShards = sessionFactories.getOrDefault(tenantId, List.of()).size();
+      for (int shardId = 0; shardId < numShards; shardId++) {
+        tenantByShardName.put(shardInfoProvider.shardName(shardId), tenantId);
+      }
+    });
+    return tenantByShardName;
+  }
+
   /**
    * Retrieves an entity from the cache or the database based on the specified key and caches it if
    * necessary.
    * <p>
-   * This method first checks if the entity exists in the cache based on the provided key. If the
-   * entity is found in the cache, it is returned as an Optional. If not found in the cache, the
-   * method falls back to the superclass's `get` method to retrieve the entity from the database
-   * using the specified key. If the entity is found in the database, it is added to the cache for
-   * future access and returned as an Optional. If the entity is not found in either the cache or
-   * the database, an empty Optional is returned.
+   * This method looks up the entity in the cache with a single {@link LookupCache#getOrLoad} call.
+   * If the entity is found in the cache, it is returned as an Optional. If not found in the cache,
+   * the entity is retrieved from the database using the specified key. Concurrent misses for the
+   * same key are collapsed into a single database load. If the entity is found in the database, it
+   * is added to the cache for future access and returned as an Optional. If the entity is not found
+   * in either the cache or the database, an empty Optional is returned.
    *
    * @param tenantId The tenant ID of the entity to retrieve.
    * @param key      The key or identifier of the entity to retrieve.
@@ -88,14 +131,10 @@ public class MultiTenantCacheableLookupDao<T> extends MultiTenantLookupDao<T> {
    */
   @Override
   public Optional<T> get(String tenantId, String key) throws Exception {
-    if (cache.get(tenantId).exists(key)) {
-      return Optional.of(cache.get(tenantId).get(key));
-    }
-    T entity = super.get(tenantId, key, Function.identity());
-    if (entity != null) {
-      cache.get(tenantId).put(key, entity);
+    if (!cache.containsKey(tenantId)) {
+      return super.get(tenantId, key);
     }
-    return Optional.ofNullable(entity);
+    return Optional.ofNullable(cache.get(tenantId).getOrLoad(key, () -> load(tenantId, key)));
   }
 
   /**
@@ -114,38 +153,63 @@ public class MultiTenantCacheableLookupDao<T> extends MultiTenantLookupDao<T> {
   @Override
   public Optional<T> save(String tenantId, T entity) throws Exception {
     T savedEntity = super.save(tenantId, entity, t -> t);
-    if (savedEntity != null) {
+    if (savedEntity != null && cache.containsKey(tenantId)) {
       final String key = getKeyField().get(entity).toString();
       cache.get(tenantId).put(key, entity);
     }
     return Optional.ofNullable(savedEntity);
   }
 
+  /**
+   * Creates or updates the entity and writes the result through to the cache. This also drops
+   * any cached note that the key does not exist.
+   *
+   * @param tenantId        Tenant id
+   * @param id              The key of the entity to create or update.
+   * @param updater         Applied to the entity if it exists.
+   * @param entityGenerator Generates the entity if it does not exist.
+   * @return An Optional containing the created or updated entity.
+   */
+  @Override
+  public Optional<T> createOrUpdate(String tenantId,
+                                    String id,
+                                    UnaryOperator<T> updater,
+                                    Supplier<T> entityGenerator) {
+    Optional<T> result = super.createOrUpdate(tenantId, id, updater, entityGenerator);
+    if (cache.containsKey(tenantId)) {
+      result.ifPresent(t -> cache.get(tenantId).put(id, t));
+    }
+    return result;
+  }
+
   /**
    * Updates an entity using the provided updater function and caches the updated entity.
    * <p>
    * This method updates an entity identified by the given ID using the provided updater function.
-   * It first attempts to update the entity using the superclass's `update` method. If the update
-   * operation succeeds, it retrieves the updated entity from the database, caches it, and returns
-   * `true`. If the update operation fails, it returns `false`.
+   * It first attempts to update the entity using the superclass's `update` method, capturing the
+   * entity returned by the updater inside the update transaction. If the update operation
+   * succeeds, the captured entity, which is the one that got persisted, is cached without reading
+   * it back from the database, and `true` is returned. If the update operation fails, it returns
+   * `false`.
    *
    * @param id      The ID of the entity to update.
    * @param updater A function that takes an Optional of the current entity and returns the updated
    *                entity.
    * @return `true` if the entity is successfully updated and cached, or `false` if the update
    * operation fails.
-   * @throws DaoFwdException If an error occurs while updating or caching the entity.
    */
   @Override
   public boolean update(String tenantId, String id, Function<Optional<T>, T> updater) {
-    boolean result = super.update(tenantId, id, updater);
-    if (result) {
-      try {
-        Optional<T> updatedEntity = super.get(tenantId, id);
-        updatedEntity.ifPresent(t -> cache.get(tenantId).put(id, t));
-      } catch (Exception e) {
-        throw new DaoFwdException("Error updating entity: " + id, e);
-      }
+    if (!cache.containsKey(tenantId)) {
+      return super.update(tenantId, id, updater);
+    }
+    final AtomicReference<T> updatedEntity = new AtomicReference<>();
+    boolean result = super.update(tenantId, id, updater.andThen(entity -> {
+      updatedEntity.set(entity);
+      return entity;
+    }));
+    if (result && null != updatedEntity.get()) {
+      cache.get(tenantId).put(id, updatedEntity.get());
     }
     return result;
   }
@@ -160,11 +224,19 @@ public class MultiTenantCacheableLookupDao<T> extends MultiTenantLookupDao<T> {
    */
   @Override
   public boolean exists(String tenantId, String key) throws Exception {
-    if (cache.get(tenantId).exists(key)) {
-      return true;
+    if (!cache.containsKey(tenantId)) {
+      return super.exists(tenantId, key);
     }
-    Optional<T> entity = super.get(tenantId, key);
-    entity.ifPresent(t -> cache.get(tenantId).put(key, t));
-    return entity.isPresent();
+    return null != cache.get(tenantId).getOrLoad(key, () -> load(tenantId, key));
+  }
+
+  private T load(String tenantId, String key) {
+    return loads.load(List.of(tenantId, key), ignored -> {
+      try {
+        return super.get(tenantId, key, Function.identity());
+      } catch (Exception e) {
+        throw new DaoFwdException("Error loading entity: " + key, e);
+      }
+    });
   }
 }
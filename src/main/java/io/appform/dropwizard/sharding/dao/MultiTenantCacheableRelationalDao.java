@@ -19,7 +19,9 @@ package io.appform.dropwizard.sharding.dao;
 
 import io.appform.dropwizard.sharding.ShardInfoProvider;
 import io.appform.dropwizard.sharding.caching.RelationalCache;
+import io.appform.dropwizard.sharding.caching.SingleFlight;
 import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
+import io.appform.dropwizard.sharding.execution.TenantExecutors;
 import io.appform.dropwizard.sharding.observers.TransactionObserver;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
 import org.hibernate.SessionFactory;
@@ -35,6 +37,7 @@ import java.util.Optional;
 public class MultiTenantCacheableRelationalDao<T> extends MultiTenantRelationalDao<T> {
 
   private Map<String, RelationalCache<T>> cache;
+  private final SingleFlight<List<Object>, T> loads = new SingleFlight<>();
 
 
   /**
@@ -65,7 +68,25 @@ public class MultiTenantCacheableRelationalDao<T> extends MultiTenantRelationalD
       Map<String, ShardingBundleOptions> shardingOptions,
       Map<String, ShardInfoProvider> shardInfoProvider,
       TransactionObserver observer) {
-    super(sessionFactories, entityClass, shardManagers, shardingOptions, shardInfoProvider, observer);
+    this(sessionFactories, entityClass, shardManagers, cache, shardingOptions, shardInfoProvider, observer,
+        TenantExecutors.forDao(entityClass, shardInfoProvider.keySet(), shardingOptions));
+  }
+
+  /**
+   * Same as above, with the fan-out and async threads of every tenant shared with other daos of
+   * the tenant.
+   *
+   * @param tenantExecutors Executors of every tenant, see {@link TenantExecutors}
+   */
+  public MultiTenantCacheableRelationalDao(Map<String, List<SessionFactory>> sessionFactories,
+      Class<T> entityClass,
+      Map<String, ShardManager> shardManagers,
+      Map<String, RelationalCache<T>> cache,
+      Map<String, ShardingBundleOptions> shardingOptions,
+      Map<String, ShardInfoProvider> shardInfoProvider,
+      TransactionObserver observer,
+      Map<String, TenantExecutors> tenantExecutors) {
+    super(sessionFactories, entityClass, shardManagers, shardingOptions, shardInfoProvider, observer, tenantExecutors);
     this.cache = cache;
   }
 
@@ -76,8 +97,9 @@ public class MultiTenantCacheableRelationalDao<T> extends MultiTenantRelationalD
    * This method attempts to retrieve an entity from the cache first using the provided parent key
    * and entity key. If the entity is found in the cache, it is returned as an Optional. If not
    * found in the cache, the method falls back to the parent class's (superclass) `get` method to
-   * retrieve the entity from the database. If the entity is found in the database, it is added to
-   * the cache for future access. If the entity is not found in either the cache or the database, an
+   * retrieve the entity from the database. Concurrent misses for the same key are collapsed into a
+   * single database load. If the entity is found in the database, it is added to the cache for
+   * future access. If the entity is not found in either the cache or the database, an
    * empty Optional is returned.
    *
    * @param parentKey The parent key associated with the entity.
@@ -88,20 +110,17 @@ public class MultiTenantCacheableRelationalDao<T> extends MultiTenantRelationalD
    */
   @Override
   public Optional<T> get(String tenantId, String parentKey, Object key) {
-    if (cache.get(tenantId).exists(parentKey, key)) {
-      return Optional.ofNullable(cache.get(tenantId).get(parentKey, key));
-    }
-    T entity = super.get(tenantId, parentKey, key, t -> t);
-    if (entity != null) {
-      cache.get(tenantId).put(parentKey, key, entity);
+    if (!cache.containsKey(tenantId)) {
+      return Optional.ofNullable(super.get(tenantId, parentKey, key, t -> t));
     }
-    return Optional.ofNullable(entity);
+    return Optional.ofNullable(cache.get(tenantId)
+        .getOrLoad(parentKey, key, () -> load(tenantId, parentKey, key)));
   }
 
   @Override
   public Optional<T> save(String tenantId, String parentKey, T entity) throws Exception {
     T savedEntity = super.save(tenantId, parentKey, entity, t -> t);
-    if (savedEntity != null) {
+    if (savedEntity != null && cache.containsKey(tenantId)) {
       final String key = getKeyField().get(entity).toString();
       cache.get(tenantId).put(parentKey, key, entity);
     }
@@ -111,13 +130,22 @@ public class MultiTenantCacheableRelationalDao<T> extends MultiTenantRelationalD
   @Override
   public List<T> select(String tenantId, String parentKey, DetachedCriteria criteria, int first,
       int numResults) throws Exception {
+    if (!cache.containsKey(tenantId)) {
+      return super.select(tenantId, parentKey, criteria, first, numResults);
+    }
     List<T> result = cache.get(tenantId).select(parentKey, first, numResults);
-    if (result == null) {
-      result = super.select(tenantId, parentKey, criteria, first, numResults);
+    if (result != null) {
+      return result;
     }
+    result = super.select(tenantId, parentKey, criteria, first, numResults);
     if (result != null) {
       cache.get(tenantId).put(parentKey, first, numResults, result);
     }
-    return select(tenantId, parentKey, criteria, first, numResults, t -> t);
+    return result;
+  }
+
+  private T load(String tenantId, String parentKey, Object key) {
+    return loads.load(List.of(tenantId, parentKey, key),
+        ignored -> super.get(tenantId, parentKey, key, t -> t));
   }
 }
@@ -19,6 +19,7 @@ package io.appform.dropwizard.sharding.dao;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import io.appform.dropwizard.sharding.ShardInfoProvider;
 import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
@@ -36,18 +37,24 @@ import io.appform.dropwizard.sharding.dao.operations.lookupdao.DeleteByLookupKey
 import io.appform.dropwizard.sharding.dao.operations.lookupdao.GetAndUpdateByLookupKey;
 import io.appform.dropwizard.sharding.dao.operations.lookupdao.GetByLookupKey;
 import io.appform.dropwizard.sharding.dao.operations.lookupdao.readonlycontext.ReadOnlyForLookupDao;
+import io.appform.dropwizard.sharding.execution.AsyncExecutor;
 import io.appform.dropwizard.sharding.execution.DaoType;
+import io.appform.dropwizard.sharding.execution.FanOutExecutor;
+import io.appform.dropwizard.sharding.execution.TenantExecutors;
 import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
 import io.appform.dropwizard.sharding.execution.TransactionExecutor;
 import io.appform.dropwizard.sharding.observers.TransactionObserver;
+import io.appform.dropwizard.sharding.query.Aggregation;
 import io.appform.dropwizard.sharding.query.QuerySpec;
 import io.appform.dropwizard.sharding.scroll.FieldComparator;
+import io.appform.dropwizard.sharding.scroll.ScrollMerger;
 import io.appform.dropwizard.sharding.scroll.ScrollPointer;
 import io.appform.dropwizard.sharding.scroll.ScrollResult;
 import io.appform.dropwizard.sharding.scroll.ScrollResultItem;
 import io.appform.dropwizard.sharding.sharding.LookupKey;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
 import io.appform.dropwizard.sharding.sharding.impl.ConsistentHashBucketIdExtractor;
+import io.appform.dropwizard.sharding.utils.CriteriaTemplate;
 import io.appform.dropwizard.sharding.utils.InternalUtils;
 import io.appform.dropwizard.sharding.utils.ShardCalculator;
 import io.appform.dropwizard.sharding.utils.TransactionHandler;
@@ -62,23 +69,31 @@ import org.hibernate.Criteria;
 import org.hibernate.LockMode;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projections;
 import org.hibernate.criterion.Restrictions;
+import org.hibernate.query.Query;
 
 import javax.persistence.LockModeType;
+import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -97,6 +112,8 @@ import static io.appform.dropwizard.sharding.query.QueryUtils.equalityFilter;
 @Slf4j
 public class MultiTenantLookupDao<T> implements ShardedDao<T> {
 
+    private static final int DEFAULT_MULTI_GET_BATCH_SIZE = 500;
+
     private final Map<String, List<SessionFactory>> sessionFactories;
     private final Map<String, List<LookupDaoPriv>> daos = Maps.newHashMap();
     private final Class<T> entityClass;
@@ -106,6 +123,8 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
     private final Map<String, ShardingBundleOptions> shardingOptions;
     private final Field keyField;
     private final Map<String, TransactionExecutor> transactionExecutor = Maps.newHashMap();
+    private final Map<String, FanOutExecutor> fanOutExecutors = Maps.newHashMap();
+    private final Map<String, AsyncExecutor> asyncExecutors = Maps.newHashMap();
     private final Map<String, ShardInfoProvider> shardInfoProviders;
     private final TransactionObserver observer;
 
@@ -136,9 +155,32 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
             Map<String, ShardingBundleOptions> shardingOptions,
             final Map<String, ShardInfoProvider> shardInfoProviders,
             final TransactionObserver observer) {
+        this(sessionFactories, entityClass, shardManagers, shardingOptions, shardInfoProviders, observer,
+                TenantExecutors.forDao(entityClass, shardInfoProviders.keySet(), shardingOptions));
+    }
+
+    /**
+     * Same as above, with the fan-out and async threads of every tenant shared with other daos of
+     * the tenant.
+     *
+     * @param tenantExecutors Executors of every tenant, see {@link TenantExecutors}
+     */
+    public MultiTenantLookupDao(
+            Map<String, List<SessionFactory>> sessionFactories,
+            Class<T> entityClass,
+            Map<String, ShardManager> shardManagers,
+            Map<String, ShardingBundleOptions> shardingOptions,
+            final Map<String, ShardInfoProvider> shardInfoProviders,
+            final TransactionObserver observer,
+            final Map<String, TenantExecutors> tenantExecutors) {
         this.sessionFactories = sessionFactories;
         sessionFactories.forEach((tenantId, factories) -> {
-            daos.put(tenantId, factories.stream().map(LookupDaoPriv::new).collect(Collectors.toList()));
+            val statelessReads = Optional.ofNullable(shardingOptions.get(tenantId))
+                    .map(ShardingBundleOptions::isStatelessReads)
+                    .orElse(false);
+            daos.put(tenantId, factories.stream()
+                    .map(sessionFactory -> new LookupDaoPriv(sessionFactory, statelessReads))
+                    .collect(Collectors.toList()));
         });
         this.entityClass = entityClass;
         this.shardCalculator = new ShardCalculator<>(shardManagers, new ConsistentHashBucketIdExtractor<>(shardManagers));
@@ -146,8 +188,14 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
         this.shardInfoProviders = shardInfoProviders;
         this.observer = observer;
         shardInfoProviders.forEach((tenantId, shardInfoProvider) -> {
+            val tenantOptions = Optional.ofNullable(shardingOptions.get(tenantId))
+                    .orElseGet(ShardingBundleOptions::new);
             this.transactionExecutor.put(tenantId,
-                    new TransactionExecutor(shardInfoProvider, DaoType.LOOKUP, entityClass, observer));
+                    new TransactionExecutor(shardInfoProvider, DaoType.LOOKUP, entityClass, observer,
+                            tenantOptions.isSkipReadOnlyTransaction()));
+            Preconditions.checkArgument(tenantExecutors.containsKey(tenantId), "No executors for tenant: " + tenantId);
+            this.fanOutExecutors.put(tenantId, tenantExecutors.get(tenantId).getFanOutExecutor());
+            this.asyncExecutors.put(tenantId, tenantExecutors.get(tenantId).getAsyncExecutor());
         });
         Field[] fields = FieldUtils.getFieldsWithAnnotation(entityClass, LookupKey.class);
         Preconditions.checkArgument(fields.length != 0, "At least one field needs to be sharding key");
@@ -409,7 +457,7 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                     .updater(dao::update)
                     .build();
             return transactionExecutor.get(tenantId)
-                    .<Boolean>execute(dao.sessionFactory, true, "updateImpl", opContext,
+                    .<Boolean>execute(dao.sessionFactory, false, "updateImpl", opContext,
                             shardId);
         } catch (Exception e) {
             throw new RuntimeException("Error updating entity: " + id, e);
@@ -539,7 +587,9 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
 
     /**
      * Queries using the specified criteria across all shards and returns the result.
-     * <b>Note:</b> This method runs the query serially, and it's usage is not recommended.
+     * <b>Note:</b> Shards are queried concurrently if
+     * {@link ShardingBundleOptions#getScatterGatherParallelism()} is configured for the tenant,
+     * serially otherwise.
      * Performs a scatter-gather operation by executing a query on all database shards and collecting
      * the results into a list of entities.
      *
@@ -550,14 +600,15 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
      */
     public List<T> scatterGather(String tenantId, DetachedCriteria criteria) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        return IntStream.range(0, daos.get(tenantId).size())
-                .mapToObj(shardId -> {
+        val fanOutExecutor = fanOutExecutors.get(tenantId);
+        val criteriaSupplier = shardCriteria(fanOutExecutor, criteria);
+        return fanOutExecutor.execute(daos.get(tenantId).size(), shardId -> {
                     try {
                         val dao = daos.get(tenantId).get(shardId);
                         val opContext = Select.<T, List<T>>builder()
                                 .getter(dao::select)
                                 .selectParam(SelectParam.<T>builder()
-                                        .criteria(criteria)
+                                        .criteria(criteriaSupplier.get())
                                         .build())
                                 .build();
                         return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
@@ -566,16 +617,17 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }).flatMap(Collection::stream).collect(Collectors.toList());
+                }).stream().flatMap(Collection::stream).collect(Collectors.toList());
     }
 
     /**
      * Performs a scatter-gather operation by executing a query on all database shards and collecting
      * the results into a list of entities.
      *
-     * <p>This method executes the provided QuerySpec on all available database shards serially,
-     * retrieving entities that match the query criteria from each shard. The results are then
-     * collected into a single list of entities, effectively performing a scatter-gather operation.
+     * <p>This method executes the provided QuerySpec on all available database shards (concurrently
+     * if scatter-gather parallelism is configured for the tenant), retrieving entities that match
+     * the query criteria from each shard. The results are then collected into a single list of
+     * entities, effectively performing a scatter-gather operation.
      *
      * @param tenantId  Tenant id
      * @param querySpec The QuerySpec object representing the query criteria to be executed on all
@@ -591,9 +643,10 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
      * Performs a scatter-gather operation by executing a query on all database shards and collecting
      * the results into a list of entities with pagination support.
      *
-     * <p>This method executes the provided QuerySpec on all available database shards serially,
-     * retrieving entities that match the query criteria from each shard. The results are then
-     * collected into a single list of entities, effectively performing a scatter-gather operation.
+     * <p>This method executes the provided QuerySpec on all available database shards (concurrently
+     * if scatter-gather parallelism is configured for the tenant), retrieving entities that match
+     * the query criteria from each shard. The results are then collected into a single list of
+     * entities, effectively performing a scatter-gather operation.
      *
      * @param tenantId  Tenant id
      * @param querySpec The QuerySpec object representing the query criteria to be executed on all
@@ -606,8 +659,7 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
     public List<T> scatterGather(String tenantId, final QuerySpec<T, T> querySpec, int start,
                                  int numRows) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        return IntStream.range(0, daos.get(tenantId).size())
-                .mapToObj(shardId -> {
+        return fanOutExecutors.get(tenantId).execute(daos.get(tenantId).size(), shardId -> {
                     try {
                         val dao = daos.get(tenantId).get(shardId);
                         OpContext<List<T>> opContext = Select.<T, List<T>>builder()
@@ -626,7 +678,7 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }).flatMap(Collection::stream).collect(Collectors.toList());
+                }).stream().flatMap(Collection::stream).collect(Collectors.toList());
     }
 
     /**
@@ -642,7 +694,9 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
      * @param tenantId      Tenant id
      * @param inCriteria    The core criteria for the query
      * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
-     *                      session
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
      * @param pageSize      Page size of scroll result
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
      *                      ever-increasing one
@@ -659,12 +713,54 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
         val pointer = inPointer == null ? new ScrollPointer(ScrollPointer.Direction.DOWN) : inPointer;
         Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.DOWN),
                 "A down scroll pointer needs to be passed to this method");
-        return scrollImpl(tenantId, inCriteria,
+        return scrollImpl(tenantId,
+                pointer,
+                pageSize,
+                criteriaScrollQuery(tenantId, inCriteria, pointer,
+                        criteria -> criteria.addOrder(Order.asc(sortFieldName)),
+                        lastKey -> Restrictions.gt(sortFieldName, lastKey)),
+                new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
+                        .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
+                "scrollDown");
+    }
+
+    /**
+     * Provides a scroll api for records across shards, same as
+     * {@link #scrollDown(String, DetachedCriteria, ScrollPointer, int, String)}, but with the filter
+     * provided as a {@link QuerySpec}. As the query is built afresh on every shard, the filter does
+     * not need to be copied for every shard and page.
+     * <p>
+     * NOTES: - Any ordering set by the query spec is replaced by ordering on 'sortFieldName'
+     *
+     * @param tenantId      Tenant id
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
+     * @param pageSize      Page size of scroll result
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
+     *                      ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of
+     * results with max N * pageSize elements
+     */
+    public ScrollResult<T> scrollDown(String tenantId,
+                                      final QuerySpec<T, T> querySpec,
+                                      final ScrollPointer inPointer,
+                                      final int pageSize,
+                                      @NonNull final String sortFieldName) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val pointer = inPointer == null ? new ScrollPointer(ScrollPointer.Direction.DOWN) : inPointer;
+        Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.DOWN),
+                "A down scroll pointer needs to be passed to this method");
+        return scrollImpl(tenantId,
                 pointer,
                 pageSize,
-                criteria -> criteria.addOrder(Order.asc(sortFieldName)),
+                querySpecScrollQuery(querySpec, pointer, sortFieldName, true),
                 new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
                         .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
                 "scrollDown");
     }
 
@@ -680,7 +776,9 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
      * @param tenantId      Tenant id
      * @param inCriteria    The core criteria for the query
      * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
-     *                      session
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
      * @param pageSize      Count of records per shard
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
      *                      ever-increasing one
@@ -697,23 +795,66 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
         val pointer = null == inPointer ? new ScrollPointer(ScrollPointer.Direction.UP) : inPointer;
         Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.UP),
                 "An up scroll pointer needs to be passed to this method");
-        return scrollImpl(tenantId, inCriteria,
+        return scrollImpl(tenantId,
                 pointer,
                 pageSize,
-                criteria -> criteria.addOrder(Order.desc(sortFieldName)),
+                criteriaScrollQuery(tenantId, inCriteria, pointer,
+                        criteria -> criteria.addOrder(Order.desc(sortFieldName)),
+                        lastKey -> Restrictions.lt(sortFieldName, lastKey)),
                 new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
                         .reversed()
                         .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
+                "scrollUp");
+    }
+
+    /**
+     * Provides a scroll api for records across shards, same as
+     * {@link #scrollUp(String, DetachedCriteria, ScrollPointer, int, String)}, but with the filter
+     * provided as a {@link QuerySpec}. As the query is built afresh on every shard, the filter does
+     * not need to be copied for every shard and page.
+     * <p>
+     * NOTES: - Any ordering set by the query spec is replaced by ordering on 'sortFieldName'
+     *
+     * @param tenantId      Tenant id
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
+     * @param pageSize      Count of records per shard
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
+     *                      ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of
+     * results with max N * pageSize elements
+     */
+    public ScrollResult<T> scrollUp(String tenantId,
+                                    final QuerySpec<T, T> querySpec,
+                                    final ScrollPointer inPointer,
+                                    final int pageSize,
+                                    @NonNull final String sortFieldName) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val pointer = null == inPointer ? new ScrollPointer(ScrollPointer.Direction.UP) : inPointer;
+        Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.UP),
+                "An up scroll pointer needs to be passed to this method");
+        return scrollImpl(tenantId,
+                pointer,
+                pageSize,
+                querySpecScrollQuery(querySpec, pointer, sortFieldName, false),
+                new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
+                        .reversed()
+                        .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
                 "scrollUp");
     }
 
     /**
      * Counts the number of entities that match the specified criteria on each database shard.
      *
-     * <p>This method executes a count operation on all available database shards serially,
-     * counting the entities that satisfy the provided criteria on each shard. The results are then
-     * collected into a list, where each element corresponds to the count of matching entities on a
-     * specific shard.
+     * <p>This method executes a count operation on all available database shards (concurrently if
+     * scatter-gather parallelism is configured for the tenant), counting the entities that satisfy
+     * the provided criteria on each shard. The results are then collected into a list, where each
+     * element corresponds to the count of matching entities on a specific shard.
      *
      * @param tenantId Tenant id
      * @param criteria The DetachedCriteria object representing the criteria for counting entities.
@@ -723,12 +864,13 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
      */
     public List<Long> count(String tenantId, DetachedCriteria criteria) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        return IntStream.range(0, daos.get(tenantId).size())
-                .mapToObj(shardId -> {
+        val fanOutExecutor = fanOutExecutors.get(tenantId);
+        val criteriaSupplier = shardCriteria(fanOutExecutor, criteria);
+        return fanOutExecutor.execute(daos.get(tenantId).size(), shardId -> {
                     val dao = daos.get(tenantId).get(shardId);
                     val opContext = Count.builder()
                             .counter(dao::count)
-                            .criteria(criteria)
+                            .criteria(criteriaSupplier.get())
                             .build();
                     try {
                         return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
@@ -739,7 +881,41 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }).collect(Collectors.toList());
+                });
+    }
+
+    /**
+     * Computes the aggregation over the rows matching the criteria across all shards. Every shard
+     * computes the aggregates over its own rows (concurrently if scatterGatherParallelism is
+     * configured for the tenant) and only the partial results are merged, grouped by the group by
+     * values. Rows themselves are not pulled from the shards.
+     *
+     * @param tenantId    The tenant ID associated with the entity.
+     * @param criteria    The select criteria. Should not have a projection, it is not modified.
+     * @param aggregation Group by properties and aggregates to be computed
+     * @return A row per group with the merged values of the aggregates
+     */
+    @SuppressWarnings("rawtypes")
+    public List<Aggregation.Row> aggregate(final String tenantId,
+                                           final DetachedCriteria criteria,
+                                           final Aggregation aggregation) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val fanOutExecutor = fanOutExecutors.get(tenantId);
+        val aggregateCriteria = InternalUtils.cloneObject(criteria)
+                .setProjection(aggregation.projection());
+        val criteriaSupplier = shardCriteria(fanOutExecutor, aggregateCriteria);
+        return aggregation.merge(fanOutExecutor.execute(daos.get(tenantId).size(), shardId -> {
+            val dao = daos.get(tenantId).get(shardId);
+            OpContext<List> opContext = RunWithCriteria.<List>builder()
+                    .detachedCriteria(criteriaSupplier.get())
+                    .handler(dao::run)
+                    .build();
+            return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
+                    true,
+                    "aggregate",
+                    opContext,
+                    shardId);
+        }));
     }
 
     /**
@@ -786,9 +962,11 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
     /**
      * Retrieves a list of entities associated with the specified keys from the database.
      *
-     * <p>This method groups the provided keys by their corresponding database shards,
-     * and then retrieves entities that match these keys from each shard serially. The results are
-     * combined into a single list of entities and returned.
+     * <p>This method groups the provided keys by their corresponding database shards, and then
+     * retrieves entities that match these keys from each shard, concurrently if
+     * scatterGatherParallelism is configured. Keys for a shard are sent in IN clauses of at most
+     * multiGetBatchSize keys each. The results are combined into a single list of entities and
+     * returned.
      *
      * @param tenantId Tenant id
      * @param keys     A list of keys for which entities should be retrieved from the database.
@@ -797,14 +975,116 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
      */
     public List<T> get(String tenantId, List<String> keys) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        Map<Integer, List<String>> lookupKeysGroupByShards = keys.stream()
-                .collect(
-                        Collectors.groupingBy(key -> shardCalculator.shardId(tenantId, key),
-                                Collectors.toList()));
-        return lookupKeysGroupByShards.keySet().stream().map(shardId -> {
+        return getInBatches(tenantId, keys).stream()
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the entities associated with the specified keys, indexed by key.
+     *
+     * <p>Keys are grouped by shard and the shards are queried concurrently if
+     * scatterGatherParallelism is configured. Keys for a shard are sent in IN clauses of at most
+     * multiGetBatchSize keys each. Duplicate keys are looked up once. Keys that do not exist are
+     * absent from the returned map.
+     *
+     * @param tenantId Tenant id
+     * @param keys     Keys (values of the field annotated with {@link LookupKey}) to be retrieved
+     * @return Map of key to the entity with that key, in the iteration order of the given keys
+     * @throws RuntimeException If an error occurs while querying the database.
+     */
+    public Map<String, T> multiGet(String tenantId, Collection<String> keys) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val uniqueKeys = new LinkedHashSet<>(keys);
+        final Map<String, T> found = new HashMap<>(Math.max(16, uniqueKeys.size() * 2));
+        getInBatches(tenantId, uniqueKeys)
+                .forEach(batch -> batch.forEach(entity -> found.put(keyOf(entity), entity)));
+        final Map<String, T> results = new LinkedHashMap<>(Math.max(16, found.size() * 2));
+        uniqueKeys.forEach(key -> {
+            val entity = found.get(key);
+            if (null != entity) {
+                results.put(key, entity);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Async variant of {@link #get(String, String)}. Runs on the async executor of the tenant, see
+     * {@link ShardingBundleOptions#getAsyncParallelism()}.
+     *
+     * @param tenantId Tenant id
+     * @param key      The value of the key field to look for.
+     * @return Future that completes with the entity, or fails with the exception thrown by the get
+     */
+    public CompletableFuture<Optional<T>> getAsync(String tenantId, String key) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId).submit(() -> get(tenantId, key));
+    }
+
+    /**
+     * Async variant of {@link #save(String, Object)}. Runs on the async executor of the tenant.
+     *
+     * @param tenantId Tenant id
+     * @param entity   Entity to save
+     * @return Future that completes with the saved entity, or fails with the exception thrown by the
+     * save
+     */
+    public CompletableFuture<Optional<T>> saveAsync(String tenantId, T entity) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId).submit(() -> save(tenantId, entity));
+    }
+
+    /**
+     * Async variant of {@link #multiGet(String, Collection)}. Runs on the async executor of the
+     * tenant.
+     *
+     * @param tenantId Tenant id
+     * @param keys     Keys to be retrieved
+     * @return Future that completes with the map of key to entity
+     */
+    public CompletableFuture<Map<String, T>> multiGetAsync(String tenantId, Collection<String> keys) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId).submit(() -> multiGet(tenantId, keys));
+    }
+
+    /**
+     * Async variant of {@link #scatterGather(String, DetachedCriteria)}. Runs on the async executor
+     * of the tenant, shards are queried as configured for the synchronous call.
+     *
+     * @param tenantId Tenant id
+     * @param criteria The query criteria to be executed on all shards
+     * @return Future that completes with the entities found on all shards
+     */
+    public CompletableFuture<List<T>> scatterGatherAsync(String tenantId, DetachedCriteria criteria) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId).submit(() -> scatterGather(tenantId, criteria));
+    }
+
+    /*
+     * Splits the keys into per-shard batches of bounded size and runs a lookup for every batch on
+     * the fan-out executor. Returns the results of every batch.
+     */
+    private List<List<T>> getInBatches(String tenantId, Collection<String> keys) {
+        val batchSize = Optional.ofNullable(shardingOptions.get(tenantId))
+                .map(ShardingBundleOptions::getMultiGetBatchSize)
+                .filter(size -> size > 0)
+                .orElse(DEFAULT_MULTI_GET_BATCH_SIZE);
+        final Map<Integer, List<String>> lookupKeysGroupByShards = keys.stream()
+                .collect(Collectors.groupingBy(key -> shardCalculator.shardId(tenantId, key),
+                        Collectors.toList()));
+        final List<Integer> batchShards = new ArrayList<>();
+        final List<List<String>> batches = new ArrayList<>();
+        lookupKeysGroupByShards.forEach((shardId, shardKeys) -> Lists.partition(shardKeys, batchSize)
+                .forEach(batch -> {
+                    batchShards.add(shardId);
+                    batches.add(batch);
+                }));
+        return fanOutExecutors.get(tenantId).execute(batches.size(), batchIdx -> {
+            val shardId = batchShards.get(batchIdx);
             try {
                 DetachedCriteria criteria = DetachedCriteria.forClass(entityClass)
-                        .add(Restrictions.in(keyField.getName(), lookupKeysGroupByShards.get(shardId)));
+                        .add(Restrictions.in(keyField.getName(), batches.get(batchIdx)));
                 val opContext = Get.<List<T>, List<T>>builder()
                         .criteria(criteria)
                         .getter(daos.get(tenantId).get(shardId)::select)
@@ -815,7 +1095,12 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
-        }).flatMap(Collection::stream).collect(Collectors.toList());
+        });
+    }
+
+    @SneakyThrows
+    private String keyOf(T entity) {
+        return keyField.get(entity).toString();
     }
 
     /**
@@ -839,9 +1124,10 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
         LookupDaoPriv dao = daos.get(tenantId).get(shardId);
         val opContext = RunInSession.<U>builder()
                 .handler(handler)
+                .lookupKey(id)
                 .build();
         return transactionExecutor.get(tenantId)
-                .execute(dao.sessionFactory, true, "runInSession", opContext,
+                .execute(dao.sessionFactory, false, "runInSession", opContext,
                         shardId);
     }
 
@@ -858,7 +1144,7 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                             .build();
                     try {
                         return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
-                                true,
+                                false,
                                 "runInSession",
                                 opContext,
                                 shardId);
@@ -896,6 +1182,18 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                 shardId);
     }
 
+    /**
+     * A DetachedCriteria binds itself to the session it is executed on. When shards are queried
+     * concurrently, every shard therefore needs its own copy of the caller's criteria.
+     */
+    private static Supplier<DetachedCriteria> shardCriteria(FanOutExecutor fanOutExecutor,
+                                                            DetachedCriteria criteria) {
+        if (!fanOutExecutor.isParallel()) {
+            return () -> criteria;
+        }
+        return new CriteriaTemplate(criteria)::newCriteria;
+    }
+
     /**
      * Retrieves the key field associated with the entity class.
      * <p>
@@ -908,43 +1206,110 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
         return this.keyField;
     }
 
+    /**
+     * Builds per-shard queries for a criteria based scroll. The caller's criteria is snapshotted
+     * once per page. Shards queried one after the other share a single copy of it, unless every
+     * shard needs its own seek restriction.
+     */
+    private IntFunction<SelectParam.SelectParamBuilder<T>> criteriaScrollQuery(
+            final String tenantId,
+            final DetachedCriteria inCriteria,
+            final ScrollPointer pointer,
+            final UnaryOperator<DetachedCriteria> criteriaMutator,
+            final Function<Serializable, Criterion> seekRestriction) {
+        val template = new CriteriaTemplate(inCriteria);
+        final DetachedCriteria sharedCriteria = pointer.isKeyset() || fanOutExecutors.get(tenantId).isParallel()
+                                                ? null
+                                                : criteriaMutator.apply(template.newCriteria());
+        return shardIdx -> {
+            if (null != sharedCriteria) {
+                return SelectParam.<T>builder().criteria(sharedCriteria);
+            }
+            val criteria = criteriaMutator.apply(template.newCriteria());
+            val lastKey = pointer.isKeyset() ? pointer.getLastKey(shardIdx) : null;
+            if (null != lastKey) {
+                criteria.add(seekRestriction.apply(lastKey));
+            }
+            return SelectParam.<T>builder().criteria(criteria);
+        };
+    }
+
+    /**
+     * Builds per-shard queries for a query spec based scroll. The query is created afresh on every
+     * shard, so nothing needs to be copied.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private IntFunction<SelectParam.SelectParamBuilder<T>> querySpecScrollQuery(
+            final QuerySpec<T, T> querySpec,
+            final ScrollPointer pointer,
+            final String sortFieldName,
+            final boolean ascending) {
+        return shardIdx -> {
+            final Comparable lastKey = pointer.isKeyset() ? (Comparable) pointer.getLastKey(shardIdx) : null;
+            return SelectParam.<T>builder()
+                    .querySpec((queryRoot, query, criteriaBuilder) -> {
+                        querySpec.apply(queryRoot, query, criteriaBuilder);
+                        final var sortPath = queryRoot.<Comparable>get(sortFieldName);
+                        query.orderBy(ascending
+                                      ? criteriaBuilder.asc(sortPath)
+                                      : criteriaBuilder.desc(sortPath));
+                        if (null == lastKey) {
+                            return;
+                        }
+                        final var seek = ascending
+                                         ? criteriaBuilder.greaterThan(sortPath, lastKey)
+                                         : criteriaBuilder.lessThan(sortPath, lastKey);
+                        if (null == query.getRestriction()) {
+                            query.where(seek);
+                        }
+                        else {
+                            query.where(query.getRestriction(), seek);
+                        }
+                    });
+        };
+    }
+
     @SneakyThrows
     private ScrollResult<T> scrollImpl(String tenantId,
-                                       final DetachedCriteria inCriteria,
                                        final ScrollPointer pointer,
                                        final int pageSize,
-                                       final UnaryOperator<DetachedCriteria> criteriaMutator,
+                                       final IntFunction<SelectParam.SelectParamBuilder<T>> shardQuery,
                                        final Comparator<ScrollResultItem<T>> comparator,
+                                       final Field sortField,
                                        String methodName) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        val daoIndex = new AtomicInteger();
-        val results = daos.get(tenantId).stream()
-                .flatMap(dao -> {
-                    val currIdx = daoIndex.getAndIncrement();
-                    val criteria = criteriaMutator.apply(InternalUtils.cloneObject(inCriteria));
-                    val opContext = Select.<T, List<T>>builder()
-                            .getter(dao::select)
-                            .selectParam(SelectParam.<T>builder()
-                                    .criteria(criteria)
-                                    .start(pointer.getCurrOffset(currIdx))
-                                    .numRows(pageSize)
-                                    .build())
-                            .build();
-                    return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
-                                    true, methodName,
-                                    opContext, currIdx)
-                            .stream()
-                            .map(item -> new ScrollResultItem<>(item, currIdx));
-                })
-                .sorted(comparator)
-                .limit(pageSize)
-                .collect(Collectors.toList());
-        //This list will be of _pageSize_ long but max fetched might be _pageSize_ * numShards long
+        val tenantDaos = daos.get(tenantId);
+        final ScrollMerger.ShardPageFetcher<T> fetcher = (shardIdx, start, numRows) -> {
+            val dao = tenantDaos.get(shardIdx);
+            //Keyset queries seek past the last key read from the shard, offsets are only needed for top-ups
+            //within the page
+            val first = pointer.isKeyset()
+                        ? start - pointer.getCurrOffset(shardIdx)
+                        : start;
+            val opContext = Select.<T, List<T>>builder()
+                    .getter(dao::select)
+                    .selectParam(shardQuery.apply(shardIdx)
+                            .start(first)
+                            .numRows(numRows)
+                            .build())
+                    .build();
+            return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
+                    true, methodName,
+                    opContext, shardIdx);
+        };
+        //Shards are asked only for the rows they are likely to contribute, and topped up during merge
+        val fetchSizes = ScrollMerger.fetchSizes(pointer, tenantDaos.size(), pageSize);
+        val firstPages = fanOutExecutors.get(tenantId).execute(tenantDaos.size(),
+                shardIdx -> fetcher.fetch(shardIdx, pointer.getCurrOffset(shardIdx), fetchSizes[shardIdx]));
+        val results = new ScrollMerger<>(pageSize, comparator, fetcher)
+                .merge(pointer, firstPages, fetchSizes);
         val outputBuilder = ImmutableList.<T>builder();
-        results.forEach(result -> {
+        for (val result : results) {
             outputBuilder.add(result.getData());
-            pointer.advance(result.getShardIdx(), 1);// will get advanced
-        });
+            if (pointer.isKeyset()) {
+                pointer.seek(result.getShardIdx(), (Serializable) sortField.get(result.getData()));
+            }
+        }
         return new ScrollResult<>(pointer, outputBuilder.build());
     }
 
@@ -994,6 +1359,7 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
             this.executionContext = TransactionExecutionContext.builder()
                     .commandName("execute")
                     .shardName(shardName)
+                    .tenantId(tenantId)
                     .daoType(DaoType.LOOKUP)
                     .entityClass(entityClass)
                     .opContext(opContext)
@@ -1312,16 +1678,23 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
          */
         private final SessionFactory sessionFactory;
 
+        /**
+         * Whether query spec based reads run on a stateless session.
+         */
+        private final boolean statelessReads;
+
         /**
          * Constructs a new {@code LookupDaoPriv} instance with the provided Hibernate
          * {@link SessionFactory}. This constructor initializes the DAO with the session factory, which
          * will be used for managing database operations.
          *
          * @param sessionFactory The Hibernate {@code SessionFactory} for database access.
+         * @param statelessReads Whether query spec based reads run on a stateless session.
          */
-        public LookupDaoPriv(SessionFactory sessionFactory) {
+        public LookupDaoPriv(SessionFactory sessionFactory, boolean statelessReads) {
             super(sessionFactory);
             this.sessionFactory = sessionFactory;
+            this.statelessReads = statelessReads;
         }
 
         /**
@@ -1430,6 +1803,11 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                     .list();
         }
 
+        /**
+         * Used by the scatter-gather, multi-get and scroll reads, which hand the results out detached.
+         * Query spec based selects run on a stateless session if
+         * {@link ShardingBundleOptions#isStatelessReads()} is set for the tenant.
+         */
         List<T> select(SelectParam selectParam) {
             if (selectParam.criteria != null) {
                 val criteria = selectParam.criteria.getExecutableCriteria(currentSession());
@@ -1441,14 +1819,24 @@ public class MultiTenantLookupDao<T> implements ShardedDao<T> {
                 }
                 return list(criteria);
             }
-            val query = InternalUtils.createQuery(currentSession(), entityClass, selectParam.querySpec);
+            if (statelessReads) {
+                return listStateless(statelessSession -> paged(InternalUtils.createQuery(statelessSession,
+                        sessionFactory.getCriteriaBuilder(),
+                        entityClass,
+                        selectParam.querySpec), selectParam));
+            }
+            return list(paged(InternalUtils.createQuery(currentSession(), entityClass, selectParam.querySpec),
+                    selectParam));
+        }
+
+        private Query<T> paged(Query<T> query, SelectParam selectParam) {
             if (null != selectParam.getStart()) {
                 query.setFirstResult(selectParam.start);
             }
             if (null != selectParam.getNumRows()) {
                 query.setMaxResults(selectParam.numRows);
             }
-            return list(query);
+            return query;
         }
 
         /**
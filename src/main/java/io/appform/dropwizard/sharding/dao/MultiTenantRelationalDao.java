@@ -25,6 +25,7 @@ import io.appform.dropwizard.sharding.ShardInfoProvider;
 import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
 import io.appform.dropwizard.sharding.dao.operations.Count;
 import io.appform.dropwizard.sharding.dao.operations.CountByQuerySpec;
+import io.appform.dropwizard.sharding.dao.operations.ForEachWithScroll;
 import io.appform.dropwizard.sharding.dao.operations.Get;
 import io.appform.dropwizard.sharding.dao.operations.GetAndUpdate;
 import io.appform.dropwizard.sharding.dao.operations.OpContext;
@@ -42,17 +43,24 @@ import io.appform.dropwizard.sharding.dao.operations.UpdateWithScroll;
 import io.appform.dropwizard.sharding.dao.operations.relationaldao.CreateOrUpdate;
 import io.appform.dropwizard.sharding.dao.operations.relationaldao.CreateOrUpdateInLockedContext;
 import io.appform.dropwizard.sharding.dao.operations.relationaldao.readonlycontext.ReadOnlyForRelationalDao;
+import io.appform.dropwizard.sharding.execution.AsyncExecutor;
 import io.appform.dropwizard.sharding.execution.DaoType;
+import io.appform.dropwizard.sharding.execution.FanOutExecutor;
+import io.appform.dropwizard.sharding.execution.TenantExecutors;
 import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
 import io.appform.dropwizard.sharding.execution.TransactionExecutor;
 import io.appform.dropwizard.sharding.observers.TransactionObserver;
+import io.appform.dropwizard.sharding.query.Aggregation;
 import io.appform.dropwizard.sharding.query.QuerySpec;
 import io.appform.dropwizard.sharding.scroll.FieldComparator;
+import io.appform.dropwizard.sharding.scroll.ScrollMerger;
 import io.appform.dropwizard.sharding.scroll.ScrollPointer;
 import io.appform.dropwizard.sharding.scroll.ScrollResult;
 import io.appform.dropwizard.sharding.scroll.ScrollResultItem;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
+import io.appform.dropwizard.sharding.sharding.ShardingKey;
 import io.appform.dropwizard.sharding.sharding.impl.ConsistentHashBucketIdExtractor;
+import io.appform.dropwizard.sharding.utils.CriteriaTemplate;
 import io.appform.dropwizard.sharding.utils.InternalUtils;
 import io.appform.dropwizard.sharding.utils.ShardCalculator;
 import io.appform.dropwizard.sharding.utils.TransactionHandler;
@@ -64,6 +72,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.beanutils.BeanUtils;
 import org.apache.commons.beanutils.PropertyUtils;
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.hibernate.Criteria;
 import org.hibernate.LockMode;
@@ -71,6 +80,7 @@ import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.criterion.Criterion;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Order;
 import org.hibernate.criterion.Projections;
@@ -82,17 +92,23 @@ import javax.persistence.LockModeType;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -113,15 +129,18 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
     private final class RelationalDaoPriv extends AbstractDAO<T> {
 
         private final SessionFactory sessionFactory;
+        private final boolean statelessReads;
 
         /**
          * Creates a new DAO with a given session provider.
          *
          * @param sessionFactory a session provider
+         * @param statelessReads run query spec based reads on a stateless session
          */
-        public RelationalDaoPriv(SessionFactory sessionFactory) {
+        public RelationalDaoPriv(SessionFactory sessionFactory, boolean statelessReads) {
             super(sessionFactory);
             this.sessionFactory = sessionFactory;
+            this.statelessReads = statelessReads;
         }
 
         /**
@@ -186,6 +205,52 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
             return true;
         }
 
+        /**
+         * Saves entities in JDBC batches of {@code batchSize}. The session is flushed and cleared after
+         * every batch so that the first level cache does not keep growing with the number of entities.
+         */
+        boolean saveAll(Collection<T> entities, int batchSize, boolean stateless) {
+            if (batchSize <= 0) {
+                return saveAll(entities);
+            }
+            if (stateless) {
+                return saveAllStateless(entities, batchSize);
+            }
+            val session = currentSession();
+            session.setJdbcBatchSize(batchSize);
+            int pending = 0;
+            for (T entity : entities) {
+                persist(entity);
+                if (++pending == batchSize) {
+                    session.flush();
+                    session.clear();
+                    pending = 0;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Inserts entities through a stateless session sharing the connection (and hence the
+         * transaction) of the current session. The stateless session is not bound to a transaction
+         * of its own, so the last pending batch is executed explicitly before it is closed.
+         */
+        private boolean saveAllStateless(Collection<T> entities, int batchSize) {
+            val session = currentSession();
+            session.flush();
+            session.doWork(connection -> {
+                val statelessSession = sessionFactory.openStatelessSession(connection);
+                try {
+                    statelessSession.setJdbcBatchSize(batchSize);
+                    entities.forEach(statelessSession::insert);
+                    InternalUtils.executePendingBatch(statelessSession);
+                } finally {
+                    statelessSession.close();
+                }
+            });
+            return true;
+        }
+
         void update(T oldEntity, T entity) {
             currentSession().evict(oldEntity); //Detach ... otherwise update is a no-op
             currentSession().update(entity);
@@ -212,14 +277,48 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
             return list(query);
         }
 
+        /**
+         * Select for reads that hand the results out detached (select, scatter-gather, scroll). Query
+         * spec based selects run on a stateless session if {@link ShardingBundleOptions#isStatelessReads()}
+         * is set for the tenant. Not to be used for rows that are updated afterwards.
+         */
+        List<T> selectDetached(SelectParam selectParam) {
+            if (!statelessReads || selectParam.criteria != null) {
+                return select(selectParam);
+            }
+            return listStateless(statelessSession -> {
+                val query = InternalUtils.createQuery(statelessSession,
+                        sessionFactory.getCriteriaBuilder(),
+                        entityClass,
+                        selectParam.querySpec);
+                if (-1 != selectParam.getStart()) {
+                    query.setFirstResult(selectParam.start);
+                }
+                if (-1 != selectParam.getNumRows()) {
+                    query.setMaxResults(selectParam.numRows);
+                }
+                return query;
+            });
+        }
+
+        /**
+         * A non zero fetch size is passed to the driver as is, including negative driver specific
+         * values.
+         */
         ScrollableResults scroll(ScrollParam<T> scrollDetails) {
             if (scrollDetails.getCriteria() != null) {
-                final Criteria criteria = scrollDetails.getCriteria()
+                val criteria = scrollDetails.getCriteria()
                         .getExecutableCriteria(currentSession());
+                if (scrollDetails.getFetchSize() != 0) {
+                    criteria.setFetchSize(scrollDetails.getFetchSize());
+                }
                 return criteria.scroll(ScrollMode.FORWARD_ONLY);
             }
-            return InternalUtils.createQuery(currentSession(), entityClass, scrollDetails.getQuerySpec())
-                    .scroll(ScrollMode.FORWARD_ONLY);
+            val query = InternalUtils.createQuery(currentSession(), entityClass, scrollDetails.getQuerySpec());
+            if (scrollDetails.getFetchSize() != 0) {
+                query.setFetchSize(scrollDetails.getFetchSize());
+            }
+            return query.scroll(ScrollMode.FORWARD_ONLY);
         }
 
         /**
@@ -265,6 +364,8 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
 
     }
 
+    private static final int DEFAULT_FOR_EACH_BATCH_SIZE = 1000;
+
     private final Map<String, List<RelationalDaoPriv>> daos = Maps.newHashMap();
     @Getter
     private final Class<T> entityClass;
@@ -273,8 +374,11 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
     @Getter
     private final Map<String, ShardingBundleOptions> shardingOptions;
     private final Field keyField;
+    private final MethodHandle shardingKeyGetter;
 
     private final Map<String, TransactionExecutor> transactionExecutor = Maps.newHashMap();
+    private final Map<String, FanOutExecutor> fanOutExecutors = Maps.newHashMap();
+    private final Map<String, AsyncExecutor> asyncExecutors = Maps.newHashMap();
     private final Map<String, ShardInfoProvider> shardInfoProviders;
     private final TransactionObserver observer;
 
@@ -303,16 +407,46 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
             Map<String, ShardingBundleOptions> shardingOptions,
             final Map<String, ShardInfoProvider> shardInfoProviders,
             final TransactionObserver observer) {
+        this(sessionFactories, entityClass, shardManagers, shardingOptions, shardInfoProviders, observer,
+                TenantExecutors.forDao(entityClass, shardInfoProviders.keySet(), shardingOptions));
+    }
+
+    /**
+     * Same as above, with the fan-out and async threads of every tenant shared with other daos of
+     * the tenant.
+     *
+     * @param tenantExecutors Executors of every tenant, see {@link TenantExecutors}
+     */
+    public MultiTenantRelationalDao(
+            Map<String, List<SessionFactory>> sessionFactories,
+            Class<T> entityClass,
+            Map<String, ShardManager> shardManagers,
+            Map<String, ShardingBundleOptions> shardingOptions,
+            final Map<String, ShardInfoProvider> shardInfoProviders,
+            final TransactionObserver observer,
+            final Map<String, TenantExecutors> tenantExecutors) {
         this.shardCalculator = new ShardCalculator<>(shardManagers, new ConsistentHashBucketIdExtractor<>(shardManagers));
         this.shardingOptions = shardingOptions;
-        sessionFactories.forEach((tenantId, factories) -> daos.put(tenantId,
-                factories.stream().map(RelationalDaoPriv::new).collect(Collectors.toList())));
+        sessionFactories.forEach((tenantId, factories) -> {
+            val statelessReads = Optional.ofNullable(shardingOptions.get(tenantId))
+                    .map(ShardingBundleOptions::isStatelessReads)
+                    .orElse(false);
+            daos.put(tenantId, factories.stream()
+                    .map(sessionFactory -> new RelationalDaoPriv(sessionFactory, statelessReads))
+                    .collect(Collectors.toList()));
+        });
         this.entityClass = entityClass;
         this.shardInfoProviders = shardInfoProviders;
         this.observer = observer;
         shardInfoProviders.forEach((tenantId, shardInfoProvider) -> {
+            val tenantOptions = Optional.ofNullable(shardingOptions.get(tenantId))
+                    .orElseGet(ShardingBundleOptions::new);
             this.transactionExecutor.put(tenantId,
-                    new TransactionExecutor(shardInfoProvider, DaoType.RELATIONAL, entityClass, observer));
+                    new TransactionExecutor(shardInfoProvider, DaoType.RELATIONAL, entityClass, observer,
+                            tenantOptions.isSkipReadOnlyTransaction()));
+            Preconditions.checkArgument(tenantExecutors.containsKey(tenantId), "No executors for tenant: " + tenantId);
+            this.fanOutExecutors.put(tenantId, tenantExecutors.get(tenantId).getFanOutExecutor());
+            this.asyncExecutors.put(tenantId, tenantExecutors.get(tenantId).getAsyncExecutor());
         });
         Field[] fields = FieldUtils.getFieldsWithAnnotation(entityClass, Id.class);
         Preconditions.checkArgument(fields.length != 0, "A field needs to be designated as @Id");
@@ -327,6 +461,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                 throw new IllegalArgumentException("Invalid class, DAO cannot be created.", e);
             }
         }
+        shardingKeyGetter = shardingKeyGetter(entityClass);
     }
 
     /**
@@ -409,12 +544,97 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
     public boolean saveAll(String tenantId, String parentKey, Collection<T> entities) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
         int shardId = shardCalculator.shardId(tenantId, parentKey);
+        return saveAllOnShard(tenantId, shardId, entities);
+    }
+
+    /**
+     * Saves a collection of entities that may belong to different parents.
+     * <p>
+     * Every entity is routed to its shard using the value of its field annotated with
+     * {@link ShardingKey}. Entities for a shard are saved in a single (batched if jdbcBatchSize is
+     * configured) transaction on that shard. Shards are written to concurrently if
+     * scatterGatherParallelism is configured. A failure on one shard does not roll back the
+     * entities saved on other shards; the outcome for every shard is reported instead.
+     *
+     * @param tenantId The tenant ID associated with the entities.
+     * @param entities The collection of entities to be saved.
+     * @return Outcome of the save for every shard that entities were routed to, ordered by shard id.
+     * @throws IllegalArgumentException If the entity does not have a field annotated with
+     *                                  {@link ShardingKey} or an entity has no sharding key set.
+     * @throws io.appform.dropwizard.sharding.exceptions.ShardBlacklistedException If any entity
+     *                                  maps to a blacklisted shard. Nothing is saved in this case.
+     */
+    public List<ShardSaveResult> saveAll(String tenantId, Collection<T> entities) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        Preconditions.checkArgument(null != shardingKeyGetter,
+                "Entity " + entityClass.getSimpleName() + " needs a field annotated with @ShardingKey");
+        final Map<Integer, List<T>> entitiesByShard = entities.stream()
+                .collect(Collectors.groupingBy(entity -> shardCalculator.shardId(tenantId, shardingKey(entity)),
+                        TreeMap::new,
+                        Collectors.toList()));
+        final List<Integer> shardIds = new ArrayList<>(entitiesByShard.keySet());
+        return fanOutExecutors.get(tenantId).execute(shardIds.size(), idx -> {
+            val shardId = shardIds.get(idx);
+            val shardEntities = entitiesByShard.get(shardId);
+            val result = ShardSaveResult.builder()
+                    .shardId(shardId)
+                    .numEntities(shardEntities.size());
+            try {
+                return result.success(saveAllOnShard(tenantId, shardId, shardEntities)).build();
+            } catch (Exception e) {
+                log.error("Error saving {} entities of type {} on shard {}",
+                        shardEntities.size(), entityClass.getSimpleName(), shardId, e);
+                return result.success(false).error(e).build();
+            }
+        });
+    }
+
+    private boolean saveAllOnShard(String tenantId, int shardId, Collection<T> entities) {
         RelationalDaoPriv dao = daos.get(tenantId).get(shardId);
-        val opContext = SaveAll.<T>builder().saver(dao::saveAll).entities(entities).build();
+        val options = shardingOptions.get(tenantId);
+        val batchSize = null == options ? 0 : options.getJdbcBatchSize();
+        val stateless = null != options && options.isStatelessBulkSave();
+        val opContext = SaveAll.<T>builder()
+                .saver(batch -> dao.saveAll(batch, batchSize, stateless))
+                .entities(entities)
+                .batchSize(batchSize)
+                .build();
         return transactionExecutor.get(tenantId)
                 .execute(dao.sessionFactory, false, "saveAll", opContext, shardId);
     }
 
+    private String shardingKey(T entity) {
+        final String shardingKey;
+        try {
+            shardingKey = (String) shardingKeyGetter.invoke(entity);
+        } catch (Throwable t) {
+            throw new RuntimeException("Error reading sharding key of " + entityClass.getSimpleName(), t);
+        }
+        Preconditions.checkArgument(null != shardingKey,
+                "Sharding key not set for entity of type " + entityClass.getSimpleName());
+        return shardingKey;
+    }
+
+    /*
+     * Resolves the field annotated with @ShardingKey the same way as the bundle does for bucket keys.
+     * Returns null for entities that do not have one, as it is only needed for multi-parent saves.
+     */
+    private static MethodHandle shardingKeyGetter(Class<?> entityClass) {
+        Field[] fields = FieldUtils.getFieldsWithAnnotation(entityClass, ShardingKey.class);
+        if (fields.length == 0) {
+            return null;
+        }
+        Preconditions.checkArgument(fields.length == 1, "Only one field can be designated as @ShardingKey");
+        Preconditions.checkArgument(ClassUtils.isAssignable(fields[0].getType(), String.class),
+                "Field annotated with @ShardingKey must be a string");
+        try {
+            return MethodHandles.privateLookupIn(fields[0].getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectGetter(fields[0]);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Invalid class, DAO cannot be created.", e);
+        }
+    }
+
     public Optional<T> createOrUpdate(String tenantId,
                                       final String parentKey,
                                       final DetachedCriteria selectionCriteria,
@@ -514,7 +734,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                 .build();
         try {
             return transactionExecutor.get(tenantId).execute(context.getSessionFactory(),
-                    true,
+                    false,
                     "update",
                     opContext,
                     context.getShardId(), false);
@@ -561,7 +781,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                 .build();
         try {
             return transactionExecutor.get(tenantId).execute(context.getSessionFactory(),
-                    true,
+                    false,
                     "update",
                     opContext,
                     context.getShardId(), false);
@@ -676,7 +896,9 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
      * @param tenantId      The tenant ID associated with the entity.
      * @param inCriteria    The core criteria for the query
      * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
-     *                      session
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
      * @param pageSize      Count of records per shard
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
      *                      ever-increasing one
@@ -693,12 +915,54 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
         val pointer = inPointer == null ? new ScrollPointer(ScrollPointer.Direction.DOWN) : inPointer;
         Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.DOWN),
                 "A down scroll pointer needs to be passed to this method");
-        return scrollImpl(tenantId, inCriteria,
+        return scrollImpl(tenantId,
+                pointer,
+                pageSize,
+                criteriaScrollQuery(tenantId, inCriteria, pointer,
+                        criteria -> criteria.addOrder(Order.asc(sortFieldName)),
+                        lastKey -> Restrictions.gt(sortFieldName, lastKey)),
+                new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
+                        .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
+                "scrollDown");
+    }
+
+    /**
+     * Provides a scroll api for records across shards, same as
+     * {@link #scrollDown(String, DetachedCriteria, ScrollPointer, int, String)}, but with the filter
+     * provided as a {@link QuerySpec}. As the query is built afresh on every shard, the filter does
+     * not need to be copied for every shard and page.
+     * <p>
+     * NOTES: - Any ordering set by the query spec is replaced by ordering on 'sortFieldName'
+     *
+     * @param tenantId      Tenant id
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
+     * @param pageSize      Page size of scroll result
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
+     *                      ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of
+     * results with max N * pageSize elements
+     */
+    public ScrollResult<T> scrollDown(String tenantId,
+                                      final QuerySpec<T, T> querySpec,
+                                      final ScrollPointer inPointer,
+                                      final int pageSize,
+                                      @NonNull final String sortFieldName) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val pointer = inPointer == null ? new ScrollPointer(ScrollPointer.Direction.DOWN) : inPointer;
+        Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.DOWN),
+                "A down scroll pointer needs to be passed to this method");
+        return scrollImpl(tenantId,
                 pointer,
                 pageSize,
-                criteria -> criteria.addOrder(Order.asc(sortFieldName)),
+                querySpecScrollQuery(querySpec, pointer, sortFieldName, true),
                 new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
                         .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
                 "scrollDown");
     }
 
@@ -714,7 +978,9 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
      * @param tenantId      The tenant ID associated with the entity.
      * @param inCriteria    The core criteria for the query
      * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
-     *                      session
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
      * @param pageSize      Count of records per shard
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
      *                      ever-increasing one
@@ -731,13 +997,56 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
         val pointer = null == inPointer ? new ScrollPointer(ScrollPointer.Direction.UP) : inPointer;
         Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.UP),
                 "An up scroll pointer needs to be passed to this method");
-        return scrollImpl(tenantId, inCriteria,
+        return scrollImpl(tenantId,
                 pointer,
                 pageSize,
-                criteria -> criteria.addOrder(Order.desc(sortFieldName)),
+                criteriaScrollQuery(tenantId, inCriteria, pointer,
+                        criteria -> criteria.addOrder(Order.desc(sortFieldName)),
+                        lastKey -> Restrictions.lt(sortFieldName, lastKey)),
                 new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
                         .reversed()
                         .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
+                "scrollUp");
+    }
+
+    /**
+     * Provides a scroll api for records across shards, same as
+     * {@link #scrollUp(String, DetachedCriteria, ScrollPointer, int, String)}, but with the filter
+     * provided as a {@link QuerySpec}. As the query is built afresh on every shard, the filter does
+     * not need to be copied for every shard and page.
+     * <p>
+     * NOTES: - Any ordering set by the query spec is replaced by ordering on 'sortFieldName'
+     *
+     * @param tenantId      Tenant id
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll
+     *                      session. To seek by the last sort key read from every shard instead of
+     *                      skipping offsets, start the session with an empty pointer in
+     *                      {@link ScrollPointer.Mode#KEYSET} mode.
+     * @param pageSize      Count of records per shard
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an
+     *                      ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of
+     * results with max N * pageSize elements
+     */
+    public ScrollResult<T> scrollUp(String tenantId,
+                                    final QuerySpec<T, T> querySpec,
+                                    final ScrollPointer inPointer,
+                                    final int pageSize,
+                                    @NonNull final String sortFieldName) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val pointer = null == inPointer ? new ScrollPointer(ScrollPointer.Direction.UP) : inPointer;
+        Preconditions.checkArgument(pointer.getDirection().equals(ScrollPointer.Direction.UP),
+                "An up scroll pointer needs to be passed to this method");
+        return scrollImpl(tenantId,
+                pointer,
+                pageSize,
+                querySpecScrollQuery(querySpec, pointer, sortFieldName, false),
+                new FieldComparator<T>(FieldUtils.getField(this.entityClass, sortFieldName, true))
+                        .reversed()
+                        .thenComparing(ScrollResultItem::getShardIdx),
+                FieldUtils.getField(this.entityClass, sortFieldName, true),
                 "scrollUp");
     }
 
@@ -830,7 +1139,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
         RelationalDaoPriv dao = daos.get(tenantId).get(shardId);
         val opContext = RunInSession.<U>builder().handler(handler).build();
         return transactionExecutor.get(tenantId).
-                execute(dao.sessionFactory, true, "runInSession", opContext, shardId);
+                execute(dao.sessionFactory, false, "runInSession", opContext, shardId);
     }
 
     /**
@@ -869,7 +1178,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                 .mutator(updater)
                 .updater(dao::update).build();
         try {
-            return transactionExecutor.get(tenantId).execute(daoSessionFactory, true, "update",
+            return transactionExecutor.get(tenantId).execute(daoSessionFactory, false, "update",
                     opContext, shardId, completeTransaction);
         } catch (Exception e) {
             throw new RuntimeException("Error updating entity: " + id, e);
@@ -893,7 +1202,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                 .updater(dao::update).build();
         try {
             return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
-                    true,
+                    false,
                     "update",
                     opContext,
                     shardId);
@@ -940,7 +1249,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                 .updater(dao::update).build();
         try {
             return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
-                    true,
+                    false,
                     "update",
                     opContext,
                     shardId);
@@ -1058,7 +1367,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
 
         try {
             return transactionExecutor.get(tenantId).execute(context.getSessionFactory(),
-                    true,
+                    false,
                     "createOrUpdate",
                     opContext,
                     context.getShardId(), false);
@@ -1093,7 +1402,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
 
         try {
             return transactionExecutor.get(tenantId).execute(context.getSessionFactory(),
-                    true,
+                    false,
                     "createOrUpdate",
                     opContext,
                     context.getShardId(), false);
@@ -1150,7 +1459,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                     .mutator(updater)
                     .updater(dao::update).build();
             return transactionExecutor.get(tenantId)
-                    .<Boolean>execute(dao.sessionFactory, true, "updateAll",
+                    .<Boolean>execute(dao.sessionFactory, false, "updateAll",
                             opContext, shardId);
         } catch (Exception e) {
             throw new RuntimeException("Error updating entity with criteria: " + criteria, e);
@@ -1195,7 +1504,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                     .mutator(updater)
                     .updater(dao::update).build();
             return transactionExecutor.get(tenantId)
-                    .<Boolean>execute(dao.sessionFactory, true, "updateAll",
+                    .<Boolean>execute(dao.sessionFactory, false, "updateAll",
                             opContext, shardId);
         } catch (Exception e) {
             throw new RuntimeException("Error updating entity with criteria: " + querySpec, e);
@@ -1241,7 +1550,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
         int shardId = shardCalculator.shardId(tenantId, parentKey);
         RelationalDaoPriv dao = daos.get(tenantId).get(shardId);
         val opContext = Select.<T, U>builder()
-                .getter(dao::select)
+                .getter(dao::selectDetached)
                 .selectParam(SelectParam.<T>builder()
                         .criteria(criteria)
                         .start(start)
@@ -1288,7 +1597,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
         int shardId = shardCalculator.shardId(tenantId, parentKey);
         RelationalDaoPriv dao = daos.get(tenantId).get(shardId);
         val opContext = Select.<T, U>builder()
-                .getter(dao::select)
+                .getter(dao::selectDetached)
                 .selectParam(SelectParam.<T>builder()
                         .querySpec(querySpec)
                         .start(start)
@@ -1362,7 +1671,9 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
     /**
      * Queries using the specified criteria across all shards and returns the counts of rows
      * satisfying the criteria.
-     * <b>Note:</b> This method runs the query serially and it's usage is not recommended.
+     * <b>Note:</b> Shards are queried concurrently if
+     * {@link ShardingBundleOptions#getScatterGatherParallelism()} is configured for the tenant,
+     * serially otherwise.
      *
      * @param tenantId The tenant ID associated with the entity.
      * @param criteria The select criteria
@@ -1370,31 +1681,170 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
      */
     public List<Long> countScatterGather(final String tenantId, DetachedCriteria criteria) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        return IntStream.range(0, daos.get(tenantId).size())
-                .mapToObj(shardId -> {
+        val fanOutExecutor = fanOutExecutors.get(tenantId);
+        val criteriaSupplier = shardCriteria(fanOutExecutor, criteria);
+        return fanOutExecutor.execute(daos.get(tenantId).size(), shardId -> {
                     val dao = daos.get(tenantId).get(shardId);
                     try {
                         val opContext = Count.builder()
-                                .counter(dao::count).criteria(criteria).build();
+                                .counter(dao::count)
+                                .criteria(criteriaSupplier.get())
+                                .build();
                         return transactionExecutor.get(tenantId).execute(dao.sessionFactory, true,
                                 "countScatterGather", opContext, shardId);
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }).collect(Collectors.toList());
+                });
+    }
+
+    /**
+     * Reads all rows matching the criteria from the shard of the parent key and hands them to the
+     * consumer one by one, on the calling thread. Rows are read over a forward only cursor with the
+     * given JDBC fetch size, and the session is cleared after every batch of rows, so memory use does
+     * not grow with the number of rows read. Entities should not be held on to beyond the consumer call.
+     * <b>Note:</b> Whether rows are actually streamed from the database depends on the driver. For
+     * example MySQL needs useCursorFetch=true (or a fetch size of Integer.MIN_VALUE) and PostgreSQL
+     * needs the read to run in a transaction, i.e. skipReadOnlyTransaction to be off.
+     *
+     * @param tenantId  The tenant ID associated with the entity.
+     * @param parentKey Key that determines the shard to read from.
+     * @param criteria  The select criteria
+     * @param fetchSize JDBC fetch size, also the number of rows after which the session is cleared.
+     *                  Zero leaves the fetch size of the driver alone. Negative values, like
+     *                  Integer.MIN_VALUE for MySQL, are passed to the driver as is. In both cases the
+     *                  session is cleared every 1000 rows
+     * @param consumer  Consumer for the rows
+     * @return Number of rows read
+     */
+    public long forEach(final String tenantId,
+                        final String parentKey,
+                        final DetachedCriteria criteria,
+                        final int fetchSize,
+                        final Consumer<T> consumer) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val shardId = shardCalculator.shardId(tenantId, parentKey);
+        return forEach(tenantId, shardId, ScrollParam.<T>builder()
+                .criteria(criteria)
+                .fetchSize(fetchSize)
+                .build(), consumer);
+    }
+
+    /**
+     * Reads all rows matching the criteria from all shards and hands them to the consumer one by one.
+     * Shards are read one after the other on the calling thread, so the consumer need not be thread
+     * safe. See {@link #forEach(String, String, DetachedCriteria, int, Consumer)} for details.
+     *
+     * @return Number of rows read across all shards
+     */
+    public long forEach(final String tenantId,
+                        final DetachedCriteria criteria,
+                        final int fetchSize,
+                        final Consumer<T> consumer) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return IntStream.range(0, daos.get(tenantId).size())
+                .mapToLong(shardId -> forEach(tenantId, shardId, ScrollParam.<T>builder()
+                        .criteria(criteria)
+                        .fetchSize(fetchSize)
+                        .build(), consumer))
+                .sum();
     }
 
+    /**
+     * Reads all rows matching the query spec from all shards and hands them to the consumer one by
+     * one. See {@link #forEach(String, DetachedCriteria, int, Consumer)} for details.
+     *
+     * @return Number of rows read across all shards
+     */
+    public long forEach(final String tenantId,
+                        final QuerySpec<T, T> querySpec,
+                        final int fetchSize,
+                        final Consumer<T> consumer) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return IntStream.range(0, daos.get(tenantId).size())
+                .mapToLong(shardId -> forEach(tenantId, shardId, ScrollParam.<T>builder()
+                        .querySpec(querySpec)
+                        .fetchSize(fetchSize)
+                        .build(), consumer))
+                .sum();
+    }
+
+    private long forEach(final String tenantId,
+                         final int shardId,
+                         final ScrollParam<T> scrollParam,
+                         final Consumer<T> consumer) {
+        val dao = daos.get(tenantId).get(shardId);
+        val opContext = ForEachWithScroll.<T>builder()
+                .scrollParam(scrollParam)
+                .scroll(dao::scroll)
+                .consumer(consumer)
+                .clearEvery(scrollParam.getFetchSize() > 0 ? scrollParam.getFetchSize() : DEFAULT_FOR_EACH_BATCH_SIZE)
+                .build();
+        return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
+                true,
+                "forEach",
+                opContext,
+                shardId);
+    }
+
+    /**
+     * Computes the aggregation over the rows matching the criteria across all shards. Every shard
+     * computes the aggregates over its own rows (concurrently if scatterGatherParallelism is
+     * configured for the tenant) and only the partial results are merged, grouped by the group by
+     * values. Rows themselves are not pulled from the shards.
+     *
+     * @param tenantId    The tenant ID associated with the entity.
+     * @param criteria    The select criteria. Should not have a projection, it is not modified.
+     * @param aggregation Group by properties and aggregates to be computed
+     * @return A row per group with the merged values of the aggregates
+     */
+    @SuppressWarnings("rawtypes")
+    public List<Aggregation.Row> aggregate(final String tenantId,
+                                           final DetachedCriteria criteria,
+                                           final Aggregation aggregation) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        val fanOutExecutor = fanOutExecutors.get(tenantId);
+        val aggregateCriteria = InternalUtils.cloneObject(criteria)
+                .setProjection(aggregation.projection());
+        val criteriaSupplier = shardCriteria(fanOutExecutor, aggregateCriteria);
+        return aggregation.merge(fanOutExecutor.execute(daos.get(tenantId).size(), shardId -> {
+            val dao = daos.get(tenantId).get(shardId);
+            OpContext<List> opContext = RunWithCriteria.<List>builder()
+                    .detachedCriteria(criteriaSupplier.get())
+                    .handler(dao::run)
+                    .build();
+            return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
+                    true,
+                    "aggregate",
+                    opContext,
+                    shardId);
+        }));
+    }
+
+    /**
+     * Queries using the specified criteria across all shards and returns the result.
+     * <b>Note:</b> Shards are queried concurrently if
+     * {@link ShardingBundleOptions#getScatterGatherParallelism()} is configured for the tenant,
+     * serially otherwise.
+     *
+     * @param tenantId The tenant ID associated with the entity.
+     * @param criteria The select criteria
+     * @param start    The starting index for the query results (pagination).
+     * @param numRows  The number of rows to retrieve in the query results (pagination).
+     * @return A List of type T containing the aggregated query results from all shards.
+     */
     public List<T> scatterGather(final String tenantId, DetachedCriteria criteria, int start,
                                  int numRows) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        return IntStream.range(0, daos.get(tenantId).size())
-                .mapToObj(shardId -> {
+        val fanOutExecutor = fanOutExecutors.get(tenantId);
+        val criteriaSupplier = shardCriteria(fanOutExecutor, criteria);
+        return fanOutExecutor.execute(daos.get(tenantId).size(), shardId -> {
                     val dao = daos.get(tenantId).get(shardId);
                     try {
                         val opContext = Select.<T, List<T>>builder()
-                                .getter(dao::select)
+                                .getter(dao::selectDetached)
                                 .selectParam(SelectParam.<T>builder()
-                                        .criteria(criteria)
+                                        .criteria(criteriaSupplier.get())
                                         .start(start)
                                         .numRows(numRows)
                                         .build())
@@ -1407,12 +1857,78 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }).flatMap(Collection::stream).collect(Collectors.toList());
+                }).stream().flatMap(Collection::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * Async variant of {@link #get(String, String, Object)}. Runs on the async executor of the
+     * tenant, see {@link ShardingBundleOptions#getAsyncParallelism()}.
+     *
+     * @param tenantId  The tenant ID associated with the entity.
+     * @param parentKey The parent key associated with the entity.
+     * @param key       The unique key of the entity.
+     * @return Future that completes with the entity, or fails with the exception thrown by the get
+     */
+    public CompletableFuture<Optional<T>> getAsync(String tenantId, String parentKey, Object key) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId).submit(() -> get(tenantId, parentKey, key));
+    }
+
+    /**
+     * Async variant of {@link #save(String, String, Object)}. Runs on the async executor of the
+     * tenant.
+     *
+     * @param tenantId  The tenant ID associated with the entity.
+     * @param parentKey The parent key associated with the entity.
+     * @param entity    The entity to be saved.
+     * @return Future that completes with the saved entity, or fails with the exception thrown by the
+     * save
+     */
+    public CompletableFuture<Optional<T>> saveAsync(String tenantId, String parentKey, T entity) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId).submit(() -> save(tenantId, parentKey, entity));
+    }
+
+    /**
+     * Async variant of {@link #select(String, String, DetachedCriteria, int, int)}. Runs on the
+     * async executor of the tenant.
+     *
+     * @param tenantId   The tenant ID associated with the entities.
+     * @param parentKey  The parent key that determines the shard to query.
+     * @param criteria   The select criteria
+     * @param start      The starting index for the query results (pagination).
+     * @param numResults The number of rows to retrieve (pagination).
+     * @return Future that completes with the selected entities
+     */
+    public CompletableFuture<List<T>> selectAsync(String tenantId, String parentKey,
+                                                  DetachedCriteria criteria, int start,
+                                                  int numResults) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId)
+                .submit(() -> select(tenantId, parentKey, criteria, start, numResults));
+    }
+
+    /**
+     * Async variant of {@link #scatterGather(String, DetachedCriteria, int, int)}. Runs on the
+     * async executor of the tenant, shards are queried as configured for the synchronous call.
+     *
+     * @param tenantId The tenant ID associated with the entities.
+     * @param criteria The select criteria
+     * @param start    The starting index for the query results (pagination).
+     * @param numRows  The number of rows to retrieve from every shard (pagination).
+     * @return Future that completes with the entities found on all shards
+     */
+    public CompletableFuture<List<T>> scatterGatherAsync(String tenantId, DetachedCriteria criteria,
+                                                         int start, int numRows) {
+        Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
+        return asyncExecutors.get(tenantId)
+                .submit(() -> scatterGather(tenantId, criteria, start, numRows));
     }
 
     /**
-     * Executes a scatter-gather operation across multiple Data Access Objects (DAOs) in a serial
-     * manner
+     * Executes a scatter-gather operation across multiple Data Access Objects (DAOs). Shards are
+     * queried concurrently if scatter-gather parallelism is configured for the tenant, serially
+     * otherwise.
      *
      * @param tenantId  The tenant ID associated with the entity.
      * @param querySpec A QuerySpec object specifying the query to execute.
@@ -1425,12 +1941,11 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
     public List<T> scatterGather(final String tenantId, QuerySpec<T, T> querySpec, int start,
                                  int numRows) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        return IntStream.range(0, daos.get(tenantId).size())
-                .mapToObj(shardId -> {
+        return fanOutExecutors.get(tenantId).execute(daos.get(tenantId).size(), shardId -> {
                     val dao = daos.get(tenantId).get(shardId);
                     try {
                         val opContext = Select.<T, List<T>>builder()
-                                .getter(dao::select)
+                                .getter(dao::selectDetached)
                                 .selectParam(SelectParam.<T>builder()
                                         .querySpec(querySpec)
                                         .start(start)
@@ -1445,50 +1960,129 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
                     } catch (Exception e) {
                         throw new RuntimeException(e);
                     }
-                }).flatMap(Collection::stream).collect(Collectors.toList());
+                }).stream().flatMap(Collection::stream).collect(Collectors.toList());
+    }
+
+    /**
+     * A DetachedCriteria binds itself to the session it is executed on. When shards are queried
+     * concurrently, every shard therefore needs its own copy of the caller's criteria.
+     */
+    private static Supplier<DetachedCriteria> shardCriteria(FanOutExecutor fanOutExecutor,
+                                                            DetachedCriteria criteria) {
+        if (!fanOutExecutor.isParallel()) {
+            return () -> criteria;
+        }
+        return new CriteriaTemplate(criteria)::newCriteria;
     }
 
     protected Field getKeyField() {
         return this.keyField;
     }
 
+    /**
+     * Builds per-shard queries for a criteria based scroll. The caller's criteria is snapshotted
+     * once per page. Shards queried one after the other share a single copy of it, unless every
+     * shard needs its own seek restriction.
+     */
+    private IntFunction<SelectParam.SelectParamBuilder<T>> criteriaScrollQuery(
+            final String tenantId,
+            final DetachedCriteria inCriteria,
+            final ScrollPointer pointer,
+            final UnaryOperator<DetachedCriteria> criteriaMutator,
+            final Function<Serializable, Criterion> seekRestriction) {
+        val template = new CriteriaTemplate(inCriteria);
+        final DetachedCriteria sharedCriteria = pointer.isKeyset() || fanOutExecutors.get(tenantId).isParallel()
+                                                ? null
+                                                : criteriaMutator.apply(template.newCriteria());
+        return shardIdx -> {
+            if (null != sharedCriteria) {
+                return SelectParam.<T>builder().criteria(sharedCriteria);
+            }
+            val criteria = criteriaMutator.apply(template.newCriteria());
+            val lastKey = pointer.isKeyset() ? pointer.getLastKey(shardIdx) : null;
+            if (null != lastKey) {
+                criteria.add(seekRestriction.apply(lastKey));
+            }
+            return SelectParam.<T>builder().criteria(criteria);
+        };
+    }
+
+    /**
+     * Builds per-shard queries for a query spec based scroll. The query is created afresh on every
+     * shard, so nothing needs to be copied.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private IntFunction<SelectParam.SelectParamBuilder<T>> querySpecScrollQuery(
+            final QuerySpec<T, T> querySpec,
+            final ScrollPointer pointer,
+            final String sortFieldName,
+            final boolean ascending) {
+        return shardIdx -> {
+            final Comparable lastKey = pointer.isKeyset() ? (Comparable) pointer.getLastKey(shardIdx) : null;
+            return SelectParam.<T>builder()
+                    .querySpec((queryRoot, query, criteriaBuilder) -> {
+                        querySpec.apply(queryRoot, query, criteriaBuilder);
+                        final var sortPath = queryRoot.<Comparable>get(sortFieldName);
+                        query.orderBy(ascending
+                                      ? criteriaBuilder.asc(sortPath)
+                                      : criteriaBuilder.desc(sortPath));
+                        if (null == lastKey) {
+                            return;
+                        }
+                        final var seek = ascending
+                                         ? criteriaBuilder.greaterThan(sortPath, lastKey)
+                                         : criteriaBuilder.lessThan(sortPath, lastKey);
+                        if (null == query.getRestriction()) {
+                            query.where(seek);
+                        }
+                        else {
+                            query.where(query.getRestriction(), seek);
+                        }
+                    });
+        };
+    }
+
     @SneakyThrows
     private ScrollResult<T> scrollImpl(String tenantId,
-                                       final DetachedCriteria inCriteria,
                                        final ScrollPointer pointer,
                                        final int pageSize,
-                                       final UnaryOperator<DetachedCriteria> criteriaMutator,
+                                       final IntFunction<SelectParam.SelectParamBuilder<T>> shardQuery,
                                        final Comparator<ScrollResultItem<T>> comparator,
+                                       final Field sortField,
                                        String methodName) {
         Preconditions.checkArgument(daos.containsKey(tenantId), "Unknown tenant: " + tenantId);
-        val daoIndex = new AtomicInteger();
-        val results = daos.get(tenantId).stream()
-                .flatMap(dao -> {
-                    val currIdx = daoIndex.getAndIncrement();
-                    val criteria = criteriaMutator.apply(InternalUtils.cloneObject(inCriteria));
-                    val opContext = Select.<T, List<T>>builder()
-                            .getter(dao::select)
-                            .selectParam(SelectParam.<T>builder()
-                                    .criteria(criteria)
-                                    .start(pointer.getCurrOffset(currIdx))
-                                    .numRows(pageSize)
-                                    .build())
-                            .build();
-                    return transactionExecutor.get(tenantId)
-                            .execute(dao.sessionFactory, true,
-                                    methodName, opContext, currIdx)
-                            .stream()
-                            .map(item -> new ScrollResultItem<>(item, currIdx));
-                })
-                .sorted(comparator)
-                .limit(pageSize)
-                .collect(Collectors.toList());
-        //This list will be of _pageSize_ long but max fetched might be _pageSize_ * numShards long
+        val tenantDaos = daos.get(tenantId);
+        final ScrollMerger.ShardPageFetcher<T> fetcher = (shardIdx, start, numRows) -> {
+            val dao = tenantDaos.get(shardIdx);
+            //Keyset queries seek past the last key read from the shard, offsets are only needed for top-ups
+            //within the page
+            val first = pointer.isKeyset()
+                        ? start - pointer.getCurrOffset(shardIdx)
+                        : start;
+            val opContext = Select.<T, List<T>>builder()
+                    .getter(dao::selectDetached)
+                    .selectParam(shardQuery.apply(shardIdx)
+                            .start(first)
+                            .numRows(numRows)
+                            .build())
+                    .build();
+            return transactionExecutor.get(tenantId).execute(dao.sessionFactory,
+                    true, methodName,
+                    opContext, shardIdx);
+        };
+        //Shards are asked only for the rows they are likely to contribute, and topped up during merge
+        val fetchSizes = ScrollMerger.fetchSizes(pointer, tenantDaos.size(), pageSize);
+        val firstPages = fanOutExecutors.get(tenantId).execute(tenantDaos.size(),
+                shardIdx -> fetcher.fetch(shardIdx, pointer.getCurrOffset(shardIdx), fetchSizes[shardIdx]));
+        val results = new ScrollMerger<>(pageSize, comparator, fetcher)
+                .merge(pointer, firstPages, fetchSizes);
         val outputBuilder = ImmutableList.<T>builder();
-        results.forEach(result -> {
+        for (val result : results) {
             outputBuilder.add(result.getData());
-            pointer.advance(result.getShardIdx(), 1);// will get advanced
-        });
+            if (pointer.isKeyset()) {
+                pointer.seek(result.getShardIdx(), (Serializable) sortField.get(result.getData()));
+            }
+        }
         return new ScrollResult<>(pointer, outputBuilder.build());
     }
 
@@ -1726,6 +2320,7 @@ public class MultiTenantRelationalDao<T> implements ShardedDao<T> {
             this.executionContext = TransactionExecutionContext.builder()
                     .commandName("execute")
                     .shardName(shardName)
+                    .tenantId(tenantId)
                     .daoType(daoType)
                     .entityClass(entityClass)
                     .opContext(opContext)
@@ -17,6 +17,7 @@
 
 package io.appform.dropwizard.sharding.dao;
 
+import io.appform.dropwizard.sharding.query.Aggregation;
 import io.appform.dropwizard.sharding.query.QuerySpec;
 import io.appform.dropwizard.sharding.scroll.ScrollPointer;
 import io.appform.dropwizard.sharding.scroll.ScrollResult;
@@ -35,6 +36,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
@@ -134,6 +136,18 @@ public class RelationalDao<T> implements ShardedDao<T> {
         return delegate.saveAll(tenantId, parentKey, entities);
     }
 
+    /**
+     * Saves a collection of entities that may belong to different parents. Every entity is routed to
+     * its shard using its field annotated with {@link io.appform.dropwizard.sharding.sharding.ShardingKey},
+     * and entities for a shard are saved in a single transaction on that shard.
+     *
+     * @param entities The collection of entities to be saved.
+     * @return Outcome of the save for every shard that entities were routed to, ordered by shard id.
+     */
+    public List<ShardSaveResult> saveAll(Collection<T> entities) {
+        return delegate.saveAll(tenantId, entities);
+    }
+
     public Optional<T> createOrUpdate(
             final String parentKey,
             final DetachedCriteria selectionCriteria,
@@ -256,7 +270,8 @@ public class RelationalDao<T> implements ShardedDao<T> {
      * - Pointer returned can be used to _only_ scroll down
      *
      * @param inCriteria    The core criteria for the query
-     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session. An empty
+     *                      pointer in {@link ScrollPointer.Mode#KEYSET} mode starts a keyset (seek) scroll.
      * @param pageSize      Count of records per shard
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
      * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results with
@@ -283,7 +298,8 @@ public class RelationalDao<T> implements ShardedDao<T> {
      * - Pointer returned can be used to _only_ scroll up
      *
      * @param inCriteria    The core criteria for the query
-     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session. An empty
+     *                      pointer in {@link ScrollPointer.Mode#KEYSET} mode starts a keyset (seek) scroll.
      * @param pageSize      Count of records per shard
      * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
      * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results with
@@ -298,6 +314,44 @@ public class RelationalDao<T> implements ShardedDao<T> {
         return delegate.scrollUp(tenantId, inCriteria, inPointer, pageSize, sortFieldName);
     }
 
+    /**
+     * Scrolls down across shards with the filter provided as a {@link QuerySpec}.
+     * See {@link #scrollDown(DetachedCriteria, ScrollPointer, int, String)} for details. Any ordering set by the
+     * query spec is replaced by ordering on 'sortFieldName'.
+     *
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param pageSize      Page size of scroll result
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results
+     */
+    public ScrollResult<T> scrollDown(
+            final QuerySpec<T, T> querySpec,
+            final ScrollPointer inPointer,
+            final int pageSize,
+            @NonNull final String sortFieldName) {
+        return delegate.scrollDown(tenantId, querySpec, inPointer, pageSize, sortFieldName);
+    }
+
+    /**
+     * Scrolls up across shards with the filter provided as a {@link QuerySpec}.
+     * See {@link #scrollUp(DetachedCriteria, ScrollPointer, int, String)} for details. Any ordering set by the
+     * query spec is replaced by ordering on 'sortFieldName'.
+     *
+     * @param querySpec     The core query spec for the query
+     * @param inPointer     Existing {@link ScrollPointer}, should be null at start of a scroll session
+     * @param pageSize      Count of records per shard
+     * @param sortFieldName Field to sort by. For correct sorting, the field needs to be an ever-increasing one
+     * @return A {@link ScrollResult} object that contains a {@link ScrollPointer} and a list of results
+     */
+    public ScrollResult<T> scrollUp(
+            final QuerySpec<T, T> querySpec,
+            final ScrollPointer inPointer,
+            final int pageSize,
+            @NonNull final String sortFieldName) {
+        return delegate.scrollUp(tenantId, querySpec, inPointer, pageSize, sortFieldName);
+    }
+
     <U> List<T> select(RelationalDao.ReadOnlyContext<U> context, DetachedCriteria criteria, int first, int numResults) {
         return delegate.select(context.getDelegate(), criteria, first, numResults);
     }
@@ -600,10 +654,52 @@ public class RelationalDao<T> implements ShardedDao<T> {
         return delegate.countScatterGather(tenantId, criteria);
     }
 
+    /**
+     * Computes the aggregation over the entities matching the criteria across all shards. Only the
+     * per shard aggregates are read from the shards and merged.
+     *
+     * @param criteria    The select criteria
+     * @param aggregation Group by properties and aggregates to be computed
+     * @return A row per group with the merged values of the aggregates
+     */
+    public List<Aggregation.Row> aggregate(DetachedCriteria criteria, Aggregation aggregation) {
+        return delegate.aggregate(tenantId, criteria, aggregation);
+    }
+
     public List<T> scatterGather(DetachedCriteria criteria, int start, int numRows) {
         return delegate.scatterGather(tenantId, criteria, start, numRows);
     }
 
+    /**
+     * Async variant of {@link #get(String, Object)}, see
+     * {@link MultiTenantRelationalDao#getAsync(String, String, Object)}.
+     */
+    public CompletableFuture<Optional<T>> getAsync(String parentKey, Object key) {
+        return delegate.getAsync(tenantId, parentKey, key);
+    }
+
+    /**
+     * Async variant of {@link #save(String, Object)}.
+     */
+    public CompletableFuture<Optional<T>> saveAsync(String parentKey, T entity) {
+        return delegate.saveAsync(tenantId, parentKey, entity);
+    }
+
+    /**
+     * Async variant of {@link #select(String, DetachedCriteria, int, int)}.
+     */
+    public CompletableFuture<List<T>> selectAsync(String parentKey, DetachedCriteria criteria, int start,
+                                                  int numResults) {
+        return delegate.selectAsync(tenantId, parentKey, criteria, start, numResults);
+    }
+
+    /**
+     * Async variant of {@link #scatterGather(DetachedCriteria, int, int)}.
+     */
+    public CompletableFuture<List<T>> scatterGatherAsync(DetachedCriteria criteria, int start, int numRows) {
+        return delegate.scatterGatherAsync(tenantId, criteria, start, numRows);
+    }
+
     /**
      * Executes a scatter-gather operation across multiple Data Access Objects (DAOs) in a serial manner
      *
@@ -619,6 +715,36 @@ public class RelationalDao<T> implements ShardedDao<T> {
         return delegate.scatterGather(tenantId, querySpec, start, numRows);
     }
 
+    /**
+     * Hands all rows matching the criteria on the shard of the parent key to the consumer, one by one,
+     * without loading them all in memory.
+     *
+     * @see MultiTenantRelationalDao#forEach(String, String, DetachedCriteria, int, Consumer)
+     */
+    public long forEach(String parentKey, DetachedCriteria criteria, int fetchSize, Consumer<T> consumer) {
+        return delegate.forEach(tenantId, parentKey, criteria, fetchSize, consumer);
+    }
+
+    /**
+     * Hands all rows matching the criteria on all shards to the consumer, one by one, without loading
+     * them all in memory.
+     *
+     * @see MultiTenantRelationalDao#forEach(String, DetachedCriteria, int, Consumer)
+     */
+    public long forEach(DetachedCriteria criteria, int fetchSize, Consumer<T> consumer) {
+        return delegate.forEach(tenantId, criteria, fetchSize, consumer);
+    }
+
+    /**
+     * Hands all rows matching the query spec on all shards to the consumer, one by one, without
+     * loading them all in memory.
+     *
+     * @see MultiTenantRelationalDao#forEach(String, QuerySpec, int, Consumer)
+     */
+    public long forEach(QuerySpec<T, T> querySpec, int fetchSize, Consumer<T> consumer) {
+        return delegate.forEach(tenantId, querySpec, fetchSize, consumer);
+    }
+
     protected Field getKeyField() {
         return delegate.getKeyField();
     }
@@ -0,0 +1,24 @@
+package io.appform.dropwizard.sharding.dao;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Outcome of the part of a bulk save that was written to a single shard.
+ */
+@Value
+@Builder
+public class ShardSaveResult {
+
+    int shardId;
+
+    int numEntities;
+
+    boolean success;
+
+    /**
+     * Cause of the failure. Null if the save was successful.
+     */
+    Exception error;
+
+}
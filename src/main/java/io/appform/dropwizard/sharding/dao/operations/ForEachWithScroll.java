@@ -0,0 +1,56 @@
+package io.appform.dropwizard.sharding.dao.operations;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NonNull;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Get entities by criteria over scroll and hand them to a consumer one by one. The session is cleared
+ * every {@code clearEvery} rows, so memory use does not grow with the number of rows read. Entities
+ * handed to the consumer should not be held on to beyond the call.
+ *
+ * @param <T> Type of entity being read.
+ */
+@Data
+@Builder
+public class ForEachWithScroll<T> extends OpContext<Long> {
+
+  @NonNull
+  private ScrollParam<T> scrollParam;
+  @NonNull
+  private Function<ScrollParam<T>, ScrollableResults> scroll;
+  @NonNull
+  private Consumer<T> consumer;
+  private int clearEvery;
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Long apply(Session session) {
+    long numRows = 0;
+    try (ScrollableResults scrollableResults = scroll.apply(scrollParam)) {
+      while (scrollableResults.next()) {
+        consumer.accept((T) scrollableResults.get(0));
+        numRows++;
+        if (clearEvery > 0 && numRows % clearEvery == 0) {
+          session.clear();
+        }
+      }
+    }
+    return numRows;
+  }
+
+  @Override
+  public OpType getOpType() {
+    return OpType.FOR_EACH_WITH_SCROLL;
+  }
+
+  @Override
+  public <R> R visit(OpContextVisitor<R> visitor) {
+    return visitor.visit(this);
+  }
+}
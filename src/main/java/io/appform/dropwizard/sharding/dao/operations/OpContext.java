@@ -49,6 +49,8 @@ public abstract class OpContext<T> implements Function<Session, T> {
 
     <T> P visit(UpdateWithScroll<T> opContext);
 
+    <T> P visit(ForEachWithScroll<T> opContext);
+
     <T> P visit(UpdateAll<T> opContext);
 
     <T> P visit(SelectAndUpdate<T> opContext);
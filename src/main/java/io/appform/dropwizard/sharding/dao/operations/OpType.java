@@ -10,6 +10,7 @@ public enum OpType {
   GET_BY_LOOKUP_KEY,
   READ_ONLY_FOR_LOOKUP_DAO,
   READ_ONLY_FOR_RELATIONAL_DAO,
+  FOR_EACH_WITH_SCROLL,
   // Write operations
   LOCK_AND_EXECUTE,
   CREATE_OR_UPDATE_BY_LOOKUP_KEY,
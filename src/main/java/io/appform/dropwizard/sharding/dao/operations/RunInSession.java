@@ -21,6 +21,11 @@ public class RunInSession<T> extends OpContext<T> {
   @NonNull
   private Function<Session, T> handler;
 
+  /**
+   * Lookup key of the entity the action is run for, null if the action is not tied to an entity.
+   */
+  private String lookupKey;
+
   @Override
   public T apply(Session session) {
     return handler.apply(session);
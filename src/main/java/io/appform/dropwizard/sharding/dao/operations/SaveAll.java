@@ -22,6 +22,11 @@ public class SaveAll<T> extends OpContext<Boolean> {
   @NonNull
   private Function<Collection<T>, Boolean> saver;
 
+  /**
+   * Number of entities written per JDBC batch. Zero or less if the save is not batched.
+   */
+  private int batchSize;
+
 
   @Override
   public Boolean apply(Session session) {
@@ -11,12 +11,21 @@ public class ScrollParam<T> {
 
   public DetachedCriteria criteria;
   public QuerySpec<T, T> querySpec;
+  /**
+   * JDBC fetch size for the scroll. Zero or less leaves it to the driver.
+   */
+  public int fetchSize;
 
-  @Builder
   public ScrollParam(DetachedCriteria criteria, QuerySpec<T, T> querySpec) {
+    this(criteria, querySpec, 0);
+  }
+
+  @Builder
+  public ScrollParam(DetachedCriteria criteria, QuerySpec<T, T> querySpec, int fetchSize) {
     Preconditions.checkArgument(criteria != null || querySpec != null);
     this.criteria = criteria;
     this.querySpec = querySpec;
+    this.fetchSize = fetchSize;
   }
 
 }
\ No newline at end of file
@@ -37,7 +37,12 @@ public class GetAndUpdateByLookupKey<T> extends OpContext<Boolean> {
     if (null == newEntity) {
       return false;
     }
-    updater.accept(entity);
+    if (null != entity && entity != newEntity) {
+      //The loaded entity is still attached to the session, updating another instance with the same
+      //id would clash with it
+      session.evict(entity);
+    }
+    updater.accept(newEntity);
     return true;
   }
 
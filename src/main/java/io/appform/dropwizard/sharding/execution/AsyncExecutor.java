@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.execution;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs dao calls off the calling thread for the async variants of the dao methods.
+ * <p>
+ * At most the configured parallelism number of calls run at the same time, up to queueSize (1000
+ * if not set) more wait for a thread, and calls beyond that fail fast with a {@link RejectedExecutionException}
+ * instead of piling up. Calls run the regular dao methods, so transactions, observers, filters and
+ * listeners behave the same as for synchronous calls. Worker threads are daemon threads and are
+ * reclaimed when idle. A parallelism of zero or less runs calls on the calling thread and returns
+ * completed futures.
+ * <p>
+ * In virtual thread mode every call gets its own virtual thread, with the same bounds on the number
+ * of calls running and waiting.
+ */
+@Slf4j
+public class AsyncExecutor {
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+    private static final int DEFAULT_QUEUE_SIZE = 1_000;
+
+    @Getter
+    private final int parallelism;
+    private final ExecutorService threads;
+    private final Executor executor;
+
+    public AsyncExecutor(final String name, final int parallelism, final int queueSize) {
+        this(name, parallelism, queueSize, false);
+    }
+
+    public AsyncExecutor(final String name,
+                         final int parallelism,
+                         final int queueSize,
+                         final boolean virtualThreads) {
+        this.parallelism = Math.max(0, parallelism);
+        if (this.parallelism == 0) {
+            this.threads = null;
+            this.executor = null;
+            return;
+        }
+        val maxQueued = queueSize > 0 ? queueSize : DEFAULT_QUEUE_SIZE;
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            this.threads = VirtualThreads.newExecutor(name + "-async");
+            this.executor = bounded(this.threads, this.parallelism, maxQueued);
+            return;
+        }
+        val threadPoolExecutor = new ThreadPoolExecutor(this.parallelism,
+                this.parallelism,
+                IDLE_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(maxQueued),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(name + "-async-%d")
+                        .setDaemon(true)
+                        .build());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.threads = threadPoolExecutor;
+        this.executor = threadPoolExecutor;
+    }
+
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    /**
+     * Stops taking new calls. Calls already submitted still run, calls submitted afterwards fail
+     * with a {@link RejectedExecutionException}.
+     */
+    public void shutdown() {
+        if (null != threads) {
+            threads.shutdown();
+        }
+    }
+
+    /**
+     * Runs the call asynchronously.
+     *
+     * @param call Dao call to be run
+     * @param <R>  Return type of the call
+     * @return Future that completes with the result of the call. If the call throws, the future
+     * completes exceptionally with the thrown exception as cause. If there is no capacity left to
+     * run the call, the future fails with a {@link RejectedExecutionException}.
+     */
+    public <R> CompletableFuture<R> submit(Callable<R> call) {
+        if (!isAsync()) {
+            try {
+                return CompletableFuture.completedFuture(call.call());
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Rejecting async dao call as all {} threads and the queue are busy", parallelism);
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Executor bounded(final Executor delegate, final int maxRunning, final int maxQueued) {
+        val running = new Semaphore(maxRunning);
+        val admitted = new Semaphore(maxRunning + maxQueued);
+        return task -> {
+            if (!admitted.tryAcquire()) {
+                throw new RejectedExecutionException("Too many async dao calls in flight");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        //Waiting parks the virtual thread, it does not hold up a carrier
+                        running.acquireUninterruptibly();
+                        try {
+                            task.run();
+                        } finally {
+                            running.release();
+                        }
+                    } finally {
+                        admitted.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                admitted.release();
+                throw e;
+            }
+        };
+    }
+}
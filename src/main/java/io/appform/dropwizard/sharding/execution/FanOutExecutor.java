@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.execution;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a per-shard task on a set of shards, concurrently if so configured.
+ * <p>
+ * The number of shards being worked upon at the same time is bounded by the configured
+ * parallelism. Once all workers are busy, the calling thread runs the next shard itself, so the
+ * executor never queues work and never deadlocks when it is invoked from one of its own threads.
+ * Worker threads are daemon threads and are reclaimed when idle. A parallelism of one or less
+ * keeps the legacy behaviour of running all shards serially on the calling thread.
+ * <p>
+ * In virtual thread mode every shard task runs on its own virtual thread instead, still bounded by
+ * the parallelism, with the calling thread picking up the overflow the same way.
+ */
+@Slf4j
+public class FanOutExecutor {
+    private static final long IDLE_TIMEOUT_SECONDS = 60;
+
+    @Getter
+    private final int parallelism;
+    private final ExecutorService threads;
+    private final Executor executor;
+
+    public FanOutExecutor(final String name, final int parallelism) {
+        this(name, parallelism, false);
+    }
+
+    public FanOutExecutor(final String name, final int parallelism, final boolean virtualThreads) {
+        this.parallelism = Math.max(1, parallelism);
+        if (this.parallelism == 1) {
+            this.threads = null;
+            this.executor = null;
+            return;
+        }
+        if (virtualThreads && VirtualThreads.isSupported()) {
+            this.threads = VirtualThreads.newExecutor(name + "-fanout");
+            this.executor = callerRunsWhenBusy(this.threads, this.parallelism);
+            return;
+        }
+        val threadPoolExecutor = new ThreadPoolExecutor(this.parallelism,
+                this.parallelism,
+                IDLE_TIMEOUT_SECONDS,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(name + "-fanout-%d")
+                        .setDaemon(true)
+                        .build(),
+                (task, pool) -> task.run());
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        this.threads = threadPoolExecutor;
+        this.executor = threadPoolExecutor;
+    }
+
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    /**
+     * Stops the worker threads once the shard tasks already running are done. Shard tasks submitted
+     * afterwards run on the calling thread.
+     */
+    public void shutdown() {
+        if (null != threads) {
+            threads.shutdown();
+        }
+    }
+
+    /**
+     * Runs the given task for every shard id in [0, numShards) and returns the results ordered by
+     * shard id.
+     *
+     * @param numShards Number of shards to fan out to
+     * @param shardTask Task to be run for every shard, receives the shard id
+     * @param <R>       Return type of the per-shard task
+     * @return Results of the per-shard task, in shard order
+     * @throws RuntimeException If the task failed for any shard. Exceptions thrown by the task are
+     *                          propagated as-is if they are unchecked.
+     */
+    public <R> List<R> execute(int numShards, IntFunction<R> shardTask) {
+        if (!isParallel() || numShards <= 1) {
+            return IntStream.range(0, numShards)
+                    .mapToObj(shardTask)
+                    .collect(Collectors.toList());
+        }
+        val futures = IntStream.range(0, numShards)
+                .mapToObj(shardId -> CompletableFuture.supplyAsync(() -> shardTask.apply(shardId),
+                                                                   executor))
+                .collect(Collectors.toList());
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            val cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    private static Executor callerRunsWhenBusy(final Executor delegate, final int maxConcurrency) {
+        val permits = new Semaphore(maxConcurrency);
+        return task -> {
+            if (!permits.tryAcquire()) {
+                task.run();
+                return;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                //Shut down
+                permits.release();
+                task.run();
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        };
+    }
+}
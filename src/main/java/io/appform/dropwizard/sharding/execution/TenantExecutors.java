@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.execution;
+
+import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
+import io.dropwizard.lifecycle.Managed;
+import lombok.Getter;
+import lombok.val;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Threads used by the daos of a tenant to work on its shards. The bundle creates one per tenant,
+ * shares it between all daos of the tenant and stops it with the application.
+ */
+@Getter
+public class TenantExecutors implements Managed {
+    private final FanOutExecutor fanOutExecutor;
+    private final AsyncExecutor asyncExecutor;
+
+    public TenantExecutors(final String name, final ShardingBundleOptions shardingOptions) {
+        this.fanOutExecutor = new FanOutExecutor(name,
+                shardingOptions.getScatterGatherParallelism(),
+                shardingOptions.isVirtualThreads());
+        this.asyncExecutor = new AsyncExecutor(name,
+                shardingOptions.getAsyncParallelism(),
+                shardingOptions.getAsyncQueueSize(),
+                shardingOptions.isVirtualThreads());
+    }
+
+    /**
+     * Executors for a dao created outside the bundle, one per tenant. Nothing stops these, their
+     * threads are daemon threads and are reclaimed when idle.
+     */
+    public static Map<String, TenantExecutors> forDao(final Class<?> entityClass,
+                                                      final Set<String> tenants,
+                                                      final Map<String, ShardingBundleOptions> shardingOptions) {
+        final Map<String, TenantExecutors> executors = new HashMap<>();
+        for (val tenantId : tenants) {
+            val tenantOptions = Optional.ofNullable(shardingOptions.get(tenantId))
+                    .orElseGet(ShardingBundleOptions::new);
+            executors.put(tenantId, new TenantExecutors(tenantId + "." + entityClass.getSimpleName(), tenantOptions));
+        }
+        return executors;
+    }
+
+    @Override
+    public void start() {
+        //Threads are started on demand
+    }
+
+    @Override
+    public void stop() {
+        asyncExecutor.shutdown();
+        fanOutExecutor.shutdown();
+    }
+}
@@ -11,9 +11,15 @@ import lombok.Value;
 public class TransactionExecutionContext {
     @NonNull String commandName; // method or command name that gets executed across shards. Ex. ScatterGather.
     @NonNull String shardName;
+    String tenantId; // tenant the shard belongs to, null if not known
     @NonNull DaoType daoType;
     @NonNull Class<?> entityClass;
     @NonNull OpContext<?> opContext;
+    /**
+     * Time spent in each phase of the transaction, filled in as the transaction progresses. Null if
+     * the phases are not tracked for the operation.
+     */
+    TransactionPhases phases;
 
     /**
      * @deprecated Field lockedContextMode got removed with the introduction of opcontext.
@@ -33,15 +33,30 @@ public class TransactionExecutor {
     private final Class<?> entityClass;
     private final ShardInfoProvider shardInfoProvider;
     private final TransactionObserver observer;
+    private final boolean skipReadOnlyTransaction;
 
     public TransactionExecutor(final ShardInfoProvider shardInfoProvider,
                                final DaoType daoType,
                                final Class<?> entityClass,
                                final TransactionObserver observer) {
+        this(shardInfoProvider, daoType, entityClass, observer, false);
+    }
+
+    /**
+     * @param skipReadOnlyTransaction Run read only operations without a transaction, i.e. without
+     *                                BEGIN and COMMIT round trips. Statements run in the autocommit
+     *                                mode of the pooled connection.
+     */
+    public TransactionExecutor(final ShardInfoProvider shardInfoProvider,
+                               final DaoType daoType,
+                               final Class<?> entityClass,
+                               final TransactionObserver observer,
+                               final boolean skipReadOnlyTransaction) {
         this.daoType = daoType;
         this.entityClass = entityClass;
         this.shardInfoProvider = shardInfoProvider;
         this.observer = observer;
+        this.skipReadOnlyTransaction = skipReadOnlyTransaction;
     }
 
     public <T> T execute(SessionFactory sessionFactory,
@@ -58,20 +73,33 @@ public class TransactionExecutor {
         OpContext<T> opContext,
         int shardId,
         boolean completeTransaction) {
-        val context = TransactionExecutionContext.builder()
-            .commandName(commandName)
-            .daoType(daoType)
-            .entityClass(entityClass)
-            .shardName(shardInfoProvider.shardName(shardId))
-            .opContext(opContext)
-            .build();
+        //Phases are tracked only for operations that run their own transaction
+        val phases = completeTransaction ? new TransactionPhases() : null;
+        val context = new TransactionExecutionContext(commandName,
+                shardInfoProvider.shardName(shardId),
+                shardInfoProvider.getNamespace(),
+                daoType,
+                entityClass,
+                opContext,
+                phases);
         return observer.execute(context, () -> {
-            val transactionHandler = new TransactionHandler(sessionFactory, readOnly);
+            val transactionHandler = new TransactionHandler(sessionFactory, readOnly,
+                    readOnly && skipReadOnlyTransaction, phases);
             if (completeTransaction) {
                 transactionHandler.beforeStart();
             }
             try {
-                T result = opContext.apply(transactionHandler.getSession());
+                final T result;
+                if (null == phases) {
+                    result = opContext.apply(transactionHandler.getSession());
+                } else {
+                    val start = phases.clock();
+                    try {
+                        result = opContext.apply(transactionHandler.getSession());
+                    } finally {
+                        phases.addExecute(start);
+                    }
+                }
                 if (completeTransaction) {
                     transactionHandler.afterEnd();
                 }
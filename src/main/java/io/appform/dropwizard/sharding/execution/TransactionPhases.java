@@ -0,0 +1,96 @@
+package io.appform.dropwizard.sharding.execution;
+
+import lombok.Getter;
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Time spent by a transaction in each of its phases, in nanoseconds. Registered on the session of the
+ * transaction to find out the time spent acquiring the jdbc connection and flushing. The phases do
+ * not overlap: a connection acquired or a flush done while beginning, executing or committing is
+ * accounted for in {@link #getConnectionAcquireNanos()} or {@link #getFlushNanos()} only. Phases
+ * that did not run, like begin and commit for a transaction that is skipped, are flagged as such.
+ */
+public class TransactionPhases extends BaseSessionEventListener {
+    private static final long serialVersionUID = 1L;
+
+    @Getter
+    private long connectionAcquireNanos;
+    @Getter
+    private long beginNanos;
+    @Getter
+    private long executeNanos;
+    @Getter
+    private long flushNanos;
+    @Getter
+    private long commitNanos;
+
+    @Getter
+    private boolean connectionAcquired;
+    @Getter
+    private boolean begun;
+    @Getter
+    private boolean executed;
+    @Getter
+    private boolean flushed;
+    @Getter
+    private boolean committed;
+
+    private long connectionAcquireStart;
+    private long flushStart;
+
+    /**
+     * @return A reading to be passed to the add methods once the phase is over. Advances only while
+     * the transaction is not acquiring a connection or flushing.
+     */
+    public long clock() {
+        return System.nanoTime() - connectionAcquireNanos - flushNanos;
+    }
+
+    public void addBegin(long since) {
+        beginNanos += clock() - since;
+        begun = true;
+    }
+
+    public void addExecute(long since) {
+        executeNanos += clock() - since;
+        executed = true;
+    }
+
+    public void addCommit(long since) {
+        commitNanos += clock() - since;
+        committed = true;
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionAcquireStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        connectionAcquireNanos += System.nanoTime() - connectionAcquireStart;
+        connectionAcquired = true;
+    }
+
+    @Override
+    public void flushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushNanos += System.nanoTime() - flushStart;
+        flushed = true;
+    }
+
+    @Override
+    public void partialFlushStart() {
+        flushStart = System.nanoTime();
+    }
+
+    @Override
+    public void partialFlushEnd(int numberOfEntities, int numberOfCollections) {
+        flushNanos += System.nanoTime() - flushStart;
+        flushed = true;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.execution;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Access to virtual threads (JDK 21+) for the virtual thread execution mode, see
+ * {@link io.appform.dropwizard.sharding.config.ShardingBundleOptions#isVirtualThreads()}.
+ * <p>
+ * The bundle is built for JDK 11, so virtual threads are looked up reflectively once. On older
+ * runtimes {@link #isSupported()} is false and callers keep using platform threads.
+ * <p>
+ * Work done in this library is virtual thread friendly: sessions are bound to the running thread
+ * through {@link org.hibernate.context.internal.ManagedSessionContext} for the duration of a
+ * transaction only, and bounds are enforced with {@link java.util.concurrent.Semaphore}s, which do
+ * not pin. Blocking inside a {@code synchronized} block does pin the carrier thread though, and
+ * older JDBC drivers and connection pools do that around socket I/O. Run with
+ * {@code -Djdk.tracePinnedThreads=short} (or watch the {@code jdk.VirtualThreadPinned} JFR event)
+ * to find such hazards.
+ */
+@Slf4j
+@UtilityClass
+public class VirtualThreads {
+    private static final int MIN_JAVA_VERSION = 21;
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method THREAD_PER_TASK_EXECUTOR;
+    private static final AtomicBoolean PINNING_WARNING_LOGGED = new AtomicBoolean();
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        Method threadPerTaskExecutor = null;
+        //Preview releases have the api but fail at runtime unless preview features are enabled
+        if (Runtime.version().feature() >= MIN_JAVA_VERSION) {
+            try {
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                name = Class.forName("java.lang.Thread$Builder$OfVirtual")
+                        .getMethod("name", String.class, long.class);
+                factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+                threadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            } catch (ReflectiveOperationException e) {
+                log.warn("Virtual threads are not available on {}", Runtime.version(), e);
+                ofVirtual = null;
+            }
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        THREAD_PER_TASK_EXECUTOR = threadPerTaskExecutor;
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates an executor that runs every task on a new virtual thread named {@code <name>-<n>}.
+     * The executor is unbounded, callers are expected to bound concurrency themselves.
+     *
+     * @throws UnsupportedOperationException If the runtime does not support virtual threads
+     */
+    public static ExecutorService newExecutor(String name) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads need JDK " + MIN_JAVA_VERSION
+                                                            + " or later, running on " + Runtime.version());
+        }
+        warnAboutPinning();
+        try {
+            val builder = NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 0L);
+            val threadFactory = (ThreadFactory) FACTORY.invoke(builder);
+            return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread executor " + name, e);
+        }
+    }
+
+    private static void warnAboutPinning() {
+        if (null == System.getProperty("jdk.tracePinnedThreads")
+                && PINNING_WARNING_LOGGED.compareAndSet(false, true)) {
+            log.warn("Running shard I/O on virtual threads. JDBC drivers or pools that block inside synchronized " +
+                             "blocks pin carrier threads, run with -Djdk.tracePinnedThreads=short to find them");
+        }
+    }
+}
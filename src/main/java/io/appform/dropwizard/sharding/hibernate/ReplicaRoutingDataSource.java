@@ -0,0 +1,173 @@
+package io.appform.dropwizard.sharding.hibernate;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.db.ManagedDataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Data source for a shard that has read replicas. Connections taken for read only transactions are
+ * handed out by the replicas (round-robin), everything else goes to the primary.
+ * <p>
+ * The kind of transaction is set for the current thread through {@link #setReadOnly(Boolean)}, which
+ * is done by {@link io.appform.dropwizard.sharding.utils.TransactionHandler}. Connections taken
+ * outside a transaction handler (health checks etc.) always come from the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource implements ManagedDataSource {
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    private final String name;
+    @Getter
+    private final ManagedDataSource primary;
+    @Getter
+    private final List<ManagedDataSource> replicas;
+    private final long readAfterWriteWindowMs;
+    private final boolean fallbackToPrimary;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile long lastWriteTime;
+
+    /**
+     * @param name                   Name of the shard, used for logging
+     * @param primary                Data source for the primary of the shard
+     * @param replicas               Data sources for the replicas of the shard
+     * @param readAfterWriteWindowMs Reads go to the primary for this long after a read-write
+     *                               transaction is started on the shard. Zero or less disables this.
+     * @param fallbackToPrimary      Use the primary for reads if none of the replicas can be connected to
+     */
+    public ReplicaRoutingDataSource(final String name,
+                                    final ManagedDataSource primary,
+                                    final List<ManagedDataSource> replicas,
+                                    final long readAfterWriteWindowMs,
+                                    final boolean fallbackToPrimary) {
+        Preconditions.checkArgument(!replicas.isEmpty(), "No replicas provided for " + name);
+        this.name = name;
+        this.primary = primary;
+        this.replicas = ImmutableList.copyOf(replicas);
+        this.readAfterWriteWindowMs = readAfterWriteWindowMs;
+        this.fallbackToPrimary = fallbackToPrimary;
+    }
+
+    /**
+     * Marks transactions started on the current thread as read only or read-write.
+     *
+     * @param readOnly true for read only, false for read-write and null to clear
+     * @return The previous value, to be restored once the transaction is over
+     */
+    public static Boolean setReadOnly(final Boolean readOnly) {
+        final Boolean previous = READ_ONLY.get();
+        if (null == readOnly) {
+            READ_ONLY.remove();
+        } else {
+            READ_ONLY.set(readOnly);
+        }
+        return previous;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        final Boolean readOnly = READ_ONLY.get();
+        if (null == readOnly) {
+            return primary.getConnection();
+        }
+        if (!readOnly) {
+            lastWriteTime = System.currentTimeMillis();
+            return primary.getConnection();
+        }
+        if (readAfterWriteWindowMs > 0 && System.currentTimeMillis() - lastWriteTime < readAfterWriteWindowMs) {
+            return primary.getConnection();
+        }
+        return replicaConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+        for (ManagedDataSource replica : replicas) {
+            replica.setLogWriter(out);
+        }
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+        for (ManagedDataSource replica : replicas) {
+            replica.setLoginTimeout(seconds);
+        }
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return primary.isWrapperFor(iface);
+    }
+
+    @Override
+    public void start() throws Exception {
+        primary.start();
+        for (ManagedDataSource replica : replicas) {
+            replica.start();
+        }
+    }
+
+    @Override
+    public void stop() throws Exception {
+        for (ManagedDataSource replica : replicas) {
+            replica.stop();
+        }
+        primary.stop();
+    }
+
+    private Connection replicaConnection() throws SQLException {
+        final int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        SQLException failure = null;
+        for (int i = 0; i < replicas.size(); i++) {
+            final int replica = (start + i) % replicas.size();
+            try {
+                return replicas.get(replica).getConnection();
+            } catch (SQLException e) {
+                log.warn("Could not connect to replica {} of {}: {}", replica, name, e.getMessage());
+                failure = e;
+            }
+        }
+        if (fallbackToPrimary) {
+            log.warn("No replica of {} is reachable, reading from primary", name);
+            return primary.getConnection();
+        }
+        throw failure;
+    }
+}
@@ -18,6 +18,8 @@ import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.service.ServiceRegistry;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
@@ -46,9 +48,40 @@ public abstract class SessionFactoryFactory<T> implements DatabaseConfiguration<
         return DEFAULT_NAME;
     }
 
+    /**
+     * JDBC batch size to be configured on the session factory. Zero or less leaves it unset.
+     * Can still be overridden through the database properties.
+     */
+    protected int jdbcBatchSize() {
+        return 0;
+    }
+
+    /**
+     * Read replicas of the database. Read only transactions are run on them when present.
+     */
+    protected List<? extends PooledDataSourceFactory> getReplicaDataSourceFactories(T configuration) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Duration in milliseconds for which reads go to the primary after a read-write transaction is
+     * started. Only used if there are replicas.
+     */
+    protected long replicaReadAfterWriteWindowMs() {
+        return 0;
+    }
+
+    /**
+     * Whether reads go to the primary when none of the replicas can be connected to. Only used if
+     * there are replicas.
+     */
+    protected boolean replicaFallbackToPrimary() {
+        return true;
+    }
+
     public SessionFactorySource build(T configuration, Environment environment) throws Exception {
         final PooledDataSourceFactory dbConfig = getDataSourceFactory(configuration);
-        final ManagedDataSource dataSource = dbConfig.build(environment.metrics(), name());
+        final ManagedDataSource dataSource = buildDataSource(dbConfig, configuration, environment);
         final ConnectionProvider provider = buildConnectionProvider(dataSource, dbConfig.getProperties());
         this.sessionFactory = buildSessionFactory(
                 dbConfig,
@@ -67,6 +100,26 @@ public abstract class SessionFactoryFactory<T> implements DatabaseConfiguration<
                 .build();
     }
 
+    private ManagedDataSource buildDataSource(final PooledDataSourceFactory dbConfig,
+                                              final T configuration,
+                                              final Environment environment) {
+        final ManagedDataSource primary = dbConfig.build(environment.metrics(), name());
+        final List<? extends PooledDataSourceFactory> replicaConfigs = getReplicaDataSourceFactories(configuration);
+        if (replicaConfigs.isEmpty()) {
+            return primary;
+        }
+        final List<ManagedDataSource> replicas = new ArrayList<>(replicaConfigs.size());
+        for (int i = 0; i < replicaConfigs.size(); i++) {
+            replicas.add(replicaConfigs.get(i).build(environment.metrics(), name() + "-replica-" + i));
+        }
+        log.info("Routing read only transactions for {} to {} replicas", name(), replicas.size());
+        return new ReplicaRoutingDataSource(name(),
+                primary,
+                replicas,
+                replicaReadAfterWriteWindowMs(),
+                replicaFallbackToPrimary());
+    }
+
     private ConnectionProvider buildConnectionProvider(final DataSource dataSource,
                                                        final Map<String, String> properties) {
         final DatasourceConnectionProviderImpl connectionProvider = new DatasourceConnectionProviderImpl();
@@ -91,6 +144,9 @@ public abstract class SessionFactoryFactory<T> implements DatabaseConfiguration<
         configuration.setProperty(AvailableSettings.ORDER_INSERTS, "true");
         configuration.setProperty(AvailableSettings.USE_NEW_ID_GENERATOR_MAPPINGS, "true");
         configuration.setProperty("jadira.usertype.autoRegisterUserTypes", "true");
+        if (jdbcBatchSize() > 0) {
+            configuration.setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, Integer.toString(jdbcBatchSize()));
+        }
         for (Map.Entry<String, String> property : properties.entrySet()) {
             configuration.setProperty(property.getKey(), property.getValue());
         }
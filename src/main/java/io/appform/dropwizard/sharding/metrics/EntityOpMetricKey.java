@@ -8,6 +8,7 @@ import lombok.Value;
 @Builder
 public class EntityOpMetricKey {
 
+    String tenantId;
     Class<?> entityClass;
     DaoType daoType;
     String commandName;
@@ -0,0 +1,144 @@
+package io.appform.dropwizard.sharding.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.google.common.base.Preconditions;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Reservoir} counting samples in HdrHistograms, so memory does not grow with the number of
+ * samples. Samples are recorded into a {@link Recorder}, which is lock free. Recorded samples are
+ * moved into the window in progress when a snapshot is taken, and snapshots cover the window in
+ * progress and the one before it. Negative samples are recorded as zero.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+    private final Recorder recorder;
+    private final long windowNanos;
+    private final Clock clock;
+    private Histogram current;
+    private Histogram previous;
+    private Histogram interval;
+    private long windowStart;
+
+    public HdrHistogramReservoir(final int significantDigits, final long window, final TimeUnit windowUnit) {
+        this(significantDigits, window, windowUnit, Clock.defaultClock());
+    }
+
+    public HdrHistogramReservoir(final int significantDigits,
+                                 final long window,
+                                 final TimeUnit windowUnit,
+                                 final Clock clock) {
+        Preconditions.checkArgument(window > 0, "window should be positive");
+        this.recorder = new Recorder(significantDigits);
+        this.current = new Histogram(significantDigits);
+        this.previous = new Histogram(significantDigits);
+        this.windowNanos = windowUnit.toNanos(window);
+        this.clock = clock;
+        this.windowStart = clock.getTick();
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        recorder.recordValue(Math.max(0, value));
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        final long elapsed = clock.getTick() - windowStart;
+        if (elapsed >= 2 * windowNanos) {
+            //Nothing recorded before the last snapshot is recent enough to be kept
+            previous.reset();
+            current.reset();
+            windowStart += elapsed;
+        } else if (elapsed >= windowNanos) {
+            final Histogram recycled = previous;
+            recycled.reset();
+            previous = current;
+            current = recycled;
+            windowStart += windowNanos;
+        }
+        current.add(interval);
+        final Histogram histogram = current.copy();
+        histogram.add(previous);
+        return new HdrSnapshot(histogram);
+    }
+
+    private static final class HdrSnapshot extends Snapshot {
+        private final Histogram histogram;
+
+        private HdrSnapshot(final Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            Preconditions.checkArgument(quantile >= 0.0 && quantile <= 1.0, quantile + " is not in [0..1]");
+            return isEmpty() ? 0 : histogram.getValueAtPercentile(quantile * 100);
+        }
+
+        @Override
+        public long[] getValues() {
+            final long[] values = new long[size()];
+            int idx = 0;
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                for (long i = 0; i < value.getCountAtValueIteratedTo() && idx < values.length; i++) {
+                    values[idx++] = value.getValueIteratedTo();
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(Integer.MAX_VALUE, histogram.getTotalCount());
+        }
+
+        @Override
+        public long getMax() {
+            return isEmpty() ? 0 : histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return isEmpty() ? 0 : histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return isEmpty() ? 0 : histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return isEmpty() ? 0 : histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+
+        private boolean isEmpty() {
+            return 0 == histogram.getTotalCount();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.appform.dropwizard.sharding.metrics;
+
+import com.codahale.metrics.Timer;
+import io.appform.dropwizard.sharding.execution.TransactionPhases;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.concurrent.TimeUnit;
+
+@Value
+@Builder
+public class PhaseTimers {
+    Timer connectionAcquire;
+    Timer begin;
+    Timer execute;
+    Timer flush;
+    Timer commit;
+
+    /**
+     * Records the time spent in the phases that ran. Phases that did not run are skipped rather than
+     * recorded as taking no time.
+     */
+    public void record(final TransactionPhases phases) {
+        if (phases.isConnectionAcquired()) {
+            connectionAcquire.update(phases.getConnectionAcquireNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (phases.isBegun()) {
+            begin.update(phases.getBeginNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (phases.isExecuted()) {
+            execute.update(phases.getExecuteNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (phases.isFlushed()) {
+            flush.update(phases.getFlushNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (phases.isCommitted()) {
+            commit.update(phases.getCommitNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
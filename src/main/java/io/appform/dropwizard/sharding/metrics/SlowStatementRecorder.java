@@ -0,0 +1,154 @@
+package io.appform.dropwizard.sharding.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.google.common.base.Preconditions;
+import io.appform.dropwizard.sharding.config.SlowStatementConfig;
+import lombok.Getter;
+import lombok.Value;
+import lombok.val;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the slowest sql statements run on a shard, grouped by fingerprint: the statement with
+ * literals and in lists normalized. Statements are timed by a {@link StatementTimer} registered on
+ * every session of the shard.
+ */
+public class SlowStatementRecorder {
+
+    /**
+     * Session factory property holding the recorder for the shard.
+     */
+    public static final String SESSION_FACTORY_PROPERTY = "db.sharding.slow.statement.recorder";
+
+    private static final int SAMPLES_PER_STATEMENT = 1028;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Getter
+    private final String shardName;
+    private final long thresholdNanos;
+    private final int maxStatements;
+    private final Map<String, Stats> statements = new ConcurrentHashMap<>();
+
+    public SlowStatementRecorder(final String shardName, final SlowStatementConfig config) {
+        Preconditions.checkArgument(config.getMaxStatements() > 0, "maxStatements should be positive");
+        this.shardName = shardName;
+        this.thresholdNanos = config.getThreshold().toNanoseconds();
+        this.maxStatements = config.getMaxStatements();
+    }
+
+    /**
+     * Normalizes literals, in lists and whitespace, so that runs of a statement with different
+     * parameters share a fingerprint.
+     */
+    public static String fingerprint(final String sql) {
+        var fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMERIC_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?)");
+        return WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+    }
+
+    public void record(final String sql, final long elapsedNanos) {
+        if (null == sql || elapsedNanos < thresholdNanos) {
+            return;
+        }
+        val fingerprint = fingerprint(sql);
+        var stats = statements.get(fingerprint);
+        if (null == stats) {
+            stats = admit(fingerprint, elapsedNanos);
+            if (null == stats) {
+                return;
+            }
+        }
+        stats.record(elapsedNanos);
+    }
+
+    /**
+     * @return Tracked statements, slowest first
+     */
+    public List<SlowStatement> slowStatements() {
+        return statements.entrySet()
+                .stream()
+                .map(entry -> entry.getValue().toSlowStatement(entry.getKey()))
+                .sorted(Comparator.comparingLong(SlowStatement::getMaxMs).reversed())
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        statements.clear();
+    }
+
+    /*
+     * Makes room for a new fingerprint by dropping the one with the lowest max latency, unless that
+     * one is slower than the statement being recorded
+     */
+    private synchronized Stats admit(final String fingerprint, final long elapsedNanos) {
+        val existing = statements.get(fingerprint);
+        if (null != existing) {
+            return existing;
+        }
+        if (statements.size() >= maxStatements) {
+            val fastest = statements.entrySet()
+                    .stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().maxNanos.get()))
+                    .orElse(null);
+            if (null != fastest) {
+                if (fastest.getValue().maxNanos.get() >= elapsedNanos) {
+                    return null;
+                }
+                statements.remove(fastest.getKey());
+            }
+        }
+        val stats = new Stats();
+        statements.put(fingerprint, stats);
+        return stats;
+    }
+
+    /**
+     * Latency of a statement fingerprint on the shard. Latencies are in milliseconds, percentiles are
+     * over the last 1028 runs.
+     */
+    @Value
+    public static class SlowStatement {
+        String fingerprint;
+        long count;
+        double meanMs;
+        double p50Ms;
+        double p99Ms;
+        long maxMs;
+    }
+
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final Histogram latencyMicros = new Histogram(new SlidingWindowReservoir(SAMPLES_PER_STATEMENT));
+
+        private void record(final long elapsedNanos) {
+            count.increment();
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            latencyMicros.update(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        }
+
+        private SlowStatement toSlowStatement(final String fingerprint) {
+            val snapshot = latencyMicros.getSnapshot();
+            return new SlowStatement(fingerprint,
+                    count.sum(),
+                    snapshot.getMean() / 1000,
+                    snapshot.getMedian() / 1000,
+                    snapshot.get99thPercentile() / 1000,
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.appform.dropwizard.sharding.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Times the statements run by a session and hands them to the {@link SlowStatementRecorder} of the
+ * shard. Used both as the statement inspector of the session, to know the sql being prepared, and
+ * as a listener on it, to time its execution. The statement inspector configured on the session
+ * factory, if any, still gets to inspect and rewrite every statement first.
+ * <p>
+ * Hibernate does not say which statement a jdbc batch belongs to. A batch is timed as a whole when
+ * it is executed and recorded against the last statement prepared before that. This is normally the
+ * batched statement itself, but can be a statement prepared in between, like a sequence read for an
+ * id, so batched inserts and updates can show up under such a statement.
+ */
+public class StatementTimer extends BaseSessionEventListener implements StatementInspector {
+    private static final long serialVersionUID = 1L;
+
+    private final transient SlowStatementRecorder recorder;
+    private final StatementInspector delegate;
+    private String sql;
+    private long start;
+
+    /**
+     * @param recorder Recorder for the shard
+     * @param delegate Statement inspector of the session factory, null if there is none
+     */
+    public StatementTimer(final SlowStatementRecorder recorder, final StatementInspector delegate) {
+        this.recorder = recorder;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        final String inspected = null == delegate ? sql : delegate.inspect(sql);
+        this.sql = inspected;
+        return inspected;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recorder.record(sql, System.nanoTime() - start);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recorder.record(sql, System.nanoTime() - start);
+    }
+}
@@ -1,24 +1,43 @@
 package io.appform.dropwizard.sharding.metrics;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.LockFreeExponentiallyDecayingReservoir;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
 import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.codahale.metrics.SlidingWindowReservoir;
 import com.codahale.metrics.Timer;
+import com.codahale.metrics.UniformReservoir;
+import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import io.appform.dropwizard.sharding.config.MetricConfig;
+import io.appform.dropwizard.sharding.config.ReservoirConfig;
 import io.appform.dropwizard.sharding.dao.operations.lockedcontext.LockAndExecute;
 import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
+import io.appform.dropwizard.sharding.hibernate.ReplicaRoutingDataSource;
+import io.dropwizard.db.ManagedDataSource;
 import lombok.val;
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.DataSourceProxy;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 public class TransactionMetricManager {
 
     private static final String METRIC_PREFIX = "db.sharding";
     private static final String DELIMITER = ".";
     private static final String DELIMITER_REPLACEMENT = "_";
+    private static final String OTHER_TENANTS = "others";
+    //HdrHistogram is an optional dependency
+    private static final boolean HDR_HISTOGRAM_AVAILABLE = isClassPresent("org.HdrHistogram.Recorder");
     private final Supplier<MetricConfig> metricConfigSupplier;
     private final MetricRegistry metricRegistry;
+    private final Set<String> tenantsWithMetrics = ConcurrentHashMap.newKeySet();
 
     public TransactionMetricManager(final Supplier<MetricConfig> metricConfigSupplier,
                                     final MetricRegistry metricRegistry) {
@@ -43,19 +62,129 @@ public class TransactionMetricManager {
                 && metricConfig.getEnabledForEntities().contains(entityClass.getCanonicalName());
     }
 
+    /**
+     * @return Whether the time spent in each phase of a transaction is to be recorded
+     */
+    public boolean isPhaseTimerApplicable() {
+        val metricConfig = null == metricConfigSupplier ? null : metricConfigSupplier.get();
+        return null != metricConfig && metricConfig.isPhaseTimersEnabled();
+    }
+
+    /**
+     * @return Whether metrics are enabled for any entity, in which case connection pool metrics are
+     * published as well
+     */
+    public boolean isPoolMetricApplicable() {
+        val metricConfig = null == metricConfigSupplier ? null : metricConfigSupplier.get();
+        if (null == metricConfig) {
+            return false;
+        }
+        return metricConfig.isEnabledForAll()
+                || (null != metricConfig.getEnabledForEntities() && !metricConfig.getEnabledForEntities().isEmpty());
+    }
+
     public MetricData getShardMetricData(final String shardName) {
         val metricPrefix = getMetricPrefix("shard", shardName);
-        return getMetricData(metricPrefix);
+        return getMetricData(metricPrefix, reservoirConfig(MetricConfig::getShardReservoir));
     }
 
     public MetricData getEntityOpMetricData(final TransactionExecutionContext context) {
         val lockedContextMode = context.getOpContext() instanceof LockAndExecute ?
             ((LockAndExecute<?>)context.getOpContext()).getMode().name() : null;
-        val metricPrefix = getMetricPrefix("entity", context.getEntityClass().getCanonicalName(),
+        val metricPrefix = getMetricPrefix("entity", tenantDimension(context.getTenantId()),
+                context.getEntityClass().getCanonicalName(),
                 context.getDaoType().getMetricName(),
                 context.getCommandName(),
                 lockedContextMode);
-        return getMetricData(metricPrefix);
+        return getMetricData(metricPrefix, reservoirConfig(MetricConfig::getEntityReservoir));
+    }
+
+    /**
+     * Histogram of the batch sizes bulk saves split their entities into, published as
+     * plannedRowsPerBatch. The sizes follow from the number of entities and the configured batch
+     * size. They are not read back from the jdbc driver, so they do not reflect batches that the
+     * driver or hibernate split or merged differently.
+     */
+    public Histogram getEntityOpBatchSizeHistogram(final TransactionExecutionContext context) {
+        val metricPrefix = getMetricPrefix("entity", tenantDimension(context.getTenantId()),
+                context.getEntityClass().getCanonicalName(),
+                context.getDaoType().getMetricName(),
+                context.getCommandName());
+        val reservoirConfig = reservoirConfig(MetricConfig::getEntityReservoir);
+        return metricRegistry.histogram(MetricRegistry.name(metricPrefix, "plannedRowsPerBatch"),
+                () -> new Histogram(newReservoir(reservoirConfig)));
+    }
+
+    public PhaseTimers getShardPhaseTimers(final String shardName) {
+        val metricPrefix = getMetricPrefix("shard", shardName);
+        return getPhaseTimers(metricPrefix, reservoirConfig(MetricConfig::getShardReservoir));
+    }
+
+    public PhaseTimers getEntityOpPhaseTimers(final TransactionExecutionContext context) {
+        val metricPrefix = getMetricPrefix("entity", tenantDimension(context.getTenantId()),
+                context.getEntityClass().getCanonicalName(),
+                context.getDaoType().getMetricName(),
+                context.getCommandName());
+        return getPhaseTimers(metricPrefix, reservoirConfig(MetricConfig::getEntityReservoir));
+    }
+
+    /**
+     * Publishes the active, idle and waiting connection counts and the size of the connection pool
+     * of the shard. Pools of the read replicas of the shard, if any, are published as well.
+     *
+     * @param shardName  Name of the shard
+     * @param dataSource Data source of the shard
+     */
+    public void registerPoolGauges(final String shardName, final ManagedDataSource dataSource) {
+        if (dataSource instanceof ReplicaRoutingDataSource) {
+            val replicaRoutingDataSource = (ReplicaRoutingDataSource) dataSource;
+            registerDataSourceGauges(getMetricPrefix("shard", shardName, "pool"),
+                    replicaRoutingDataSource.getPrimary());
+            val replicas = replicaRoutingDataSource.getReplicas();
+            for (int i = 0; i < replicas.size(); i++) {
+                registerDataSourceGauges(getMetricPrefix("shard", shardName, "replica", String.valueOf(i), "pool"),
+                        replicas.get(i));
+            }
+            return;
+        }
+        registerDataSourceGauges(getMetricPrefix("shard", shardName, "pool"), dataSource);
+    }
+
+    private void registerDataSourceGauges(final String metricPrefix, final ManagedDataSource dataSource) {
+        if (!(dataSource instanceof DataSourceProxy)) {
+            return;
+        }
+        //Pool is created when the data source is started, gauges read zero till then
+        val pooledDataSource = (DataSourceProxy) dataSource;
+        registerPoolGauge(metricPrefix, "active", pooledDataSource, ConnectionPool::getActive);
+        registerPoolGauge(metricPrefix, "idle", pooledDataSource, ConnectionPool::getIdle);
+        registerPoolGauge(metricPrefix, "waiting", pooledDataSource, ConnectionPool::getWaitCount);
+        registerPoolGauge(metricPrefix, "size", pooledDataSource, ConnectionPool::getSize);
+    }
+
+    private void registerPoolGauge(final String metricPrefix,
+                                   final String name,
+                                   final DataSourceProxy dataSource,
+                                   final ToIntFunction<ConnectionPool> value) {
+        metricRegistry.gauge(MetricRegistry.name(metricPrefix, name), () -> (Gauge<Integer>) () -> {
+            val pool = dataSource.getPool();
+            return null == pool ? 0 : value.applyAsInt(pool);
+        });
+    }
+
+    private PhaseTimers getPhaseTimers(final String metricPrefix, final ReservoirConfig reservoirConfig) {
+        return PhaseTimers.builder()
+                .connectionAcquire(phaseTimer(metricPrefix, "connectionAcquire", reservoirConfig))
+                .begin(phaseTimer(metricPrefix, "begin", reservoirConfig))
+                .execute(phaseTimer(metricPrefix, "execute", reservoirConfig))
+                .flush(phaseTimer(metricPrefix, "flush", reservoirConfig))
+                .commit(phaseTimer(metricPrefix, "commit", reservoirConfig))
+                .build();
+    }
+
+    private Timer phaseTimer(final String metricPrefix, final String phase, final ReservoirConfig reservoirConfig) {
+        return metricRegistry.timer(MetricRegistry.name(metricPrefix, phase),
+                () -> new Timer(newReservoir(reservoirConfig)));
     }
 
     private String getMetricPrefix(String... metricNames) {
@@ -70,10 +199,83 @@ public class TransactionMetricManager {
         return metricPrefix.toString();
     }
 
-    private MetricData getMetricData(final String metricPrefix) {
+    /*
+     * Tenant name to be used in entity metric names. Null when the tenant dimension is disabled.
+     * Bounded by the tenant allow list and max number of tenants in the metric config
+     */
+    private String tenantDimension(final String tenantId) {
+        val metricConfig = null == metricConfigSupplier ? null : metricConfigSupplier.get();
+        if (null == metricConfig || !metricConfig.isTenantDimensionEnabled() || null == tenantId) {
+            return null;
+        }
+        val enabledForTenants = metricConfig.getEnabledForTenants();
+        if (null != enabledForTenants && !enabledForTenants.isEmpty() && !enabledForTenants.contains(tenantId)) {
+            return OTHER_TENANTS;
+        }
+        if (metricConfig.getMaxTenants() <= 0 || tenantsWithMetrics.contains(tenantId)) {
+            return tenantId;
+        }
+        synchronized (tenantsWithMetrics) {
+            if (tenantsWithMetrics.size() >= metricConfig.getMaxTenants()) {
+                return OTHER_TENANTS;
+            }
+            tenantsWithMetrics.add(tenantId);
+            return tenantId;
+        }
+    }
+
+    private ReservoirConfig reservoirConfig(final Function<MetricConfig, ReservoirConfig> reservoirConfigGetter) {
+        val metricConfig = null == metricConfigSupplier ? null : metricConfigSupplier.get();
+        val reservoirConfig = null == metricConfig ? null : reservoirConfigGetter.apply(metricConfig);
+        return null == reservoirConfig ? new ReservoirConfig() : reservoirConfig;
+    }
+
+    private static Reservoir newReservoir(final ReservoirConfig reservoirConfig) {
+        //Configs built in code do not go through bean validation
+        Preconditions.checkArgument(null != reservoirConfig.getType(), "Reservoir type is required");
+        if (ReservoirConfig.Type.SLIDING_TIME_WINDOW == reservoirConfig.getType()
+                || ReservoirConfig.Type.HDR_HISTOGRAM == reservoirConfig.getType()) {
+            Preconditions.checkArgument(null != reservoirConfig.getWindow()
+                    && reservoirConfig.getWindow().getQuantity() > 0, "Reservoir window should be positive");
+        } else {
+            Preconditions.checkArgument(reservoirConfig.getSize() > 0, "Reservoir size should be positive");
+        }
+        switch (reservoirConfig.getType()) {
+            case EXPONENTIALLY_DECAYING:
+                return LockFreeExponentiallyDecayingReservoir.builder()
+                        .size(reservoirConfig.getSize())
+                        .alpha(reservoirConfig.getAlpha())
+                        .build();
+            case UNIFORM:
+                return new UniformReservoir(reservoirConfig.getSize());
+            case SLIDING_WINDOW:
+                return new SlidingWindowReservoir(reservoirConfig.getSize());
+            case HDR_HISTOGRAM:
+                Preconditions.checkState(HDR_HISTOGRAM_AVAILABLE,
+                        "Add org.hdrhistogram:HdrHistogram to the classpath to use HDR_HISTOGRAM reservoirs");
+                return new HdrHistogramReservoir(reservoirConfig.getSignificantDigits(),
+                        reservoirConfig.getWindow().getQuantity(),
+                        reservoirConfig.getWindow().getUnit());
+            case SLIDING_TIME_WINDOW:
+            default:
+                return new SlidingTimeWindowArrayReservoir(reservoirConfig.getWindow().getQuantity(),
+                        reservoirConfig.getWindow().getUnit());
+        }
+    }
+
+    private static boolean isClassPresent(final String className) {
+        try {
+            Class.forName(className, false, TransactionMetricManager.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private MetricData getMetricData(final String metricPrefix, final ReservoirConfig reservoirConfig) {
         return MetricData.builder()
                 .timer(metricRegistry.timer(MetricRegistry.name(metricPrefix, "latency"),
-                        () -> new Timer(new SlidingTimeWindowArrayReservoir(60, TimeUnit.SECONDS))))
+                        () -> new Timer(newReservoir(reservoirConfig))))
                 .success(metricRegistry.meter(MetricRegistry.name(metricPrefix, "success")))
                 .failed(metricRegistry.meter(MetricRegistry.name(metricPrefix, "failed")))
                 .total(metricRegistry.meter(MetricRegistry.name(metricPrefix, "total")))
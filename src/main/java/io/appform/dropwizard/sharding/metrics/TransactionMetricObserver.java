@@ -1,18 +1,30 @@
 package io.appform.dropwizard.sharding.metrics;
 
-import com.codahale.metrics.Timer;
+import com.codahale.metrics.Histogram;
+import io.appform.dropwizard.sharding.dao.LockedContext;
+import io.appform.dropwizard.sharding.dao.operations.SaveAll;
 import io.appform.dropwizard.sharding.dao.operations.lockedcontext.LockAndExecute;
+import io.appform.dropwizard.sharding.execution.DaoType;
 import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
 import io.appform.dropwizard.sharding.observers.TransactionObserver;
 import lombok.Getter;
 import lombok.val;
 
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+/**
+ * Records latency, throughput and failures per entity operation and per shard. For operations run
+ * through the transaction executor, the time spent acquiring the connection, beginning, executing,
+ * flushing and committing is recorded as well when phase timers are enabled in the metric config.
+ * <p>
+ * Metric handles are resolved the first time an operation (tenant, entity, dao type and command) is
+ * seen and reused afterwards, so that recording metrics does not need to build keys or look up the
+ * registry on every call. Whether metrics are enabled for an entity is also decided at that point,
+ * changes to the metric config afterwards are not picked up.
+ */
 public class TransactionMetricObserver extends TransactionObserver {
     private final TransactionMetricManager metricManager;
 
@@ -22,6 +34,14 @@ public class TransactionMetricObserver extends TransactionObserver {
     @Getter
     private final Map<String, MetricData> shardMetricCache = new ConcurrentHashMap<>();
 
+    @Getter
+    private final Map<EntityOpMetricKey, Histogram> batchSizeMetricCache = new ConcurrentHashMap<>();
+
+    private final Map<String, PhaseTimers> shardPhaseTimerCache = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<Class<?>, Map<DaoType, Map<String, OpMetrics>>>> opMetrics
+            = new ConcurrentHashMap<>();
+
     public TransactionMetricObserver(final TransactionMetricManager metricManager) {
         super(null);
         this.metricManager = metricManager;
@@ -29,37 +49,154 @@ public class TransactionMetricObserver extends TransactionObserver {
 
     @Override
     public <T> T execute(TransactionExecutionContext context, Supplier<T> supplier) {
-        if (!metricManager.isMetricApplicable(context.getEntityClass())) {
+        val metrics = opMetrics(context);
+        if (!metrics.applicable) {
             return proceed(context, supplier);
         }
-        val metrics = getMetrics(context);
-
-        val timerContexts = metrics.stream().map(metric -> metric.getTimer().time()).collect(Collectors.toList());
-        metrics.forEach(metric -> metric.getTotal().mark());
+        val entityOpMetricData = entityOpMetricData(metrics, context);
+        val shardMetricData = shardMetricData(context.getShardName());
 
+        entityOpMetricData.getTotal().mark();
+        shardMetricData.getTotal().mark();
+        val start = System.nanoTime();
         try {
             val response = proceed(context, supplier);
-            metrics.forEach(metric -> metric.getSuccess().mark());
+            entityOpMetricData.getSuccess().mark();
+            shardMetricData.getSuccess().mark();
+            recordBatchSizes(metrics, context);
             return response;
         } catch (Throwable t) {
-            metrics.forEach(metric -> metric.getFailed().mark());
+            entityOpMetricData.getFailed().mark();
+            shardMetricData.getFailed().mark();
             throw t;
         } finally {
-            timerContexts.forEach(Timer.Context::stop);
+            val elapsed = System.nanoTime() - start;
+            entityOpMetricData.getTimer().update(elapsed, TimeUnit.NANOSECONDS);
+            shardMetricData.getTimer().update(elapsed, TimeUnit.NANOSECONDS);
+            recordPhases(metrics, context);
+        }
+    }
+
+    private void recordPhases(final OpMetrics metrics, final TransactionExecutionContext context) {
+        val phases = context.getPhases();
+        if (null == phases || !metrics.phaseTimersApplicable) {
+            return;
+        }
+        var entityOpPhaseTimers = metrics.phaseTimers;
+        if (null == entityOpPhaseTimers) {
+            entityOpPhaseTimers = metricManager.getEntityOpPhaseTimers(context);
+            metrics.phaseTimers = entityOpPhaseTimers;
+        }
+        var shardPhaseTimers = shardPhaseTimerCache.get(context.getShardName());
+        if (null == shardPhaseTimers) {
+            shardPhaseTimers = shardPhaseTimerCache.computeIfAbsent(context.getShardName(),
+                    metricManager::getShardPhaseTimers);
+        }
+        if (null != entityOpPhaseTimers) {
+            entityOpPhaseTimers.record(phases);
+        }
+        if (null != shardPhaseTimers) {
+            shardPhaseTimers.record(phases);
         }
     }
 
-    private List<MetricData> getMetrics(final TransactionExecutionContext context) {
-        val entityOpMetricData = entityOpMetricCache.computeIfAbsent(EntityOpMetricKey.builder()
-                        .lockedContextMode(context.getOpContext() instanceof LockAndExecute ?
-                                ((LockAndExecute<?>) context.getOpContext()).getMode().name() : null)
+    /*
+     * Bulk saves write their entities in full batches of the configured size, followed by one
+     * partial batch for the remainder. The batch sizes are derived from these, not measured
+     */
+    private void recordBatchSizes(final OpMetrics metrics, final TransactionExecutionContext context) {
+        if (!(context.getOpContext() instanceof SaveAll)) {
+            return;
+        }
+        val saveAll = (SaveAll<?>) context.getOpContext();
+        if (saveAll.getBatchSize() <= 0) {
+            return;
+        }
+        var histogram = metrics.batchSizeHistogram;
+        if (null == histogram) {
+            histogram = batchSizeMetricCache.computeIfAbsent(EntityOpMetricKey.builder()
+                            .tenantId(context.getTenantId())
+                            .commandName(context.getCommandName())
+                            .daoType(context.getDaoType())
+                            .entityClass(context.getEntityClass())
+                            .build(),
+                    key -> metricManager.getEntityOpBatchSizeHistogram(context));
+            metrics.batchSizeHistogram = histogram;
+        }
+        val numEntities = saveAll.getEntities().size();
+        for (int batch = 0; batch < numEntities / saveAll.getBatchSize(); batch++) {
+            histogram.update(saveAll.getBatchSize());
+        }
+        if (numEntities % saveAll.getBatchSize() != 0) {
+            histogram.update(numEntities % saveAll.getBatchSize());
+        }
+    }
+
+    private OpMetrics opMetrics(final TransactionExecutionContext context) {
+        val tenantId = null == context.getTenantId() ? "" : context.getTenantId();
+        val metricsByEntity = opMetrics.get(tenantId);
+        val metricsByDaoType = null == metricsByEntity ? null : metricsByEntity.get(context.getEntityClass());
+        val metricsByCommand = null == metricsByDaoType ? null : metricsByDaoType.get(context.getDaoType());
+        val metrics = null == metricsByCommand ? null : metricsByCommand.get(context.getCommandName());
+        if (null != metrics) {
+            return metrics;
+        }
+        return opMetrics.computeIfAbsent(tenantId, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(context.getEntityClass(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(context.getDaoType(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(context.getCommandName(),
+                        key -> new OpMetrics(metricManager.isMetricApplicable(context.getEntityClass()),
+                                metricManager.isPhaseTimerApplicable()));
+    }
+
+    private MetricData entityOpMetricData(final OpMetrics metrics, final TransactionExecutionContext context) {
+        val lockedContextMode = context.getOpContext() instanceof LockAndExecute
+                                ? ((LockAndExecute<?>) context.getOpContext()).getMode()
+                                : null;
+        val metricData = null == lockedContextMode
+                         ? metrics.metricData
+                         : metrics.lockedContextMetricData.get(lockedContextMode);
+        if (null != metricData) {
+            return metricData;
+        }
+        val resolved = entityOpMetricCache.computeIfAbsent(EntityOpMetricKey.builder()
+                        .tenantId(context.getTenantId())
+                        .lockedContextMode(null == lockedContextMode ? null : lockedContextMode.name())
                         .commandName(context.getCommandName())
                         .daoType(context.getDaoType())
                         .entityClass(context.getEntityClass())
                         .build(),
                 key -> metricManager.getEntityOpMetricData(context));
-        val shardMetricData = shardMetricCache.computeIfAbsent(context.getShardName(),
-                key -> metricManager.getShardMetricData(context.getShardName()));
-        return List.of(entityOpMetricData, shardMetricData);
+        if (null == lockedContextMode) {
+            metrics.metricData = resolved;
+        } else {
+            metrics.lockedContextMetricData.put(lockedContextMode, resolved);
+        }
+        return resolved;
+    }
+
+    private MetricData shardMetricData(final String shardName) {
+        val metricData = shardMetricCache.get(shardName);
+        if (null != metricData) {
+            return metricData;
+        }
+        return shardMetricCache.computeIfAbsent(shardName, metricManager::getShardMetricData);
+    }
+
+    /**
+     * Metric handles for an operation on an entity of a tenant through a dao type
+     */
+    private static final class OpMetrics {
+        private final boolean applicable;
+        private final boolean phaseTimersApplicable;
+        private final Map<LockedContext.Mode, MetricData> lockedContextMetricData = new ConcurrentHashMap<>();
+        private volatile MetricData metricData;
+        private volatile Histogram batchSizeHistogram;
+        private volatile PhaseTimers phaseTimers;
+
+        private OpMetrics(boolean applicable, boolean phaseTimersApplicable) {
+            this.applicable = applicable;
+            this.phaseTimersApplicable = phaseTimersApplicable;
+        }
     }
 }
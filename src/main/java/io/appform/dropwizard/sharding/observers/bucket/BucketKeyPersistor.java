@@ -3,6 +3,7 @@ package io.appform.dropwizard.sharding.observers.bucket;
 import com.google.common.base.Preconditions;
 import io.appform.dropwizard.sharding.dao.operations.Count;
 import io.appform.dropwizard.sharding.dao.operations.CountByQuerySpec;
+import io.appform.dropwizard.sharding.dao.operations.ForEachWithScroll;
 import io.appform.dropwizard.sharding.dao.operations.Get;
 import io.appform.dropwizard.sharding.dao.operations.GetAndUpdate;
 import io.appform.dropwizard.sharding.dao.operations.OpContext;
@@ -127,6 +128,11 @@ public class BucketKeyPersistor implements OpContext.OpContextVisitor<Void> {
         return null;
     }
 
+    @Override
+    public <T> Void visit(ForEachWithScroll<T> forEachWithScroll) {
+        return null;
+    }
+
     @Override
     public <T> Void visit(UpdateWithScroll<T> updateWithScroll) {
         final var oldMutator = updateWithScroll.getMutator();
@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 /**
  * Runs all registered filters. Throws {@link TransactionFilteredException} if any of the {@link TransactionFilter}
@@ -38,19 +37,26 @@ public final class FilteringObserver extends TransactionObserver {
     @Override
     @SuppressWarnings("java:S1181")
     public final <T> T execute(TransactionExecutionContext context, Supplier<T> supplier) {
-        val blocks = filters.stream()
-                .map(filter -> {
-                    try {
-                        return filter.evaluate(context);
-                    } catch (Throwable t) {
-                        log.error("Error running filter: " + filter.getClass(), t);
-                        return TransactionFilterResult.allow();
-                    }
-                })
-                .filter(result -> FilterOutput.BLOCK.equals(result.getOutput()))
-                .map(TransactionFilterResult::getReason)
-                .collect(Collectors.toList());
-        if (blocks.isEmpty()) {
+        if (filters.isEmpty()) {
+            return proceed(context, supplier);
+        }
+        List<String> blocks = null;
+        for (val filter : filters) {
+            TransactionFilterResult result;
+            try {
+                result = filter.evaluate(context);
+            } catch (Throwable t) {
+                log.error("Error running filter: " + filter.getClass(), t);
+                result = TransactionFilterResult.allow();
+            }
+            if (FilterOutput.BLOCK.equals(result.getOutput())) {
+                if (null == blocks) {
+                    blocks = new ArrayList<>();
+                }
+                blocks.add(result.getReason());
+            }
+        }
+        if (null == blocks) {
             return proceed(context, supplier);
         }
         throw new TransactionFilteredException(blocks);
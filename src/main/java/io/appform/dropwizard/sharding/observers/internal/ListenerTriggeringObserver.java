@@ -43,33 +43,34 @@ public final class ListenerTriggeringObserver extends TransactionObserver {
     @Override
     public final <T> T execute(TransactionExecutionContext context, Supplier<T> supplier) {
         Objects.requireNonNull(context, "Context cannot be null");
+        if (listeners.isEmpty()) {
+            return proceed(context, supplier);
+        }
         try {
-            listeners.forEach(listener -> {
+            for (val listener : listeners) {
                 try {
                     listener.beforeExecute(context);
                 } catch (Throwable t) {
                     log.info("Error running listener beforeExecute: " + listener.getClass(), t);
                 }
-            });
+            }
             val result = proceed(context, supplier);
-            listeners.forEach(listener -> {
+            for (val listener : listeners) {
                 try {
                     listener.afterExecute(context);
                 } catch (Throwable t) {
                     log.info("Error running listener afterExecute: " + listener.getClass(), t);
                 }
-
-            });
+            }
             return result;
         } catch (Throwable t) {
-            listeners.forEach(listener -> {
+            for (val listener : listeners) {
                 try {
                     listener.afterException(context, t);
                 } catch (Throwable th) {
                     log.info("Error running listener afterException: " + listener.getClass(), th);
                 }
-
-            });
+            }
             throw t;
         }
     }
@@ -0,0 +1,212 @@
+package io.appform.dropwizard.sharding.query;
+
+import com.google.common.base.Preconditions;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import org.hibernate.criterion.Projection;
+import org.hibernate.criterion.ProjectionList;
+import org.hibernate.criterion.Projections;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * An aggregation to be run across shards: optional group by properties and the aggregates to be
+ * computed for every group. Each shard computes the aggregates over its own rows and the partial
+ * results are merged, grouped by the group by values.
+ *
+ * <p>
+ * Averages can not be merged from per shard averages, compute them from a sum and a count instead.
+ * </p>
+ */
+@Value
+@Builder
+public class Aggregation {
+
+    /**
+     * Aggregate functions that can be computed across shards.
+     */
+    public enum Function {
+        COUNT,
+        SUM,
+        MIN,
+        MAX
+    }
+
+    /**
+     * An aggregate function over a property. The property is not used for {@link Function#COUNT}.
+     */
+    @Value
+    public static class Aggregate {
+        Function function;
+        String property;
+
+        public static Aggregate count() {
+            return new Aggregate(Function.COUNT, null);
+        }
+
+        public static Aggregate sum(final String property) {
+            return new Aggregate(Function.SUM, property);
+        }
+
+        public static Aggregate min(final String property) {
+            return new Aggregate(Function.MIN, property);
+        }
+
+        public static Aggregate max(final String property) {
+            return new Aggregate(Function.MAX, property);
+        }
+
+        Projection projection() {
+            switch (function) {
+                case COUNT:
+                    return Projections.rowCount();
+                case SUM:
+                    return Projections.sum(property);
+                case MIN:
+                    return Projections.min(property);
+                case MAX:
+                    return Projections.max(property);
+                default:
+                    throw new UnsupportedOperationException("Unsupported aggregate: " + function);
+            }
+        }
+
+        Object merge(final Object lhs, final Object rhs) {
+            if (null == lhs) {
+                return rhs;
+            }
+            if (null == rhs) {
+                return lhs;
+            }
+            switch (function) {
+                case COUNT:
+                case SUM:
+                    return add((Number) lhs, (Number) rhs);
+                case MIN:
+                    return compare(lhs, rhs) <= 0 ? lhs : rhs;
+                case MAX:
+                    return compare(lhs, rhs) >= 0 ? lhs : rhs;
+                default:
+                    throw new UnsupportedOperationException("Unsupported aggregate: " + function);
+            }
+        }
+    }
+
+    /**
+     * Merged result for a group.
+     */
+    @Value
+    public static class Row {
+        /**
+         * Values of the group by properties, in the order they were specified. Empty if there is no
+         * grouping.
+         */
+        List<Object> groupValues;
+        /**
+         * Values of the aggregates, in the order they were specified.
+         */
+        List<Object> values;
+    }
+
+    @Singular
+    List<String> groupBys;
+
+    @Singular
+    List<Aggregate> aggregates;
+
+    /**
+     * @return The projection to be set on the criteria run on every shard
+     */
+    public Projection projection() {
+        Preconditions.checkArgument(!aggregates.isEmpty(), "At least one aggregate needs to be specified");
+        final ProjectionList projections = Projections.projectionList();
+        groupBys.forEach(property -> projections.add(Projections.groupProperty(property)));
+        aggregates.forEach(aggregate -> projections.add(aggregate.projection()));
+        return projections;
+    }
+
+    /**
+     * Merges the rows returned by the shards for {@link #projection()}. Groups are merged by a hash
+     * join on the group by values.
+     *
+     * @param shardResults Rows returned by every shard
+     * @return A row per group
+     */
+    @SuppressWarnings("rawtypes")
+    public List<Row> merge(final Collection<? extends List> shardResults) {
+        final int numGroupBys = groupBys.size();
+        final Map<List<Object>, Object[]> merged = new LinkedHashMap<>();
+        for (List shardResult : shardResults) {
+            for (Object result : shardResult) {
+                final Object[] row = result instanceof Object[]
+                                     ? (Object[]) result
+                                     : new Object[]{result};
+                final List<Object> group = Arrays.asList(Arrays.copyOfRange(row, 0, numGroupBys));
+                final Object[] values = Arrays.copyOfRange(row, numGroupBys, row.length);
+                merged.merge(group, values, this::mergeValues);
+            }
+        }
+        if (merged.isEmpty() && groupBys.isEmpty()) {
+            //Without grouping there is always a result, even if all shards are empty
+            merged.put(Collections.emptyList(), new Object[aggregates.size()]);
+        }
+        return merged.entrySet()
+                .stream()
+                .map(entry -> new Row(entry.getKey(), new ArrayList<>(Arrays.asList(entry.getValue()))))
+                .collect(Collectors.toList());
+    }
+
+    private Object[] mergeValues(final Object[] lhs, final Object[] rhs) {
+        for (int i = 0; i < lhs.length; i++) {
+            lhs[i] = aggregates.get(i).merge(lhs[i], rhs[i]);
+        }
+        return lhs;
+    }
+
+    private static Number add(final Number lhs, final Number rhs) {
+        if (lhs instanceof BigDecimal || rhs instanceof BigDecimal) {
+            return toBigDecimal(lhs).add(toBigDecimal(rhs));
+        }
+        if (lhs instanceof Double || lhs instanceof Float || rhs instanceof Double || rhs instanceof Float) {
+            return lhs.doubleValue() + rhs.doubleValue();
+        }
+        if (lhs instanceof BigInteger || rhs instanceof BigInteger) {
+            return toBigInteger(lhs).add(toBigInteger(rhs));
+        }
+        return Math.addExact(lhs.longValue(), rhs.longValue());
+    }
+
+    private static BigDecimal toBigDecimal(final Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (number instanceof Double || number instanceof Float) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    private static BigInteger toBigInteger(final Number number) {
+        return number instanceof BigInteger
+               ? (BigInteger) number
+               : BigInteger.valueOf(number.longValue());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(final Object lhs, final Object rhs) {
+        return ((Comparable) lhs).compareTo(rhs);
+    }
+}
@@ -0,0 +1,153 @@
+package io.appform.dropwizard.sharding.scroll;
+
+import com.google.common.base.Preconditions;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges the sorted per-shard results of a scroll query into a single page.
+ * <p>
+ * Rows are pulled lazily from each shard's sorted result through a heap holding the current head
+ * of every shard, so only one candidate per shard is compared at a time. If a shard runs out of
+ * fetched rows while it might still have more, the next chunk is fetched from it on demand. This
+ * makes it safe to ask every shard only for the rows it is likely to contribute to the page
+ * (see {@link #fetchSizes(ScrollPointer, int, int)}) instead of a full page from each.
+ */
+public class ScrollMerger<T> {
+    /*
+     * Shards are asked for twice their estimated share of the page, to keep top-up fetches rare
+     */
+    private static final int ADAPTIVE_FETCH_HEADROOM = 2;
+
+    /**
+     * Fetches rows from a shard, in the same sort order as used by the merge
+     */
+    @FunctionalInterface
+    public interface ShardPageFetcher<T> {
+        List<T> fetch(int shardIdx, int start, int numRows);
+    }
+
+    private final int pageSize;
+    private final Comparator<ScrollResultItem<T>> comparator;
+    private final ShardPageFetcher<T> fetcher;
+
+    public ScrollMerger(int pageSize,
+                        Comparator<ScrollResultItem<T>> comparator,
+                        ShardPageFetcher<T> fetcher) {
+        Preconditions.checkArgument(pageSize > 0, "Page size must be positive");
+        this.pageSize = pageSize;
+        this.comparator = comparator;
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Computes the number of rows to be fetched from every shard for the next page.
+     * <p>
+     * For the first page every shard is asked for a full page. For subsequent pages, the offsets in
+     * the pointer tell how much every shard has contributed so far, and each shard is asked for
+     * its share of the page (with some headroom). Shards that turn out to contribute more than
+     * estimated are topped up during the merge.
+     *
+     * @param pointer   Scroll pointer as of the end of the last page
+     * @param numShards Number of shards
+     * @param pageSize  Required page size
+     * @return Number of rows to be fetched per shard, indexed by shard
+     */
+    public static int[] fetchSizes(ScrollPointer pointer, int numShards, int pageSize) {
+        val sizes = new int[numShards];
+        long total = 0;
+        for (int i = 0; i < numShards; i++) {
+            total += pointer.getCurrOffset(i);
+        }
+        for (int i = 0; i < numShards; i++) {
+            if (total == 0) {
+                sizes[i] = pageSize;
+                continue;
+            }
+            //Smoothed so that shards that have not contributed yet still get asked for some rows
+            val share = (double) (pointer.getCurrOffset(i) + 1) / (total + numShards);
+            val estimate = (long) Math.ceil(pageSize * share * ADAPTIVE_FETCH_HEADROOM);
+            sizes[i] = (int) Math.max(1, Math.min(pageSize, estimate));
+        }
+        return sizes;
+    }
+
+    /**
+     * Merges the results into a single page and advances the pointer for rows consumed from every
+     * shard.
+     *
+     * @param pointer    Scroll pointer as of the end of the last page. Will get advanced.
+     * @param firstPages Rows fetched from every shard starting at the shard's offset, indexed by shard
+     * @param fetchSizes Number of rows that were requested from every shard to get firstPages
+     * @return Up to pageSize merged rows
+     */
+    public List<ScrollResultItem<T>> merge(ScrollPointer pointer,
+                                           List<List<T>> firstPages,
+                                           int[] fetchSizes) {
+        val numShards = firstPages.size();
+        val heap = new PriorityQueue<ShardCursor>(Math.max(1, numShards),
+                                                  (lhs, rhs) -> comparator.compare(lhs.head, rhs.head));
+        for (int i = 0; i < numShards; i++) {
+            val cursor = new ShardCursor(i, pointer.getCurrOffset(i), firstPages.get(i), fetchSizes[i]);
+            if (cursor.next(pageSize)) {
+                heap.add(cursor);
+            }
+        }
+        final List<ScrollResultItem<T>> results = new ArrayList<>(pageSize);
+        while (results.size() < pageSize && !heap.isEmpty()) {
+            val cursor = heap.poll();
+            results.add(cursor.head);
+            if (cursor.next(pageSize - results.size())) {
+                heap.add(cursor);
+            }
+        }
+        results.forEach(result -> pointer.advance(result.getShardIdx(), 1));
+        return results;
+    }
+
+    private final class ShardCursor {
+        private final int shardIdx;
+        private List<T> buffer;
+        private int position;
+        private int nextStart;
+        private boolean mayHaveMore;
+        private ScrollResultItem<T> head;
+
+        private ShardCursor(int shardIdx, int start, List<T> firstPage, int requested) {
+            this.shardIdx = shardIdx;
+            this.buffer = null == firstPage ? Collections.emptyList() : firstPage;
+            this.position = 0;
+            this.nextStart = start + buffer.size();
+            this.mayHaveMore = buffer.size() >= requested;
+        }
+
+        /**
+         * Moves head to the next row of the shard, fetching upto numRequired more rows from the
+         * shard if all fetched rows have been consumed.
+         */
+        private boolean next(int numRequired) {
+            if (position >= buffer.size()) {
+                if (!mayHaveMore || numRequired <= 0) {
+                    head = null;
+                    return false;
+                }
+                val fetched = fetcher.fetch(shardIdx, nextStart, numRequired);
+                buffer = null == fetched ? Collections.emptyList() : fetched;
+                position = 0;
+                nextStart += buffer.size();
+                mayHaveMore = buffer.size() >= numRequired;
+                if (buffer.isEmpty()) {
+                    head = null;
+                    return false;
+                }
+            }
+            head = new ScrollResultItem<>(buffer.get(position++), shardIdx);
+            return true;
+        }
+    }
+}
@@ -19,10 +19,34 @@ public class ScrollPointer implements Serializable {
         DOWN
     }
 
+    /**
+     * How the next page is located on every shard.
+     * <ul>
+     *     <li>OFFSET: Skips the rows already read on the shard. Gets slower the deeper the scroll goes.</li>
+     *     <li>KEYSET: Seeks past the last sort key read from the shard. Needs the sort field to be
+     *     unique within a shard, and indexed.</li>
+     * </ul>
+     */
+    public enum Mode {
+        OFFSET,
+        KEYSET
+    }
+
     private static final long serialVersionUID = -3317823670664673152L;
 
     Direction direction;
+    Mode mode;
     Map<Integer, Integer> pointPerShard = new ConcurrentHashMap<>();
+    Map<Integer, Serializable> lastKeyPerShard = new ConcurrentHashMap<>();
+
+    public ScrollPointer(Direction direction) {
+        this(direction, Mode.OFFSET);
+    }
+
+    public ScrollPointer(Direction direction, Mode mode) {
+        this.direction = direction;
+        this.mode = mode;
+    }
 
     public ScrollPointer put(int shard, Integer offset) {
         pointPerShard.put(shard, offset);
@@ -36,4 +60,18 @@ public class ScrollPointer implements Serializable {
     public int getCurrOffset(int shard) {
         return pointPerShard.computeIfAbsent(shard, key -> 0);
     }
+
+    public boolean isKeyset() {
+        //Pointers serialized before modes were introduced will not have a mode
+        return Mode.KEYSET == mode;
+    }
+
+    public ScrollPointer seek(int shard, Serializable lastKey) {
+        lastKeyPerShard.put(shard, lastKey);
+        return this;
+    }
+
+    public Serializable getLastKey(int shard) {
+        return lastKeyPerShard.get(shard);
+    }
 }
@@ -17,24 +17,54 @@
 
 package io.appform.dropwizard.sharding.sharding;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.appform.dropwizard.sharding.exceptions.ShardBlacklistedException;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
- *
+ * Maps buckets to shards and guards against routing to blacklisted shards.
+ * <p>
+ * Both the bucket to shard assignment and the set of blacklisted shards are kept as flat, immutable
+ * snapshots that are published through volatile fields, so routing a bucket is an array lookup and
+ * a bit check. The blacklist is loaded from the {@link ShardBlacklistingStore} by the first caller,
+ * with concurrent first callers waiting for that load. Once the snapshot gets older than
+ * {@link #BLACKLIST_REFRESH_INTERVAL_SECONDS}, it is reloaded in the background and callers keep
+ * using the previous snapshot meanwhile, so requests never wait on the store after the first load.
+ * Changes made through this manager are visible immediately.
  */
 @ToString
 @Slf4j
 public abstract class ShardManager {
+    private static final long BLACKLIST_REFRESH_INTERVAL_SECONDS = 15;
+    private static final long BLACKLIST_REFRESH_INTERVAL_NANOS
+            = TimeUnit.SECONDS.toNanos(BLACKLIST_REFRESH_INTERVAL_SECONDS);
+    private static final int UNMAPPED = -1;
+
+    //Shared by all shard managers, a refresh is a handful of store lookups
+    private static final Executor BLACKLIST_REFRESHER = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("shard-blacklist-refresher-%d")
+            .setDaemon(true)
+            .build());
 
     private final ShardBlacklistingStore shardBlacklistingStore;
-    private LoadingCache<Integer, Boolean> blackListedShards;
+    private final long blacklistRefreshIntervalNanos;
+    @ToString.Exclude
+    private final AtomicBoolean blacklistRefreshInProgress = new AtomicBoolean(false);
+    @ToString.Exclude
+    private volatile int[] bucketToShard;
+    @ToString.Exclude
+    private volatile BlacklistSnapshot blacklist;
 
     abstract public int numBuckets();
 
@@ -43,36 +73,32 @@ public abstract class ShardManager {
     abstract protected int shardForBucketImpl(int bucketId);
 
     protected ShardManager(ShardBlacklistingStore shardBlacklistingStore) {
+        this(shardBlacklistingStore, BLACKLIST_REFRESH_INTERVAL_NANOS);
+    }
+
+    @VisibleForTesting
+    ShardManager(ShardBlacklistingStore shardBlacklistingStore, long blacklistRefreshIntervalNanos) {
         this.shardBlacklistingStore = shardBlacklistingStore;
-        this.blackListedShards = Caffeine.newBuilder()
-                .maximumSize(10_000)
-                .expireAfterWrite(1, TimeUnit.MINUTES)
-                .refreshAfterWrite(15, TimeUnit.SECONDS)
-                .build(shardBlacklistingStore::blacklisted);
+        this.blacklistRefreshIntervalNanos = blacklistRefreshIntervalNanos;
     }
 
     public int shardForBucket(int bucketId) {
-        final int shard = shardForBucketImpl(bucketId);
-        final Boolean isBlacklisted = blackListedShards.get(shard);
-        if (null != isBlacklisted && isBlacklisted) {
+        final int shard = shardForBucketFromTable(bucketId);
+        if (blacklist().isBlacklisted(shard)) {
             throw new ShardBlacklistedException(shard);
         }
         return shard;
     }
 
     public boolean isMappedToValidShard(int bucketId) {
-        final int shard = shardForBucketImpl(bucketId);
-        final Boolean isBlacklisted = blackListedShards.get(shard);
-        if (null != isBlacklisted && isBlacklisted) {
-            return false;
-        }
-        return true;
+        final int shard = shardForBucketFromTable(bucketId);
+        return !blacklist().isBlacklisted(shard);
     }
 
     public void blacklistShard(int shardId) {
         if (shardId >= 0 && shardId < numShards()) {
             shardBlacklistingStore.blacklist(shardId);
-            blackListedShards.refresh(shardId);
+            reloadBlacklist();
         }
     }
 
@@ -88,7 +114,123 @@ public abstract class ShardManager {
     public void unblacklistShard(int shardId) {
         if (shardId >= 0 && shardId < numShards()) {
             shardBlacklistingStore.unblacklist(shardId);
-            blackListedShards.refresh(shardId);
+            reloadBlacklist();
+        }
+    }
+
+    private int shardForBucketFromTable(int bucketId) {
+        final int[] table = routingTable();
+        final int shard = bucketId >= 0 && bucketId < table.length
+                          ? table[bucketId]
+                          : UNMAPPED;
+        //Let the implementation raise the appropriate error for buckets it does not map
+        return shard == UNMAPPED
+               ? shardForBucketImpl(bucketId)
+               : shard;
+    }
+
+    /*
+     * Built lazily as the bucket ranges are set up by subclass constructors after this one has run.
+     * Racing builds produce the same table, so whichever gets published last is fine.
+     */
+    private int[] routingTable() {
+        int[] table = bucketToShard;
+        if (null == table) {
+            table = new int[numBuckets()];
+            Arrays.fill(table, UNMAPPED);
+            for (int bucketId = 0; bucketId < table.length; bucketId++) {
+                try {
+                    table[bucketId] = shardForBucketImpl(bucketId);
+                } catch (RuntimeException | IllegalAccessError e) {
+                    log.debug("Bucket {} is not mapped to any shard", bucketId);
+                }
+            }
+            bucketToShard = table;
+        }
+        return table;
+    }
+
+    private BlacklistSnapshot blacklist() {
+        final BlacklistSnapshot snapshot = blacklist;
+        if (null == snapshot) {
+            return loadBlacklist();
+        }
+        if (System.nanoTime() - snapshot.getLoadedAt() > blacklistRefreshIntervalNanos
+                && blacklistRefreshInProgress.compareAndSet(false, true)) {
+            try {
+                BLACKLIST_REFRESHER.execute(this::refreshBlacklist);
+            } catch (RejectedExecutionException e) {
+                blacklistRefreshInProgress.set(false);
+                log.error("Could not schedule shard blacklist refresh. Will continue with the older one.", e);
+            }
+        }
+        return snapshot;
+    }
+
+    /*
+     * First load. Callers racing for it wait for the one doing the load instead of all hitting the
+     * store
+     */
+    private synchronized BlacklistSnapshot loadBlacklist() {
+        final BlacklistSnapshot snapshot = blacklist;
+        return null != snapshot
+               ? snapshot
+               : reloadBlacklist();
+    }
+
+    private void refreshBlacklist() {
+        try {
+            reloadBlacklist();
+        } catch (RuntimeException e) {
+            log.error("Error refreshing shard blacklist. Will continue with the older one.", e);
+        } finally {
+            blacklistRefreshInProgress.set(false);
+        }
+    }
+
+    private BlacklistSnapshot reloadBlacklist() {
+        final long startedAt = System.nanoTime();
+        final int numShards = numShards();
+        final BitSet blacklisted = new BitSet(numShards);
+        for (int shardId = 0; shardId < numShards; shardId++) {
+            if (shardBlacklistingStore.blacklisted(shardId)) {
+                blacklisted.set(shardId);
+            }
+        }
+        return publish(new BlacklistSnapshot(blacklisted, startedAt));
+    }
+
+    /*
+     * A background refresh that read the store before a change made through this manager must not
+     * replace the snapshot loaded after the change
+     */
+    private synchronized BlacklistSnapshot publish(final BlacklistSnapshot snapshot) {
+        final BlacklistSnapshot current = blacklist;
+        if (null != current && current.getLoadedAt() - snapshot.getLoadedAt() > 0) {
+            return current;
+        }
+        blacklist = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Immutable view of blacklisted shards. The bitset must never be modified once published.
+     */
+    private static final class BlacklistSnapshot {
+        private final BitSet blacklisted;
+        private final long loadedAt;
+
+        private BlacklistSnapshot(BitSet blacklisted, long loadedAt) {
+            this.blacklisted = blacklisted;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isBlacklisted(int shardId) {
+            return shardId >= 0 && blacklisted.get(shardId);
+        }
+
+        private long getLoadedAt() {
+            return loadedAt;
         }
     }
 }
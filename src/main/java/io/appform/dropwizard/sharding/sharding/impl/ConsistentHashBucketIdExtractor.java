@@ -17,11 +17,10 @@
 
 package io.appform.dropwizard.sharding.sharding.impl;
 
-import com.google.common.hash.Hashing;
 import io.appform.dropwizard.sharding.sharding.BucketIdExtractor;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
+import io.appform.dropwizard.sharding.utils.Murmur3;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 /**
@@ -37,7 +36,7 @@ public class ConsistentHashBucketIdExtractor<T> implements BucketIdExtractor<T>
 
     @Override
     public int bucketId(String tenantId, T id) {
-        int hashKey = Hashing.murmur3_128().hashString(id.toString(), StandardCharsets.UTF_8).asInt();
+        int hashKey = Murmur3.hashToInt(id.toString());
         hashKey *= hashKey < 0 ? -1 : 1;
         return hashKey % shardManagers.get(tenantId).numBuckets();
     }
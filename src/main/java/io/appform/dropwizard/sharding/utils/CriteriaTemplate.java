@@ -0,0 +1,26 @@
+package io.appform.dropwizard.sharding.utils;
+
+import org.hibernate.criterion.DetachedCriteria;
+
+/**
+ * A snapshot of a {@link DetachedCriteria} taken once, from which independent copies can be created.
+ * <p>
+ * A {@link DetachedCriteria} binds itself to the session it is executed on and carries paging
+ * state, so every concurrently executed (or differently restricted) query needs its own copy.
+ * Creating copies from a template only costs a deserialization per copy, as opposed to a full
+ * serialization round trip per copy with {@link InternalUtils#cloneObject(java.io.Serializable)}.
+ * <p>
+ * The template only hoists the serialization. A fan out still deserializes one copy per shard, so
+ * its cost keeps growing linearly with the number of shards queried in parallel.
+ */
+public final class CriteriaTemplate {
+    private final byte[] serialized;
+
+    public CriteriaTemplate(final DetachedCriteria criteria) {
+        this.serialized = InternalUtils.serialize(criteria);
+    }
+
+    public DetachedCriteria newCriteria() {
+        return InternalUtils.deserialize(serialized);
+    }
+}
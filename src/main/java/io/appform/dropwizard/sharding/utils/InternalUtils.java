@@ -1,10 +1,13 @@
 package io.appform.dropwizard.sharding.utils;
 
+import com.google.common.base.Preconditions;
 import io.appform.dropwizard.sharding.query.QuerySpec;
 import lombok.SneakyThrows;
 import lombok.experimental.UtilityClass;
 import lombok.val;
 import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.query.Query;
 
 import javax.persistence.criteria.CriteriaBuilder;
@@ -21,16 +24,36 @@ import java.io.Serializable;
  */
 @UtilityClass
 public class InternalUtils {
-    @SneakyThrows
-    @SuppressWarnings("unchecked")
+    /**
+     * Executes the jdbc batch pending on a stateless session. A stateless session not bound to a
+     * transaction of its own discards its pending batch when closed, and has no public api to execute
+     * it. Every stateless session opened by hibernate is a {@link SharedSessionContractImplementor},
+     * whose jdbc coordinator does it.
+     */
+    public static void executePendingBatch(final StatelessSession statelessSession) {
+        Preconditions.checkArgument(statelessSession instanceof SharedSessionContractImplementor,
+                "Unsupported stateless session: " + statelessSession.getClass().getName());
+        ((SharedSessionContractImplementor) statelessSession).getJdbcCoordinator().executeBatch();
+    }
+
     public static <T extends Serializable> T cloneObject(final T input) {
+        return deserialize(serialize(input));
+    }
+
+    @SneakyThrows
+    public static byte[] serialize(final Serializable input) {
         try (val bos = new ByteArrayOutputStream(); val os = new ObjectOutputStream(bos)) {
             os.writeObject(input);
             os.flush();
+            return bos.toByteArray();
+        }
+    }
 
-            try(val ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
-                return (T) ois.readObject();
-            }
+    @SneakyThrows
+    @SuppressWarnings("unchecked")
+    public static <T extends Serializable> T deserialize(final byte[] serialized) {
+        try (val ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return (T) ois.readObject();
         }
     }
 
@@ -44,4 +67,19 @@ public class InternalUtils {
         querySpec.apply(root, criteria, builder);
         return session.createQuery(criteria);
     }
+
+    /**
+     * Creates a query for the {@code querySpec} on a stateless session. Stateless sessions do not
+     * expose a criteria builder, the one of the session factory is passed in.
+     */
+    public <T> Query<T> createQuery(
+        final StatelessSession session,
+        final CriteriaBuilder builder,
+        final Class<T> entityClass,
+        final QuerySpec<T, T> querySpec) {
+        CriteriaQuery<T> criteria = builder.createQuery(entityClass);
+        Root<T> root = criteria.from(entityClass);
+        querySpec.apply(root, criteria, builder);
+        return session.createQuery(criteria);
+    }
 }
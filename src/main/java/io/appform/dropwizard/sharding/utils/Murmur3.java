@@ -0,0 +1,122 @@
+package io.appform.dropwizard.sharding.utils;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Allocation free variant of murmur3 x64 128 bit hashing for strings.
+ * <p>
+ * Produces exactly the same value as
+ * {@code Hashing.murmur3_128().hashString(input, StandardCharsets.UTF_8).asInt()}, but encodes the
+ * string to UTF-8 on the fly instead of creating a hasher and a byte array for every call.
+ */
+@UtilityClass
+public class Murmur3 {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final int BLOCK_SIZE = 16;
+
+    /**
+     * Returns the first four bytes (little endian) of the murmur3 128 bit hash of the UTF-8 encoding
+     * of the input. Unpaired surrogates are encoded as '?', same as {@link String#getBytes}.
+     */
+    public static int hashToInt(CharSequence input) {
+        long h1 = 0;
+        long h2 = 0;
+        long k1 = 0;
+        long k2 = 0;
+        int pos = 0;
+        long length = 0;
+        final int numChars = input.length();
+        for (int i = 0; i < numChars; i++) {
+            final char c = input.charAt(i);
+            //Upto four UTF-8 bytes of the current code point, first byte in the lowest bits
+            int encoded;
+            int numBytes;
+            if (c < 0x80) {
+                encoded = c;
+                numBytes = 1;
+            } else if (c < 0x800) {
+                encoded = (0xc0 | (c >>> 6))
+                        | (0x80 | (c & 0x3f)) << 8;
+                numBytes = 2;
+            } else if (!Character.isSurrogate(c)) {
+                encoded = (0xe0 | (c >>> 12))
+                        | (0x80 | ((c >>> 6) & 0x3f)) << 8
+                        | (0x80 | (c & 0x3f)) << 16;
+                numBytes = 3;
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < numChars
+                    && Character.isLowSurrogate(input.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, input.charAt(++i));
+                encoded = (0xf0 | (codePoint >>> 18))
+                        | (0x80 | ((codePoint >>> 12) & 0x3f)) << 8
+                        | (0x80 | ((codePoint >>> 6) & 0x3f)) << 16
+                        | (0x80 | (codePoint & 0x3f)) << 24;
+                numBytes = 4;
+            } else {
+                encoded = '?';
+                numBytes = 1;
+            }
+            for (int b = 0; b < numBytes; b++, encoded >>>= 8) {
+                final long octet = encoded & 0xffL;
+                if (pos < 8) {
+                    k1 |= octet << (pos * 8);
+                } else {
+                    k2 |= octet << ((pos - 8) * 8);
+                }
+                if (++pos == BLOCK_SIZE) {
+                    h1 ^= mixK1(k1);
+                    h1 = Long.rotateLeft(h1, 27);
+                    h1 += h2;
+                    h1 = h1 * 5 + 0x52dce729;
+
+                    h2 ^= mixK2(k2);
+                    h2 = Long.rotateLeft(h2, 31);
+                    h2 += h1;
+                    h2 = h2 * 5 + 0x38495ab5;
+
+                    k1 = 0;
+                    k2 = 0;
+                    pos = 0;
+                    length += BLOCK_SIZE;
+                }
+            }
+        }
+        if (pos > 0) {
+            h1 ^= mixK1(k1);
+            h2 ^= mixK2(k2);
+            length += pos;
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        return (int) h1;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        return k2;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
@@ -17,6 +17,10 @@
 
 package io.appform.dropwizard.sharding.utils;
 
+import io.appform.dropwizard.sharding.execution.TransactionPhases;
+import io.appform.dropwizard.sharding.hibernate.ReplicaRoutingDataSource;
+import io.appform.dropwizard.sharding.metrics.SlowStatementRecorder;
+import io.appform.dropwizard.sharding.metrics.StatementTimer;
 import lombok.Getter;
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
@@ -40,19 +44,40 @@ public class TransactionHandler {
     private final SessionFactory sessionFactory;
     private final boolean readOnly;
     private final boolean skipCommit;
+    private final TransactionPhases phases;
+    private Boolean previousReadOnly;
 
     public TransactionHandler(SessionFactory sessionFactory, boolean readOnly) {
         this(sessionFactory, readOnly, false);
     }
 
     public TransactionHandler(SessionFactory sessionFactory, boolean readOnly, boolean skipCommit) {
+        this(sessionFactory, readOnly, skipCommit, null);
+    }
+
+    /**
+     * @param phases Accumulates the time spent acquiring the connection, beginning, flushing and
+     *               committing the transaction. Can be null.
+     */
+    public TransactionHandler(SessionFactory sessionFactory,
+                              boolean readOnly,
+                              boolean skipCommit,
+                              TransactionPhases phases) {
         this.sessionFactory = sessionFactory;
         this.readOnly = readOnly;
         this.skipCommit = skipCommit;
+        this.phases = phases;
     }
 
     public void beforeStart() {
-        session = sessionFactory.openSession();
+        //Lets shards with read replicas hand out a replica connection for read only transactions
+        previousReadOnly = ReplicaRoutingDataSource.setReadOnly(readOnly);
+        try {
+            session = openSession();
+        } catch (Throwable th) {
+            ReplicaRoutingDataSource.setReadOnly(previousReadOnly);
+            throw th;
+        }
         try {
             configureSession();
             ManagedSessionContext.bind(session);
@@ -65,6 +90,7 @@ public class TransactionHandler {
             ManagedSessionContext.unbind(sessionFactory);
             //Clean up tenant id
             MDC.remove(TENANT_ID);
+            ReplicaRoutingDataSource.setReadOnly(previousReadOnly);
             throw th;
         }
     }
@@ -88,6 +114,7 @@ public class TransactionHandler {
             ManagedSessionContext.unbind(sessionFactory);
             //Clean up tenant id
             MDC.remove(TENANT_ID);
+            ReplicaRoutingDataSource.setReadOnly(previousReadOnly);
         }
 
     }
@@ -104,10 +131,30 @@ public class TransactionHandler {
             ManagedSessionContext.unbind(sessionFactory);
             //Clean up tenant id
             MDC.remove(TENANT_ID);
+            ReplicaRoutingDataSource.setReadOnly(previousReadOnly);
+        }
+    }
+
+    private Session openSession() {
+        final Object recorder = sessionFactory.getProperties().get(SlowStatementRecorder.SESSION_FACTORY_PROPERTY);
+        if (!(recorder instanceof SlowStatementRecorder)) {
+            return sessionFactory.openSession();
         }
+        //Slow statement tracking is enabled for the shard
+        //Replaces the statement inspector of the session factory on the session, so it is chained
+        final StatementTimer statementTimer = new StatementTimer((SlowStatementRecorder) recorder,
+                sessionFactory.getSessionFactoryOptions().getStatementInspector());
+        final Session timedSession = sessionFactory.withOptions()
+                .statementInspector(statementTimer)
+                .openSession();
+        timedSession.addEventListeners(statementTimer);
+        return timedSession;
     }
 
     private void configureSession() {
+        if (null != phases) {
+            session.addEventListeners(phases);
+        }
         session.setDefaultReadOnly(readOnly);
         session.setCacheMode(CacheMode.NORMAL);
         session.setHibernateFlushMode(FlushMode.AUTO);
@@ -119,7 +166,16 @@ public class TransactionHandler {
     }
 
     private void beginTransaction() {
-        session.beginTransaction();
+        if (null == phases) {
+            session.beginTransaction();
+            return;
+        }
+        final long start = phases.clock();
+        try {
+            session.beginTransaction();
+        } finally {
+            phases.addBegin(start);
+        }
     }
 
     private void rollbackTransaction() {
@@ -132,7 +188,16 @@ public class TransactionHandler {
     private void commitTransaction() {
         final Transaction txn = session.getTransaction();
         if (txn != null && txn.getStatus() == TransactionStatus.ACTIVE) {
-            txn.commit();
+            if (null == phases) {
+                txn.commit();
+                return;
+            }
+            final long start = phases.clock();
+            try {
+                txn.commit();
+            } finally {
+                phases.addCommit(start);
+            }
         }
     }
 }
@@ -17,6 +17,7 @@ import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Restrictions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -158,6 +159,71 @@ public class ScrollTest {
                    "There are " + Sets.difference(ids, Set.copyOf(entities)) + " ids missing in scroll");
     }
 
+    @Test
+    public void testKeysetScrollMatchesOffsetScroll() {
+        val numEntities = 400;
+        val ids = new HashSet<Integer>();
+        populateEntities(1, numEntities, ids);
+
+        for (val direction : ScrollPointer.Direction.values()) {
+            val byOffset = new ArrayList<Integer>();
+            val byKeyset = new ArrayList<Integer>();
+            var offsetPointer = new ScrollPointer(direction);
+            var keysetPointer = new ScrollPointer(direction, ScrollPointer.Mode.KEYSET);
+            var result = (ScrollResult<ScrollTestEntity>) null;
+            do {
+                result = scroll(offsetPointer, 10);
+                addValuesToSet(byOffset, result);
+                offsetPointer = result.getPointer();
+            } while (!result.getResult().isEmpty());
+            do {
+                result = scroll(keysetPointer, 10);
+                addValuesToSet(byKeyset, result);
+                keysetPointer = result.getPointer();
+            } while (!result.getResult().isEmpty());
+            assertEquals(byOffset, byKeyset, "Keyset scroll order differs for direction " + direction);
+            assertTrue(byKeyset.containsAll(ids),
+                       "There are " + Sets.difference(ids, Set.copyOf(byKeyset)) + " ids missing in scroll");
+        }
+    }
+
+    @Test
+    public void testQuerySpecScrollMatchesCriteriaScroll() {
+        val numEntities = 200;
+        val ids = new HashSet<Integer>();
+        populateEntities(1, numEntities, ids);
+
+        for (val mode : ScrollPointer.Mode.values()) {
+            val byCriteria = new ArrayList<Integer>();
+            val byQuerySpec = new ArrayList<Integer>();
+            var criteriaPointer = new ScrollPointer(ScrollPointer.Direction.DOWN, mode);
+            var querySpecPointer = new ScrollPointer(ScrollPointer.Direction.DOWN, mode);
+            var result = (ScrollResult<ScrollTestEntity>) null;
+            do {
+                result = lookupDao.scrollDown(DetachedCriteria.forClass(ScrollTestEntity.class)
+                                                      .add(Restrictions.gt("value", 50)),
+                                              criteriaPointer, 10, "id");
+                addValuesToSet(byCriteria, result);
+                criteriaPointer = result.getPointer();
+            } while (!result.getResult().isEmpty());
+            do {
+                result = lookupDao.scrollDown((queryRoot, query, criteriaBuilder)
+                                                      -> query.where(criteriaBuilder.gt(queryRoot.get("value"), 50)),
+                                              querySpecPointer, 10, "id");
+                addValuesToSet(byQuerySpec, result);
+                querySpecPointer = result.getPointer();
+            } while (!result.getResult().isEmpty());
+            assertEquals(numEntities - 50, byQuerySpec.size());
+            assertEquals(byCriteria, byQuerySpec, "Query spec scroll order differs for mode " + mode);
+        }
+    }
+
+    private ScrollResult<ScrollTestEntity> scroll(ScrollPointer pointer, int pageSize) {
+        return pointer.getDirection() == ScrollPointer.Direction.DOWN
+               ? lookupDao.scrollDown(DetachedCriteria.forClass(ScrollTestEntity.class), pointer, pageSize, "id")
+               : lookupDao.scrollUp(DetachedCriteria.forClass(ScrollTestEntity.class), pointer, pageSize, "id");
+    }
+
     @Test
     public void testScrollSorted() {
         val numEntities = 400;
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class ShardInfoProviderTest {
 
@@ -48,5 +49,9 @@ public class ShardInfoProviderTest {
         ShardInfoProvider shardInfoProvider = new ShardInfoProvider("default");
         String shardName = shardInfoProvider.shardName(1);
         assertEquals("connectionpool-default-1", shardName);
+        assertSame(shardName, shardInfoProvider.shardName(1));
+        assertEquals("connectionpool-default-5", shardInfoProvider.shardName(5));
+        assertEquals("connectionpool-default-0", shardInfoProvider.shardName(0));
+        assertSame(shardName, shardInfoProvider.shardName(1));
     }
 }
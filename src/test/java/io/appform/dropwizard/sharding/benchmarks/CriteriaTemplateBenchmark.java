@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.benchmarks;
+
+import io.appform.dropwizard.sharding.dao.testdata.entities.TestEntity;
+import io.appform.dropwizard.sharding.utils.CriteriaTemplate;
+import io.appform.dropwizard.sharding.utils.InternalUtils;
+import org.hibernate.criterion.DetachedCriteria;
+import org.hibernate.criterion.Order;
+import org.hibernate.criterion.Restrictions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of giving every shard of a parallel fan out its own copy of the caller's criteria: a full
+ * serialization round trip per shard against a single {@link CriteriaTemplate} deserialized once
+ * per shard. Both grow linearly with the number of shards, the template only saves the repeated
+ * serialization. Run {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriteriaTemplateBenchmark {
+
+    @Param({"1", "16", "64"})
+    public int shards;
+
+    private DetachedCriteria criteria;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        criteria = DetachedCriteria.forClass(TestEntity.class)
+                .add(Restrictions.in("externalId", List.of("id1", "id2", "id3", "id4")))
+                .add(Restrictions.like("text", "Some%"))
+                .addOrder(Order.asc("externalId"));
+    }
+
+    @Benchmark
+    public void cloneObjectPerShard(Blackhole blackhole) {
+        for (int shard = 0; shard < shards; shard++) {
+            blackhole.consume(InternalUtils.cloneObject(criteria));
+        }
+    }
+
+    @Benchmark
+    public void templatePerShard(Blackhole blackhole) {
+        final CriteriaTemplate template = new CriteriaTemplate(criteria);
+        for (int shard = 0; shard < shards; shard++) {
+            blackhole.consume(template.newCriteria());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CriteriaTemplateBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
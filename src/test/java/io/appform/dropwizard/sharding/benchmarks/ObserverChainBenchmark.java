@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.benchmarks;
+
+import com.codahale.metrics.MetricRegistry;
+import io.appform.dropwizard.sharding.config.MetricConfig;
+import io.appform.dropwizard.sharding.dao.operations.Save;
+import io.appform.dropwizard.sharding.dao.testdata.entities.TestEntity;
+import io.appform.dropwizard.sharding.execution.DaoType;
+import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
+import io.appform.dropwizard.sharding.execution.TransactionPhases;
+import io.appform.dropwizard.sharding.metrics.TransactionMetricManager;
+import io.appform.dropwizard.sharding.metrics.TransactionMetricObserver;
+import io.appform.dropwizard.sharding.observers.TransactionObserver;
+import io.appform.dropwizard.sharding.observers.internal.FilteringObserver;
+import io.appform.dropwizard.sharding.observers.internal.ListenerTriggeringObserver;
+import io.appform.dropwizard.sharding.observers.internal.TerminalTransactionObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per call cost of the observer chain the bundle sets up around every shard transaction: filters,
+ * metrics and listeners, with no filters or listeners registered. {@link #main(String[])} runs it
+ * with the gc profiler, whose gc.alloc.rate.norm shows the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ObserverChainBenchmark {
+
+    @Param({"false", "true"})
+    public boolean metricsEnabled;
+
+    private TransactionObserver rootObserver;
+    private Save<TestEntity, TestEntity> opContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final TransactionMetricManager metricManager = new TransactionMetricManager(
+                () -> MetricConfig.builder()
+                        .enabledForAll(metricsEnabled)
+                        .build(),
+                new MetricRegistry());
+        TransactionObserver observer = new TerminalTransactionObserver();
+        observer = new ListenerTriggeringObserver(observer);
+        observer = new TransactionMetricObserver(metricManager).setNext(observer);
+        rootObserver = new FilteringObserver(observer);
+        opContext = Save.<TestEntity, TestEntity>builder()
+                .entity(TestEntity.builder()
+                        .externalId("benchmarkId")
+                        .build())
+                .saver(entity -> entity)
+                .build();
+    }
+
+    @Benchmark
+    public String execute() {
+        final TransactionExecutionContext context = TransactionExecutionContext.builder()
+                .commandName("save")
+                .shardName("default_0")
+                .tenantId("default")
+                .daoType(DaoType.LOOKUP)
+                .entityClass(TestEntity.class)
+                .opContext(opContext)
+                .phases(new TransactionPhases())
+                .build();
+        return rootObserver.execute(context, () -> "done");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ObserverChainBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.benchmarks;
+
+import io.appform.dropwizard.sharding.DBShardingBundleBase;
+import io.appform.dropwizard.sharding.ShardInfoProvider;
+import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
+import io.appform.dropwizard.sharding.dao.LookupDao;
+import io.appform.dropwizard.sharding.dao.MultiTenantLookupDao;
+import io.appform.dropwizard.sharding.dao.testdata.entities.TestEntity;
+import io.appform.dropwizard.sharding.observers.internal.TerminalTransactionObserver;
+import io.appform.dropwizard.sharding.sharding.BalancedShardManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a lookup dao get with and without the BEGIN/COMMIT round trips of a read only
+ * transaction, see {@link ShardingBundleOptions#isSkipReadOnlyTransaction()}. Runs against an in
+ * memory H2 shard, so it measures the overhead added by the library and hibernate rather than
+ * network latency. Run {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    @Param({"false", "true"})
+    public boolean skipReadOnlyTransaction;
+
+    private SessionFactory sessionFactory;
+    private LookupDao<TestEntity> lookupDao;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        configuration.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+        configuration.setProperty("hibernate.connection.url",
+                "jdbc:h2:mem:benchmark_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        configuration.setProperty("hibernate.hbm2ddl.auto", "create");
+        configuration.setProperty("hibernate.current_session_context_class", "managed");
+        configuration.addAnnotatedClass(TestEntity.class);
+        sessionFactory = configuration.buildSessionFactory(new StandardServiceRegistryBuilder()
+                .applySettings(configuration.getProperties())
+                .build());
+        //Shard managers need at least two shards, both are on the same database
+        lookupDao = new LookupDao<>(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                new MultiTenantLookupDao<>(Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                        List.of(sessionFactory, sessionFactory)),
+                        TestEntity.class,
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new BalancedShardManager(2)),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, ShardingBundleOptions.builder()
+                                .skipReadOnlyTransaction(skipReadOnlyTransaction)
+                                .build()),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new ShardInfoProvider("default")),
+                        new TerminalTransactionObserver()));
+        lookupDao.save(TestEntity.builder()
+                .externalId("benchmarkId")
+                .text("Some Text")
+                .build());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Optional<TestEntity> get() throws Exception {
+        return lookupDao.get("benchmarkId");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ReadOnlyTransactionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.benchmarks;
+
+import io.appform.dropwizard.sharding.DBShardingBundleBase;
+import io.appform.dropwizard.sharding.ShardInfoProvider;
+import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
+import io.appform.dropwizard.sharding.dao.MultiTenantRelationalDao;
+import io.appform.dropwizard.sharding.dao.RelationalDao;
+import io.appform.dropwizard.sharding.dao.testdata.entities.RelationalEntity;
+import io.appform.dropwizard.sharding.observers.internal.TerminalTransactionObserver;
+import io.appform.dropwizard.sharding.sharding.BalancedShardManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of a query spec based relational select of {@link #rows} rows on the session and on a
+ * stateless session, see {@link ShardingBundleOptions#isStatelessReads()}. Runs against an in memory
+ * H2 shard. {@link #main(String[])} runs it with the gc profiler, whose gc.alloc.rate.norm shows the
+ * bytes allocated per select.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatelessReadBenchmark {
+
+    private static final String PARENT_KEY = "benchmarkParent";
+
+    @Param({"false", "true"})
+    public boolean statelessReads;
+
+    @Param({"1000"})
+    public int rows;
+
+    private SessionFactory sessionFactory;
+    private RelationalDao<RelationalEntity> relationalDao;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final Configuration configuration = new Configuration();
+        configuration.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        configuration.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+        configuration.setProperty("hibernate.connection.url",
+                "jdbc:h2:mem:benchmark_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        configuration.setProperty("hibernate.hbm2ddl.auto", "create");
+        configuration.setProperty("hibernate.current_session_context_class", "managed");
+        configuration.addAnnotatedClass(RelationalEntity.class);
+        sessionFactory = configuration.buildSessionFactory(new StandardServiceRegistryBuilder()
+                .applySettings(configuration.getProperties())
+                .build());
+        //Shard managers need at least two shards, both are on the same database
+        relationalDao = new RelationalDao<>(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                new MultiTenantRelationalDao<>(Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                        List.of(sessionFactory, sessionFactory)),
+                        RelationalEntity.class,
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new BalancedShardManager(2)),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, ShardingBundleOptions.builder()
+                                .statelessReads(statelessReads)
+                                .build()),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new ShardInfoProvider("default")),
+                        new TerminalTransactionObserver()));
+        relationalDao.saveAll(PARENT_KEY, IntStream.range(0, rows)
+                .mapToObj(i -> RelationalEntity.builder()
+                        .key(String.valueOf(i))
+                        .keyTwo("benchmark")
+                        .value("Some Value " + i)
+                        .build())
+                .collect(Collectors.toList()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<RelationalEntity> select() throws Exception {
+        return relationalDao.select(PARENT_KEY,
+                (queryRoot, query, criteriaBuilder) -> query.where(
+                        criteriaBuilder.equal(queryRoot.get("keyTwo"), "benchmark")),
+                0,
+                rows);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StatelessReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
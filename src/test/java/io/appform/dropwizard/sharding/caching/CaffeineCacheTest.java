@@ -0,0 +1,167 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import io.appform.dropwizard.sharding.config.CacheConfig;
+import io.dropwizard.util.Duration;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CaffeineCacheTest {
+
+    @Test
+    public void testLookupCache() {
+        val metricRegistry = new MetricRegistry();
+        val cache = new CaffeineLookupCache<String>("test.lookup",
+                                                    CacheConfig.builder()
+                                                            .maximumSize(100)
+                                                            .expireAfterWrite(Duration.minutes(1))
+                                                            .refreshAfterWrite(Duration.seconds(30))
+                                                            .build(),
+                                                    metricRegistry);
+        assertFalse(cache.exists("k1"));
+        assertNull(cache.get("k1"));
+        cache.put("k1", "v1");
+        assertTrue(cache.exists("k1"));
+        assertEquals("v1", cache.get("k1"));
+        cache.put("k1", null);
+        assertFalse(cache.exists("k1"));
+
+        assertEquals(2L, metricRegistry.getGauges().get("test.lookup.hits").getValue());
+        assertEquals(3L, metricRegistry.getGauges().get("test.lookup.misses").getValue());
+        assertTrue(metricRegistry.getGauges().containsKey("test.lookup.evictions"));
+        assertTrue(metricRegistry.getGauges().containsKey("test.lookup.size"));
+    }
+
+    @Test
+    public void testNegativeCaching() {
+        val metricRegistry = new MetricRegistry();
+        val cache = new CaffeineLookupCache<String>("test.negative",
+                                                    CacheConfig.builder()
+                                                            .negativeExpireAfterWrite(Duration.seconds(30))
+                                                            .build(),
+                                                    metricRegistry);
+        val numLoads = new AtomicInteger();
+        assertNull(cache.getOrLoad("k1", () -> {
+            numLoads.incrementAndGet();
+            return null;
+        }));
+        assertNull(cache.getOrLoad("k1", () -> {
+            numLoads.incrementAndGet();
+            return null;
+        }));
+        assertEquals(1, numLoads.get());
+        assertEquals(1L, metricRegistry.getGauges().get("test.negative.negative.size").getValue());
+
+        //Writes forget that the key was missing
+        cache.put("k1", "v1");
+        assertEquals("v1", cache.getOrLoad("k1", () -> null));
+        cache.invalidate("k1");
+        assertEquals("v2", cache.getOrLoad("k1", () -> "v2"));
+        assertEquals(0L, metricRegistry.getGauges().get("test.negative.negative.size").getValue());
+    }
+
+    @Test
+    public void testMissIsNotRememberedWhenInvalidatedDuringLoad() {
+        val cache = new CaffeineLookupCache<String>("test.negative.race",
+                                                    CacheConfig.builder()
+                                                            .negativeExpireAfterWrite(Duration.seconds(30))
+                                                            .build(),
+                                                    new MetricRegistry());
+        //The load reads the row as missing, then the insert commits and invalidates the key
+        assertNull(cache.getOrLoad("k1", () -> {
+            cache.invalidate("k1");
+            return null;
+        }));
+        assertEquals("v1", cache.getOrLoad("k1", () -> "v1"));
+
+        //Same for invalidating everything, as done for writes that do not identify their rows
+        cache.invalidate("k1");
+        assertNull(cache.getOrLoad("k1", () -> {
+            cache.invalidateAll();
+            return null;
+        }));
+        assertEquals("v2", cache.getOrLoad("k1", () -> "v2"));
+    }
+
+    @Test
+    public void testLoadRunsOutsideCacheLocks() throws Exception {
+        val cache = new CaffeineLookupCache<String>("test.load",
+                                                    CacheConfig.builder()
+                                                            .maximumSize(100)
+                                                            .build(),
+                                                    new MetricRegistry());
+        val loading = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val executorService = Executors.newSingleThreadExecutor();
+        try {
+            val slowLoad = executorService.submit(() -> cache.getOrLoad("k1", () -> {
+                loading.countDown();
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "stale";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            //Other keys are not held up by the load
+            assertEquals("v2", cache.getOrLoad("k2", () -> "v2"));
+            //A write made while the key is being loaded wins over the loaded value
+            cache.put("k1", "fresh");
+            release.countDown();
+            assertEquals("stale", slowLoad.get(5, TimeUnit.SECONDS));
+            assertEquals("fresh", cache.get("k1"));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRelationalCache() {
+        val metricRegistry = new MetricRegistry();
+        val cache = new CaffeineRelationalCache<String>("test.relational",
+                                                        CacheConfig.builder()
+                                                                .maximumWeight(1000)
+                                                                .build(),
+                                                        metricRegistry);
+        cache.put("p1", "k1", "v1");
+        cache.put("p1", List.of("v1", "v2"));
+        cache.put("p1", 0, 1, List.of("v1"));
+        assertTrue(cache.exists("p1", "k1"));
+        assertFalse(cache.exists("p2", "k1"));
+        assertEquals("v1", cache.get("p1", "k1"));
+        assertEquals(List.of("v1", "v2"), cache.select("p1"));
+        assertEquals(List.of("v1"), cache.select("p1", 0, 1));
+        assertNull(cache.select("p1", 1, 1));
+        assertNull(cache.select("p2"));
+        assertEquals(4L, metricRegistry.getGauges().get("test.relational.hits").getValue());
+    }
+}
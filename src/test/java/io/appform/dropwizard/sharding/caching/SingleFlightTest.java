@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.caching;
+
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+
+    private static final int NUM_CALLERS = 8;
+
+    @Test
+    @SneakyThrows
+    public void testConcurrentLoadsCollapse() {
+        val singleFlight = new SingleFlight<String, String>();
+        val numLoads = new AtomicInteger();
+        val release = new CountDownLatch(1);
+        val executorService = Executors.newFixedThreadPool(NUM_CALLERS);
+        try {
+            val results = submit(executorService, () -> singleFlight.load("k1", key -> {
+                numLoads.incrementAndGet();
+                await(release);
+                return key + "-value";
+            }));
+            waitForCallers(singleFlight);
+            release.countDown();
+            for (val result : results) {
+                assertEquals("k1-value", result.get());
+            }
+            assertEquals(1, numLoads.get());
+
+            //Nothing is remembered once the load is done
+            assertEquals("k1-value", singleFlight.load("k1", key -> {
+                numLoads.incrementAndGet();
+                return key + "-value";
+            }));
+            assertEquals(2, numLoads.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testFailurePropagatesToAllCallers() {
+        val singleFlight = new SingleFlight<String, String>();
+        val numLoads = new AtomicInteger();
+        val release = new CountDownLatch(1);
+        val executorService = Executors.newFixedThreadPool(NUM_CALLERS);
+        try {
+            val results = submit(executorService, () -> singleFlight.load("k1", key -> {
+                numLoads.incrementAndGet();
+                await(release);
+                throw new IllegalStateException("load failed");
+            }));
+            waitForCallers(singleFlight);
+            release.countDown();
+            for (val result : results) {
+                val e = assertThrows(ExecutionException.class, result::get);
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+            assertEquals(1, numLoads.get());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static List<Future<String>> submit(ExecutorService executorService,
+                                               Callable<String> task) {
+        val results = new ArrayList<Future<String>>();
+        for (int i = 0; i < NUM_CALLERS; i++) {
+            results.add(executorService.submit(task));
+        }
+        return results;
+    }
+
+    private static void waitForCallers(SingleFlight<String, String> singleFlight) {
+        //One caller runs the load, the rest queue up behind it
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.waiting() < NUM_CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(NUM_CALLERS - 1, singleFlight.waiting());
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await();
+    }
+}
@@ -30,13 +30,17 @@ import io.appform.dropwizard.sharding.dao.testdata.entities.Phone;
 import io.appform.dropwizard.sharding.dao.testdata.entities.TestEntity;
 import io.appform.dropwizard.sharding.dao.testdata.entities.TestEntityWithAIId;
 import io.appform.dropwizard.sharding.dao.testdata.entities.Transaction;
+import io.appform.dropwizard.sharding.hibernate.ReplicaRoutingDataSource;
 import io.appform.dropwizard.sharding.observers.internal.ListenerTriggeringObserver;
 import io.appform.dropwizard.sharding.sharding.BalancedShardManager;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
+import io.dropwizard.db.ManagedDataSource;
 import lombok.val;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Restrictions;
@@ -44,16 +48,23 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class LookupDaoTest {
 
@@ -65,12 +76,15 @@ public class LookupDaoTest {
     private RelationalDao<Audit> auditDao;
 
     private SessionFactory buildSessionFactory(String dbName) {
+        return buildSessionFactory(Map.of("hibernate.connection.driver_class", "org.h2.Driver",
+                "hibernate.connection.url", "jdbc:h2:mem:" + dbName));
+    }
+
+    private SessionFactory buildSessionFactory(Map<String, Object> connectionSettings) {
         Configuration configuration = new Configuration();
         configuration.setProperty("hibernate.dialect",
                 "org.hibernate.dialect.H2Dialect");
-        configuration.setProperty("hibernate.connection.driver_class",
-                "org.h2.Driver");
-        configuration.setProperty("hibernate.connection.url", "jdbc:h2:mem:" + dbName);
+        configuration.getProperties().putAll(connectionSettings);
         configuration.setProperty("hibernate.hbm2ddl.auto", "create");
         configuration.setProperty("hibernate.current_session_context_class", "managed");
         configuration.setProperty("hibernate.show_sql", "true");
@@ -134,6 +148,17 @@ public class LookupDaoTest {
         sessionFactories.forEach(SessionFactory::close);
     }
 
+    private LookupDao<TestEntity> daoWith(final ShardingBundleOptions shardingOptions) {
+        return new LookupDao<>(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                new MultiTenantLookupDao<>(Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, sessionFactories),
+                        TestEntity.class,
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                                new BalancedShardManager(sessionFactories.size())),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, shardingOptions),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new ShardInfoProvider("default")),
+                        new TimerObserver(new ListenerTriggeringObserver().addListener(new LoggingListener()))));
+    }
+
     @Test
     public void testSave() throws Exception {
         TestEntity testEntity = TestEntity.builder()
@@ -171,6 +196,13 @@ public class LookupDaoTest {
                 result.get()
                         .getText());
 
+        //Updaters can return a new instance in place of the loaded one
+        assertTrue(lookupDao.update("testId", entity -> TestEntity.builder()
+                .externalId("testId")
+                .text("Replaced text")
+                .build()));
+        assertEquals("Replaced text", lookupDao.get("testId").get().getText());
+
         updateStatus = lookupDao.update("testIdxxx", entity -> {
             if (entity.isPresent()) {
                 TestEntity e = entity.get();
@@ -226,6 +258,180 @@ public class LookupDaoTest {
                         .getText());
     }
 
+    @Test
+    public void testParallelScatterGather() throws Exception {
+        final LookupDao<TestEntity> parallelDao = daoWith(ShardingBundleOptions.builder()
+                .scatterGatherParallelism(sessionFactories.size())
+                .build());
+        for (int i = 0; i < 10; i++) {
+            parallelDao.save(TestEntity.builder()
+                    .externalId("testId" + i)
+                    .text("Some Text")
+                    .build());
+        }
+        val results = parallelDao.scatterGather(DetachedCriteria.forClass(TestEntity.class)
+                .add(Restrictions.eq("text", "Some Text")));
+        assertEquals(10, results.size());
+        val querySpecResults = parallelDao.scatterGather((queryRoot, query, criteriaBuilder)
+                -> query.where(criteriaBuilder.equal(queryRoot.get("text"), "Some Text")), 0, 10);
+        assertEquals(10, querySpecResults.size());
+        assertEquals(10L, parallelDao.count(DetachedCriteria.forClass(TestEntity.class))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum());
+    }
+
+    @Test
+    public void testStatelessReads() throws Exception {
+        final LookupDao<TestEntity> statelessDao = daoWith(ShardingBundleOptions.builder()
+                .statelessReads(true)
+                .build());
+        for (int i = 0; i < 10; i++) {
+            statelessDao.save(TestEntity.builder()
+                    .externalId("statelessId" + i)
+                    .text(i < 6 ? "Stateless Text" : "Other Text")
+                    .build());
+        }
+        val results = statelessDao.scatterGather((queryRoot, query, criteriaBuilder)
+                -> query.where(criteriaBuilder.equal(queryRoot.get("text"), "Stateless Text")));
+        assertEquals(6, results.size());
+        results.forEach(entity -> assertEquals("Stateless Text", entity.getText()));
+        //Paging is applied on every shard
+        val paged = statelessDao.scatterGather((queryRoot, query, criteriaBuilder)
+                -> query.where(criteriaBuilder.equal(queryRoot.get("text"), "Stateless Text")), 0, 1);
+        assertTrue(paged.size() <= sessionFactories.size());
+        assertEquals("Other Text", statelessDao.get("statelessId7").map(TestEntity::getText).orElse(null));
+    }
+
+    @Test
+    public void testMultiGet() throws Exception {
+        final LookupDao<TestEntity> batchingDao = daoWith(ShardingBundleOptions.builder()
+                .scatterGatherParallelism(sessionFactories.size())
+                .multiGetBatchSize(3)
+                .build());
+        final List<String> keys = Lists.newArrayList();
+        for (int i = 0; i < 20; i++) {
+            keys.add("multiGet" + i);
+            batchingDao.save(TestEntity.builder()
+                    .externalId("multiGet" + i)
+                    .text("Text " + i)
+                    .build());
+        }
+        final List<String> requested = Lists.newArrayList(keys);
+        requested.add("multiGetMissing");
+        requested.add("multiGet0");
+        val results = batchingDao.multiGet(requested);
+        assertEquals(keys, Lists.newArrayList(results.keySet()));
+        results.forEach((key, entity) -> assertEquals(key, entity.getExternalId()));
+        assertEquals("Text 7", results.get("multiGet7").getText());
+        assertFalse(results.containsKey("multiGetMissing"));
+        assertEquals(20, batchingDao.get(keys).size());
+        assertTrue(batchingDao.multiGet(List.of()).isEmpty());
+    }
+
+    @Test
+    public void testAsync() throws Exception {
+        final LookupDao<TestEntity> asyncDao = daoWith(ShardingBundleOptions.builder()
+                .asyncParallelism(4)
+                .build());
+        val saved = asyncDao.saveAsync(TestEntity.builder()
+                        .externalId("asyncId")
+                        .text("Async Text")
+                        .build())
+                .thenCompose(entity -> asyncDao.getAsync(entity.get().getExternalId()))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals("Async Text", saved.get().getText());
+        assertFalse(asyncDao.getAsync("asyncMissing").get(5, TimeUnit.SECONDS).isPresent());
+        assertEquals(1, asyncDao.scatterGatherAsync(DetachedCriteria.forClass(TestEntity.class)
+                        .add(Restrictions.eq("externalId", "asyncId")))
+                .get(5, TimeUnit.SECONDS)
+                .size());
+    }
+
+    @Test
+    public void testSkipReadOnlyTransaction() throws Exception {
+        final LookupDao<TestEntity> skippingDao = daoWith(ShardingBundleOptions.builder()
+                .skipReadOnlyTransaction(true)
+                .build());
+        for (int i = 0; i < 5; i++) {
+            skippingDao.save(TestEntity.builder()
+                    .externalId("testId" + i)
+                    .text("Some Text")
+                    .build());
+        }
+        sessionFactories.forEach(sessionFactory -> sessionFactory.getStatistics().setStatisticsEnabled(true));
+        sessionFactories.forEach(sessionFactory -> sessionFactory.getStatistics().clear());
+
+        assertEquals("Some Text", skippingDao.get("testId0").map(TestEntity::getText).orElse(null));
+        assertEquals(5, skippingDao.scatterGather(DetachedCriteria.forClass(TestEntity.class)).size());
+        assertEquals(5L, skippingDao.count(DetachedCriteria.forClass(TestEntity.class))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum());
+        assertEquals(5, skippingDao.scrollDown(DetachedCriteria.forClass(TestEntity.class),
+                null, 10, "externalId").getResult().size());
+        //No BEGIN/COMMIT for any of the reads
+        assertEquals(0L, transactionCount());
+
+        //Writes still run in a transaction
+        skippingDao.update("testId0", entity -> {
+            entity.ifPresent(e -> e.setText("Updated Text"));
+            return entity.orElse(null);
+        });
+        assertTrue(transactionCount() > 0);
+        assertEquals("Updated Text", skippingDao.get("testId0").map(TestEntity::getText).orElse(null));
+    }
+
+    @Test
+    public void testWritesOnShardWithReplicaGoToPrimary() throws Exception {
+        val primaryUrl = "jdbc:h2:mem:primary_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        val primary = mock(ManagedDataSource.class);
+        when(primary.getConnection()).thenAnswer(invocation -> DriverManager.getConnection(primaryUrl));
+        val replica = mock(ManagedDataSource.class);
+        when(replica.getConnection()).thenThrow(new SQLException("Writes should not reach the replica"));
+        val replicatedFactory = buildSessionFactory(Map.of(AvailableSettings.DATASOURCE,
+                new ReplicaRoutingDataSource("replicated", primary, List.of(replica), 0, false)));
+        try {
+            //Shard managers need at least two shards, both are on the replicated data source
+            final LookupDao<TestEntity> replicatedDao = new LookupDao<>(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                    new MultiTenantLookupDao<>(Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                            List.of(replicatedFactory, replicatedFactory)),
+                            TestEntity.class,
+                            Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new BalancedShardManager(2)),
+                            Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new ShardingBundleOptions()),
+                            Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new ShardInfoProvider("default")),
+                            new TimerObserver(new ListenerTriggeringObserver().addListener(new LoggingListener()))));
+            replicatedDao.save(TestEntity.builder()
+                    .externalId("testId")
+                    .text("Some Text")
+                    .build());
+            assertTrue(replicatedDao.update("testId", entity -> {
+                entity.ifPresent(e -> e.setText("Updated Text"));
+                return entity.orElse(null);
+            }));
+            replicatedDao.runInSession("testId", session -> session.getNamedQuery("testTextUpdateQuery")
+                    .setParameter("text", "Updated In Session")
+                    .setParameter("externalId", "testId")
+                    .executeUpdate());
+            verify(replica, never()).getConnection();
+            //Outside a transaction the connection comes from the primary
+            try (Session session = replicatedFactory.openSession()) {
+                val saved = session.createQuery("from TestEntity where externalId = :externalId", TestEntity.class)
+                        .setParameter("externalId", "testId")
+                        .uniqueResult();
+                assertEquals("Updated In Session", saved.getText());
+            }
+        } finally {
+            replicatedFactory.close();
+        }
+    }
+
+    private long transactionCount() {
+        return sessionFactories.stream()
+                .mapToLong(sessionFactory -> sessionFactory.getStatistics().getTransactionCount())
+                .sum();
+    }
+
     @Test
     public void testScatterGatherWithQuerySpec() throws Exception {
         List<TestEntity> results = lookupDao
@@ -19,8 +19,10 @@ package io.appform.dropwizard.sharding.dao;
 
 import com.google.common.collect.ImmutableList;
 import io.appform.dropwizard.sharding.ShardInfoProvider;
+import io.appform.dropwizard.sharding.caching.CaffeineLookupCache;
 import io.appform.dropwizard.sharding.caching.LookupCache;
 import io.appform.dropwizard.sharding.caching.RelationalCache;
+import io.appform.dropwizard.sharding.config.CacheConfig;
 import io.appform.dropwizard.sharding.config.ShardingBundleOptions;
 import io.appform.dropwizard.sharding.dao.testdata.entities.Audit;
 import io.appform.dropwizard.sharding.dao.testdata.entities.Phone;
@@ -29,6 +31,7 @@ import io.appform.dropwizard.sharding.dao.testdata.entities.Transaction;
 import io.appform.dropwizard.sharding.observers.internal.TerminalTransactionObserver;
 import io.appform.dropwizard.sharding.sharding.BalancedShardManager;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
+import io.dropwizard.util.Duration;
 import org.apache.commons.lang3.StringUtils;
 import org.hibernate.SessionFactory;
 import org.hibernate.boot.registry.StandardServiceRegistry;
@@ -468,6 +471,78 @@ public class MultiTenantCacheableLookupDaoTest {
     assertFalse(updateStatus);
   }
 
+  @Test
+  public void testWritesInvalidateCache() throws Exception {
+    final Map<String, ShardingBundleOptions> shardingOptions = Map.of("TENANT1",
+        new ShardingBundleOptions(), "TENANT2", new ShardingBundleOptions());
+    final Map<String, ShardInfoProvider> shardInfoProvider = Map.of("TENANT1",
+        new ShardInfoProvider("TENANT1"),
+        "TENANT2", new ShardInfoProvider("TENANT2"));
+    final CacheConfig cacheConfig = CacheConfig.builder()
+        .negativeExpireAfterWrite(Duration.minutes(1))
+        .build();
+    final MultiTenantCacheableLookupDao<TestEntity> cachedDao = new MultiTenantCacheableLookupDao<>(
+        sessionFactories,
+        TestEntity.class,
+        shardManager,
+        Map.of("TENANT1", new CaffeineLookupCache<>("tenant1", cacheConfig, null),
+            "TENANT2", new CaffeineLookupCache<>("tenant2", cacheConfig, null)),
+        shardingOptions, shardInfoProvider, new TerminalTransactionObserver());
+
+    assertFalse(cachedDao.exists("TENANT1", "testId"));
+    cachedDao.save("TENANT1", TestEntity.builder()
+        .externalId("testId")
+        .text("Some Text")
+        .build());
+    assertEquals("Some Text", cachedDao.get("TENANT1", "testId").get().getText());
+
+    assertTrue(cachedDao.updateInLock("TENANT1", "testId", entity -> {
+      entity.get().setText("Locked Update");
+      return entity.get();
+    }));
+    assertEquals("Locked Update", cachedDao.get("TENANT1", "testId").get().getText());
+
+    //The entity returned by the updater is what gets persisted and cached
+    assertTrue(cachedDao.update("TENANT1", "testId", entity -> TestEntity.builder()
+        .externalId("testId")
+        .text("Replaced")
+        .build()));
+    assertEquals("Replaced", cachedDao.get("TENANT1", "testId").get().getText());
+
+    cachedDao.lockAndGetExecutor("TENANT1", "testId")
+        .mutate(parent -> parent.setText("Locked Context Update"))
+        .execute();
+    assertEquals("Locked Context Update", cachedDao.get("TENANT1", "testId").get().getText());
+
+    assertEquals(1, cachedDao.updateUsingQuery("TENANT1", "testId", UpdateOperationMeta.builder()
+        .queryName("testTextUpdateQuery")
+        .params(Map.of("externalId", "testId", "text", "Query Update"))
+        .build()));
+    assertEquals("Query Update", cachedDao.get("TENANT1", "testId").get().getText());
+
+    cachedDao.runInSession("TENANT1", "testId", session -> session.getNamedQuery("testTextUpdateQuery")
+        .setParameter("externalId", "testId")
+        .setParameter("text", "Session Update")
+        .executeUpdate());
+    assertEquals("Session Update", cachedDao.get("TENANT1", "testId").get().getText());
+
+    cachedDao.runInSession("TENANT1", (shardId, session) -> session.getNamedQuery("testTextUpdateQuery")
+        .setParameter("externalId", "testId")
+        .setParameter("text", "All Shards Update")
+        .executeUpdate(), updated -> updated);
+    assertEquals("All Shards Update", cachedDao.get("TENANT1", "testId").get().getText());
+
+    assertTrue(cachedDao.delete("TENANT1", "testId"));
+    assertFalse(cachedDao.get("TENANT1", "testId").isPresent());
+
+    cachedDao.createOrUpdate("TENANT1", "testId", entity -> entity,
+        () -> TestEntity.builder()
+            .externalId("testId")
+            .text("Created")
+            .build());
+    assertEquals("Created", cachedDao.get("TENANT1", "testId").get().getText());
+  }
+
   @Test
   public void testScatterGather() throws Exception {
     List<TestEntity> results = lookupDao.scatterGather("TENANT1",
@@ -27,8 +27,10 @@ import io.appform.dropwizard.sharding.dao.interceptors.EntityClassThreadLocalObs
 import io.appform.dropwizard.sharding.dao.interceptors.InterceptorTestUtil;
 import io.appform.dropwizard.sharding.dao.testdata.entities.RelationalEntity;
 import io.appform.dropwizard.sharding.dao.testdata.entities.RelationalEntityWithAIKey;
+import io.appform.dropwizard.sharding.dao.testdata.entities.RelationalEntityWithShardingKey;
 import io.appform.dropwizard.sharding.observers.TransactionObserver;
 import io.appform.dropwizard.sharding.observers.internal.TerminalTransactionObserver;
+import io.appform.dropwizard.sharding.query.Aggregation;
 import io.appform.dropwizard.sharding.scroll.ScrollResult;
 import io.appform.dropwizard.sharding.sharding.BalancedShardManager;
 import io.appform.dropwizard.sharding.sharding.ShardManager;
@@ -41,16 +43,20 @@ import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.criterion.DetachedCriteria;
 import org.hibernate.criterion.Property;
+import org.hibernate.criterion.Restrictions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.MDC;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -78,6 +84,7 @@ public class RelationalDaoTest {
         configuration.setProperty("hibernate.current_session_context_class", "managed");
         configuration.addAnnotatedClass(RelationalEntity.class);
         configuration.addAnnotatedClass(RelationalEntityWithAIKey.class);
+        configuration.addAnnotatedClass(RelationalEntityWithShardingKey.class);
 
         StandardServiceRegistry serviceRegistry
                 = new StandardServiceRegistryBuilder().applySettings(
@@ -115,6 +122,15 @@ public class RelationalDaoTest {
         sessionFactories.forEach(SessionFactory::close);
     }
 
+    private <T> RelationalDao<T> daoWith(final Class<T> entityClass, final ShardingBundleOptions shardingOptions) {
+        return new RelationalDao<>(DBShardingBundleBase.DEFAULT_NAMESPACE,
+                new MultiTenantRelationalDao<>(Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, sessionFactories),
+                        entityClass, Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, shardManager),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, shardingOptions),
+                        Map.of(DBShardingBundleBase.DEFAULT_NAMESPACE, new ShardInfoProvider("default")),
+                        new TerminalTransactionObserver()));
+    }
+
     @Test
     public void testBulkSave() throws Exception {
         String key = "testPhone";
@@ -135,6 +151,169 @@ public class RelationalDaoTest {
 
     }
 
+    @Test
+    public void testBatchedBulkSave() throws Exception {
+        testBatchedBulkSave(false);
+    }
+
+    @Test
+    public void testStatelessBatchedBulkSave() throws Exception {
+        testBatchedBulkSave(true);
+    }
+
+    private void testBatchedBulkSave(boolean stateless) throws Exception {
+        val batchingDao = daoWith(RelationalEntity.class, ShardingBundleOptions.builder()
+                .jdbcBatchSize(3)
+                .statelessBulkSave(stateless)
+                .build());
+        String key = "testBatchedBulkSave";
+        val entities = IntStream.range(0, 10)
+                .mapToObj(i -> RelationalEntity.builder()
+                        .key(String.valueOf(i))
+                        .value("abcd")
+                        .build())
+                .collect(Collectors.toList());
+        Assertions.assertTrue(batchingDao.saveAll(key, entities));
+        List<RelationalEntity> saved = batchingDao.select(key,
+                                                          DetachedCriteria.forClass(RelationalEntity.class),
+                                                          0,
+                                                          20);
+        assertEquals(10, saved.size());
+        assertEquals(IntStream.range(0, 10).mapToObj(String::valueOf).collect(Collectors.toSet()),
+                     saved.stream().map(RelationalEntity::getKey).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testStatelessReads() throws Exception {
+        val statelessDao = daoWith(RelationalEntity.class, ShardingBundleOptions.builder()
+                .statelessReads(true)
+                .build());
+        String key = "testStatelessReads";
+        statelessDao.saveAll(key, IntStream.range(0, 10)
+                .mapToObj(i -> RelationalEntity.builder()
+                        .key(String.valueOf(i))
+                        .value(i % 2 == 0 ? "even" : "odd")
+                        .build())
+                .collect(Collectors.toList()));
+        val selected = statelessDao.select(key, (queryRoot, query, criteriaBuilder) -> query
+                .where(criteriaBuilder.equal(queryRoot.get("value"), "even"))
+                .orderBy(criteriaBuilder.asc(queryRoot.get("key"))), 1, 2);
+        assertEquals(List.of("2", "4"), selected.stream()
+                .map(RelationalEntity::getKey)
+                .collect(Collectors.toList()));
+        assertEquals(5, statelessDao.scatterGather((queryRoot, query, criteriaBuilder) -> query
+                .where(criteriaBuilder.equal(queryRoot.get("value"), "odd")), 0, 10).size());
+        //Criteria based reads still run on the session
+        assertEquals(10, statelessDao.select(key, DetachedCriteria.forClass(RelationalEntity.class), 0, 20).size());
+    }
+
+    @Test
+    public void testForEach() throws Exception {
+        relationalDao.saveAll("forEachParentOne", IntStream.range(0, 10)
+                .mapToObj(i -> RelationalEntity.builder()
+                        .key("one" + i)
+                        .value("forEachOne")
+                        .build())
+                .collect(Collectors.toList()));
+        relationalDao.saveAll("forEachParentTwo", IntStream.range(0, 5)
+                .mapToObj(i -> RelationalEntity.builder()
+                        .key("two" + i)
+                        .value("forEachTwo")
+                        .build())
+                .collect(Collectors.toList()));
+        val keys = new ArrayList<String>();
+        assertEquals(10, relationalDao.forEach("forEachParentOne",
+                DetachedCriteria.forClass(RelationalEntity.class)
+                        .add(Restrictions.eq("value", "forEachOne")),
+                3,
+                entity -> keys.add(entity.getKey())));
+        assertEquals(IntStream.range(0, 10).mapToObj(i -> "one" + i).collect(Collectors.toSet()),
+                     Set.copyOf(keys));
+
+        keys.clear();
+        assertEquals(15, relationalDao.forEach(DetachedCriteria.forClass(RelationalEntity.class)
+                        .add(Restrictions.like("value", "forEach%")),
+                3,
+                entity -> keys.add(entity.getKey())));
+        assertEquals(15, Set.copyOf(keys).size());
+        assertEquals(5, relationalDao.forEach((queryRoot, query, criteriaBuilder)
+                        -> query.where(criteriaBuilder.equal(queryRoot.get("value"), "forEachTwo")),
+                0,
+                entity -> {}));
+    }
+
+    @Test
+    public void testAggregate() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            relationalDao.save("aggregateParent" + i, RelationalEntity.builder()
+                    .key(String.format("aggregate%02d", i))
+                    .value(i % 2 == 0 ? "even" : "odd")
+                    .build());
+        }
+        val grouped = relationalDao.aggregate(DetachedCriteria.forClass(RelationalEntity.class)
+                        .add(Restrictions.like("key", "aggregate%")),
+                Aggregation.builder()
+                        .groupBy("value")
+                        .aggregate(Aggregation.Aggregate.count())
+                        .aggregate(Aggregation.Aggregate.min("key"))
+                        .aggregate(Aggregation.Aggregate.max("key"))
+                        .build())
+                .stream()
+                .collect(Collectors.toMap(row -> row.getGroupValues().get(0), Aggregation.Row::getValues));
+        assertEquals(2, grouped.size());
+        assertEquals(List.of(10L, "aggregate00", "aggregate18"), grouped.get("even"));
+        assertEquals(List.of(10L, "aggregate01", "aggregate19"), grouped.get("odd"));
+
+        val total = relationalDao.aggregate(DetachedCriteria.forClass(RelationalEntity.class)
+                        .add(Restrictions.like("key", "aggregate%")),
+                Aggregation.builder()
+                        .aggregate(Aggregation.Aggregate.count())
+                        .build());
+        assertEquals(1, total.size());
+        assertEquals(20L, total.get(0).getValues().get(0));
+
+        val none = relationalDao.aggregate(DetachedCriteria.forClass(RelationalEntity.class)
+                        .add(Restrictions.eq("value", "none")),
+                Aggregation.builder()
+                        .aggregate(Aggregation.Aggregate.count())
+                        .build());
+        assertEquals(1, none.size());
+        assertEquals(0L, none.get(0).getValues().get(0));
+    }
+
+    @Test
+    public void testMultiParentBulkSave() throws Exception {
+        val shardedDao = daoWith(RelationalEntityWithShardingKey.class, ShardingBundleOptions.builder()
+                .scatterGatherParallelism(4)
+                .build());
+        val entities = IntStream.range(0, 50)
+                .mapToObj(i -> RelationalEntityWithShardingKey.builder()
+                        .key("child" + i)
+                        .parent("parent" + (i % 10))
+                        .value("abcd")
+                        .build())
+                .collect(Collectors.toList());
+        val results = shardedDao.saveAll(entities);
+        val expectedShards = IntStream.range(0, 10)
+                .mapToObj(i -> shardCalculator.shardId("parent" + i))
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(List.copyOf(expectedShards),
+                     results.stream().map(ShardSaveResult::getShardId).collect(Collectors.toList()));
+        Assertions.assertTrue(results.stream().allMatch(ShardSaveResult::isSuccess));
+        assertEquals(50, results.stream().mapToInt(ShardSaveResult::getNumEntities).sum());
+        for (int i = 0; i < 10; i++) {
+            val parent = "parent" + i;
+            val children = shardedDao.select(parent,
+                                             DetachedCriteria.forClass(RelationalEntityWithShardingKey.class)
+                                                     .add(Property.forName("parent").eq(parent)),
+                                             0,
+                                             10);
+            assertEquals(5, children.size());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> relationalDao.saveAll(List.of(RelationalEntity.builder().key("1").build())));
+    }
+
     @Test
     public void testCreateOrUpdate() throws Exception {
         val saved = relationalWithAIDao.createOrUpdate("parent",
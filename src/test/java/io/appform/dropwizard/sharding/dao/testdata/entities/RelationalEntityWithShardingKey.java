@@ -0,0 +1,32 @@
+package io.appform.dropwizard.sharding.dao.testdata.entities;
+
+import io.appform.dropwizard.sharding.sharding.ShardingKey;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "relations_with_sharding_key")
+public class RelationalEntityWithShardingKey {
+
+    @Id
+    @Column(name = "key", nullable = false, unique = true)
+    private String key;
+
+    @ShardingKey
+    @Column(name = "parent", nullable = false)
+    private String parent;
+
+    private String value;
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.execution;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncExecutorTest {
+
+    @Test
+    public void testSyncExecutionRunsOnCallerThread() throws Exception {
+        val executor = new AsyncExecutor("test", 0, 0);
+        assertFalse(executor.isAsync());
+        val future = executor.submit(() -> Thread.currentThread().getName());
+        assertTrue(future.isDone());
+        assertEquals(Thread.currentThread().getName(), future.get());
+    }
+
+    @Test
+    public void testAsyncExecutionRunsOffCallerThread() throws Exception {
+        val executor = new AsyncExecutor("test", 2, 0);
+        assertTrue(executor.isAsync());
+        val thread = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+        assertNotEquals(Thread.currentThread().getName(), thread);
+        assertTrue(thread.startsWith("test-async-"));
+    }
+
+    @Test
+    public void testVirtualThreadMode() throws Exception {
+        val executor = new AsyncExecutor("test", 1, 1, true);
+        val release = new CountDownLatch(1);
+        val running = executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        val queued = executor.submit(() -> Thread.currentThread().getName());
+        //With virtual threads the queued call may already have a thread, it still has to wait
+        assertFalse(queued.isDone());
+        val rejected = executor.submit(() -> "rejected");
+        val exception = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS).startsWith("test-async-"));
+    }
+
+    @Test
+    public void testCheckedExceptionIsCause() {
+        val executor = new AsyncExecutor("test", 1, 0);
+        val exception = assertThrows(ExecutionException.class,
+                                     () -> executor.submit(() -> {
+                                         throw new IOException("Call failed");
+                                     }).get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void testCallsBeyondQueueAreRejected() throws Exception {
+        val executor = new AsyncExecutor("test", 1, 1);
+        val release = new CountDownLatch(1);
+        val running = executor.submit(() -> release.await(5, TimeUnit.SECONDS));
+        val queued = executor.submit(() -> true);
+        val rejected = executor.submit(() -> true);
+        val exception = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCallsAfterShutdownAreRejected() throws Exception {
+        val executor = new AsyncExecutor("test", 1, 0);
+        assertTrue(executor.submit(() -> true).get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        val exception = assertThrows(ExecutionException.class, executor.submit(() -> true)::get);
+        assertTrue(exception.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.execution;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FanOutExecutorTest {
+
+    @Test
+    public void testSerialExecutionRunsOnCallerThread() {
+        val executor = new FanOutExecutor("test", 0);
+        assertFalse(executor.isParallel());
+        val caller = Thread.currentThread().getName();
+        val threads = executor.execute(4, shardId -> Thread.currentThread().getName());
+        assertEquals(4, threads.size());
+        assertTrue(threads.stream().allMatch(caller::equals));
+    }
+
+    @Test
+    public void testParallelExecutionKeepsShardOrder() {
+        val executor = new FanOutExecutor("test", 4);
+        assertTrue(executor.isParallel());
+        val latch = new CountDownLatch(4);
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final List<Integer> results = executor.execute(4, shardId -> {
+            threads.add(Thread.currentThread().getName());
+            latch.countDown();
+            try {
+                //All shards need to be in flight at the same time for this to return
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            return shardId;
+        });
+        assertEquals(List.of(0, 1, 2, 3), results);
+        assertTrue(threads.size() > 1);
+    }
+
+    @Test
+    public void testVirtualThreadMode() {
+        val executor = new FanOutExecutor("test", 4, true);
+        assertTrue(executor.isParallel());
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final List<Integer> results = executor.execute(8, shardId -> {
+            threads.add(Thread.currentThread().getName());
+            return shardId;
+        });
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), results);
+        if (VirtualThreads.isSupported()) {
+            //Overflow beyond the parallelism runs on the caller
+            val caller = Thread.currentThread().getName();
+            assertTrue(threads.stream().allMatch(name -> name.startsWith("test-fanout-") || name.equals(caller)));
+        }
+    }
+
+    @Test
+    public void testParallelExecutionPropagatesFailure() {
+        val executor = new FanOutExecutor("test", 4);
+        val exception = assertThrows(IllegalStateException.class,
+                                     () -> executor.execute(4, shardId -> {
+                                         if (shardId == 2) {
+                                             throw new IllegalStateException("Shard failed");
+                                         }
+                                         return shardId;
+                                     }));
+        assertEquals("Shard failed", exception.getMessage());
+    }
+
+    @Test
+    public void testShutdownRunsOnCallerThread() {
+        val executor = new FanOutExecutor("test", 4);
+        executor.shutdown();
+        val caller = Thread.currentThread().getName();
+        val threads = executor.execute(4, shardId -> Thread.currentThread().getName());
+        assertEquals(4, threads.size());
+        assertTrue(threads.stream().allMatch(caller::equals));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package io.appform.dropwizard.sharding.hibernate;
+
+import io.dropwizard.db.ManagedDataSource;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection1 = mock(Connection.class);
+    private final Connection replicaConnection2 = mock(Connection.class);
+
+    @AfterEach
+    public void cleanup() {
+        ReplicaRoutingDataSource.setReadOnly(null);
+    }
+
+    @Test
+    public void testReadsGoToReplicas() throws Exception {
+        val dataSource = new ReplicaRoutingDataSource("test",
+                dataSource(primaryConnection),
+                List.of(dataSource(replicaConnection1), dataSource(replicaConnection2)),
+                0,
+                true);
+        //Outside transactions
+        assertSame(primaryConnection, dataSource.getConnection());
+        ReplicaRoutingDataSource.setReadOnly(false);
+        assertSame(primaryConnection, dataSource.getConnection());
+        ReplicaRoutingDataSource.setReadOnly(true);
+        assertSame(replicaConnection1, dataSource.getConnection());
+        assertSame(replicaConnection2, dataSource.getConnection());
+        assertSame(replicaConnection1, dataSource.getConnection());
+    }
+
+    @Test
+    public void testReadsAfterWriteGoToPrimary() throws Exception {
+        val dataSource = new ReplicaRoutingDataSource("test",
+                dataSource(primaryConnection),
+                List.of(dataSource(replicaConnection1)),
+                60_000,
+                true);
+        ReplicaRoutingDataSource.setReadOnly(true);
+        assertSame(replicaConnection1, dataSource.getConnection());
+        val previous = ReplicaRoutingDataSource.setReadOnly(false);
+        assertSame(primaryConnection, dataSource.getConnection());
+        ReplicaRoutingDataSource.setReadOnly(previous);
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    public void testFallbackToPrimary() throws Exception {
+        val failing = mock(ManagedDataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("Replica down"));
+        ReplicaRoutingDataSource.setReadOnly(true);
+
+        val withFallback = new ReplicaRoutingDataSource("test",
+                dataSource(primaryConnection),
+                List.of(failing, dataSource(replicaConnection1)),
+                0,
+                true);
+        assertSame(replicaConnection1, withFallback.getConnection());
+        assertSame(replicaConnection1, withFallback.getConnection());
+
+        assertSame(primaryConnection, new ReplicaRoutingDataSource("test",
+                dataSource(primaryConnection),
+                List.of(failing),
+                0,
+                true).getConnection());
+        assertThrows(SQLException.class, () -> new ReplicaRoutingDataSource("test",
+                dataSource(primaryConnection),
+                List.of(failing),
+                0,
+                false).getConnection());
+    }
+
+    private static ManagedDataSource dataSource(final Connection connection) throws SQLException {
+        val dataSource = mock(ManagedDataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package io.appform.dropwizard.sharding.metrics;
+
+import com.codahale.metrics.Clock;
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HdrHistogramReservoirTest {
+
+    @Test
+    void testSnapshotCoversTwoWindows() {
+        val tick = new AtomicLong();
+        val reservoir = new HdrHistogramReservoir(2, 1, TimeUnit.MINUTES, new Clock() {
+            @Override
+            public long getTick() {
+                return tick.get();
+            }
+        });
+        assertEquals(0, reservoir.getSnapshot().size());
+        assertEquals(0, reservoir.getSnapshot().getMax());
+
+        reservoir.update(1);
+        reservoir.update(-1);
+        assertEquals(2, reservoir.size());
+
+        tick.addAndGet(TimeUnit.SECONDS.toNanos(70));
+        reservoir.update(3);
+        val snapshot = reservoir.getSnapshot();
+        assertArrayEquals(new long[]{0, 1, 3}, snapshot.getValues());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(3, snapshot.getMax());
+        val dump = new ByteArrayOutputStream();
+        snapshot.dump(dump);
+        assertEquals(String.format("0%n1%n3%n"), new String(dump.toByteArray(), StandardCharsets.UTF_8));
+
+        //Samples of the first window are dropped once the window after it is over
+        tick.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertArrayEquals(new long[]{3}, reservoir.getSnapshot().getValues());
+
+        //Samples recorded since the last snapshot are kept even if no snapshot was taken for long
+        reservoir.update(5);
+        tick.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        assertArrayEquals(new long[]{5}, reservoir.getSnapshot().getValues());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.metrics;
+
+import io.appform.dropwizard.sharding.config.SlowStatementConfig;
+import io.appform.dropwizard.sharding.dao.testdata.entities.RelationalEntity;
+import io.appform.dropwizard.sharding.utils.TransactionHandler;
+import io.dropwizard.util.Duration;
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlowStatementRecorderTest {
+
+    @Test
+    void testFingerprint() {
+        assertEquals("select * from orders where id = ? and name = ? and amount > ?",
+                SlowStatementRecorder.fingerprint("select *\n  from orders where id = 42 and name = 'it''s' and amount > 1.5"));
+        assertEquals("select this_.id from relations this_ where this_.key in (?)",
+                SlowStatementRecorder.fingerprint("select this_.id from relations this_ where this_.key in (?, ?,?)"));
+        assertEquals("select relational0_.key_ as key_1_0_ from relations relational0_",
+                SlowStatementRecorder.fingerprint("select relational0_.key_ as key_1_0_ from relations relational0_"));
+    }
+
+    @Test
+    void testRecordsSlowestStatements() {
+        val recorder = new SlowStatementRecorder("shard", SlowStatementConfig.builder()
+                .threshold(Duration.milliseconds(10))
+                .maxStatements(2)
+                .build());
+        recorder.record("select * from a where id = 1", TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(recorder.slowStatements().isEmpty());
+
+        recorder.record("select * from a where id = 1", TimeUnit.MILLISECONDS.toNanos(20));
+        recorder.record("select * from a where id = 2", TimeUnit.MILLISECONDS.toNanos(40));
+        recorder.record("select * from b", TimeUnit.MILLISECONDS.toNanos(30));
+        //Faster than everything tracked, dropped
+        recorder.record("select * from c", TimeUnit.MILLISECONDS.toNanos(15));
+        //Slower than select * from b, replaces it
+        recorder.record("select * from d", TimeUnit.MILLISECONDS.toNanos(50));
+
+        val statements = recorder.slowStatements();
+        assertEquals(2, statements.size());
+        assertEquals("select * from d", statements.get(0).getFingerprint());
+        assertEquals(1, statements.get(0).getCount());
+        assertEquals(50, statements.get(0).getMaxMs());
+        assertEquals("select * from a where id = ?", statements.get(1).getFingerprint());
+        assertEquals(2, statements.get(1).getCount());
+        assertEquals(40, statements.get(1).getMaxMs());
+
+        recorder.clear();
+        assertTrue(recorder.slowStatements().isEmpty());
+    }
+
+    @Test
+    void testStatementsRunInTransactionsAreRecorded() {
+        try (SessionFactory sessionFactory = buildSessionFactory("slow_statements", new Configuration())) {
+            val recorder = new SlowStatementRecorder("shard", SlowStatementConfig.builder()
+                    .threshold(Duration.milliseconds(0))
+                    .build());
+            sessionFactory.getProperties().put(SlowStatementRecorder.SESSION_FACTORY_PROPERTY, recorder);
+
+            val transactionHandler = new TransactionHandler(sessionFactory, true);
+            transactionHandler.beforeStart();
+            try {
+                transactionHandler.getSession()
+                        .createNativeQuery("select count(*) from relations where value = 'abc'")
+                        .uniqueResult();
+            } finally {
+                transactionHandler.afterEnd();
+            }
+            val statements = recorder.slowStatements();
+            assertEquals(1, statements.size());
+            assertEquals("select count(*) from relations where value = ?", statements.get(0).getFingerprint());
+            assertEquals(1, statements.get(0).getCount());
+        }
+    }
+
+    @Test
+    void testStatementInspectorOfSessionFactoryIsChained() {
+        val configuration = new Configuration();
+        configuration.setProperty(AvailableSettings.STATEMENT_INSPECTOR, CommentingInspector.class.getName());
+        try (SessionFactory sessionFactory = buildSessionFactory("slow_statements_inspected", configuration)) {
+            val recorder = new SlowStatementRecorder("shard", SlowStatementConfig.builder()
+                    .threshold(Duration.milliseconds(0))
+                    .build());
+            sessionFactory.getProperties().put(SlowStatementRecorder.SESSION_FACTORY_PROPERTY, recorder);
+
+            val transactionHandler = new TransactionHandler(sessionFactory, true);
+            transactionHandler.beforeStart();
+            try {
+                transactionHandler.getSession()
+                        .createNativeQuery("select count(*) from relations")
+                        .uniqueResult();
+            } finally {
+                transactionHandler.afterEnd();
+            }
+            //The statement is recorded as rewritten by the inspector of the session factory
+            val statements = recorder.slowStatements();
+            assertEquals(1, statements.size());
+            assertEquals("/* app */ select count(*) from relations", statements.get(0).getFingerprint());
+        }
+    }
+
+    private static SessionFactory buildSessionFactory(final String dbName, final Configuration configuration) {
+        configuration.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        configuration.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+        configuration.setProperty("hibernate.connection.url", "jdbc:h2:mem:" + dbName);
+        configuration.setProperty("hibernate.hbm2ddl.auto", "create");
+        configuration.setProperty("hibernate.current_session_context_class", "managed");
+        configuration.addAnnotatedClass(RelationalEntity.class);
+        return configuration.buildSessionFactory(
+                new StandardServiceRegistryBuilder().applySettings(configuration.getProperties()).build());
+    }
+
+    public static class CommentingInspector implements StatementInspector {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String inspect(String sql) {
+            return "/* app */ " + sql;
+        }
+    }
+}
@@ -3,14 +3,22 @@ package io.appform.dropwizard.sharding.metrics;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.collect.ImmutableSet;
 import io.appform.dropwizard.sharding.config.MetricConfig;
+import io.appform.dropwizard.sharding.config.ReservoirConfig;
 import io.appform.dropwizard.sharding.dao.operations.lockedcontext.LockAndExecute;
 import io.appform.dropwizard.sharding.execution.DaoType;
 import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
+import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.util.Duration;
 import lombok.val;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TransactionMetricManagerTest {
@@ -41,6 +49,24 @@ class TransactionMetricManagerTest {
         assertFalse(metricManager.isMetricApplicable(this.getClass()));
     }
 
+    @Test
+    void testIsPoolAndPhaseMetricApplicable() {
+        TransactionMetricManager metricManager = new TransactionMetricManager(() -> null, null);
+        assertFalse(metricManager.isPoolMetricApplicable());
+        assertFalse(metricManager.isPhaseTimerApplicable());
+
+        metricManager = new TransactionMetricManager(() -> MetricConfig.builder().build(), null);
+        assertFalse(metricManager.isPoolMetricApplicable());
+        assertFalse(metricManager.isPhaseTimerApplicable());
+
+        metricManager = new TransactionMetricManager(() -> MetricConfig.builder()
+                .enabledForEntities(ImmutableSet.of(this.getClass().getCanonicalName()))
+                .phaseTimersEnabled(true)
+                .build(), null);
+        assertTrue(metricManager.isPoolMetricApplicable());
+        assertTrue(metricManager.isPhaseTimerApplicable());
+    }
+
     @Test
     void testGetShardMetricData() {
         val metricRegistry = new MetricRegistry();
@@ -79,4 +105,135 @@ class TransactionMetricManagerTest {
         assertEquals(metrics.get(metricPrefix + "success"), metricData.getSuccess());
         assertEquals(metrics.get(metricPrefix + "failed"), metricData.getFailed());
     }
+
+    @Test
+    void testReservoirsAreConfiguredSeparately() {
+        val context = TransactionExecutionContext.builder()
+                .entityClass(this.getClass())
+                .daoType(DaoType.LOOKUP)
+                .commandName("read")
+                .shardName("testshard1")
+                .opContext(LockAndExecute.<String>buildForRead().getter(() -> null).build())
+                .build();
+        val metricManager = new TransactionMetricManager(() -> MetricConfig.builder()
+                .enabledForAll(true)
+                .shardReservoir(ReservoirConfig.builder()
+                        .type(ReservoirConfig.Type.SLIDING_WINDOW)
+                        .size(2)
+                        .build())
+                .entityReservoir(ReservoirConfig.builder()
+                        .type(ReservoirConfig.Type.EXPONENTIALLY_DECAYING)
+                        .size(3)
+                        .build())
+                .build(), new MetricRegistry());
+        val shardTimer = metricManager.getShardMetricData("test").getTimer();
+        val entityTimer = metricManager.getEntityOpMetricData(context).getTimer();
+        for (int i = 1; i <= 5; i++) {
+            shardTimer.update(i, TimeUnit.MILLISECONDS);
+            entityTimer.update(i, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(5, shardTimer.getCount());
+        assertEquals(2, shardTimer.getSnapshot().size());
+        assertEquals(3, entityTimer.getSnapshot().size());
+
+        val defaultTimer = new TransactionMetricManager(null, new MetricRegistry())
+                .getShardMetricData("test")
+                .getTimer();
+        for (int i = 1; i <= 5; i++) {
+            defaultTimer.update(i, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(5, defaultTimer.getSnapshot().size());
+    }
+
+    @Test
+    void testHdrHistogramReservoir() {
+        val timer = new TransactionMetricManager(() -> MetricConfig.builder()
+                .enabledForAll(true)
+                .shardReservoir(ReservoirConfig.builder()
+                        .type(ReservoirConfig.Type.HDR_HISTOGRAM)
+                        .significantDigits(3)
+                        .build())
+                .build(), new MetricRegistry())
+                .getShardMetricData("test")
+                .getTimer();
+        for (int i = 1; i <= 1000; i++) {
+            timer.update(i, TimeUnit.MICROSECONDS);
+        }
+        val snapshot = timer.getSnapshot();
+        assertEquals(1000, snapshot.size());
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500), snapshot.getMedian(), TimeUnit.MICROSECONDS.toNanos(1));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(990), snapshot.get99thPercentile(), TimeUnit.MICROSECONDS.toNanos(1));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(1000), snapshot.getMax(), TimeUnit.MICROSECONDS.toNanos(1));
+    }
+
+    @Test
+    void testInvalidReservoirs() {
+        val validator = Validators.newValidator();
+        assertTrue(validator.validate(new ReservoirConfig()).isEmpty());
+        assertEquals(1, validator.validate(ReservoirConfig.builder().size(0).build()).size());
+        assertEquals(1, validator.validate(ReservoirConfig.builder().type(null).build()).size());
+        assertEquals(1, validator.validate(ReservoirConfig.builder().window(Duration.seconds(0)).build()).size());
+        assertEquals(1, validator.validate(ReservoirConfig.builder().significantDigits(6).build()).size());
+
+        //Configs built in code are checked when the first metric is created
+        val metricManager = new TransactionMetricManager(() -> MetricConfig.builder()
+                .enabledForAll(true)
+                .shardReservoir(ReservoirConfig.builder()
+                        .type(ReservoirConfig.Type.SLIDING_WINDOW)
+                        .size(0)
+                        .build())
+                .build(), new MetricRegistry());
+        assertThrows(IllegalArgumentException.class, () -> metricManager.getShardMetricData("test"));
+    }
+
+    @Test
+    void testPoolGauges() throws Exception {
+        val dataSourceFactory = new DataSourceFactory();
+        dataSourceFactory.setDriverClass("org.h2.Driver");
+        dataSourceFactory.setUrl("jdbc:h2:mem:pool_gauges");
+        val metricRegistry = new MetricRegistry();
+        val dataSource = dataSourceFactory.build(metricRegistry, "pool");
+        val metricManager = new TransactionMetricManager(null, metricRegistry);
+        metricManager.registerPoolGauges("test", dataSource);
+        val gauges = metricRegistry.getGauges();
+        val metricPrefix = "db.sharding.shard.test.pool.";
+        assertEquals(0, gauges.get(metricPrefix + "active").getValue());
+        dataSource.start();
+        try (Connection ignored = dataSource.getConnection()) {
+            assertEquals(1, gauges.get(metricPrefix + "active").getValue());
+            assertEquals(0, gauges.get(metricPrefix + "waiting").getValue());
+        }
+        assertEquals(0, gauges.get(metricPrefix + "active").getValue());
+        assertTrue((Integer) gauges.get(metricPrefix + "idle").getValue() >= 1);
+        assertTrue((Integer) gauges.get(metricPrefix + "size").getValue() >= 1);
+        dataSource.stop();
+    }
+
+    @Test
+    void testTenantDimension() {
+        val metricRegistry = new MetricRegistry();
+        val metricManager = new TransactionMetricManager(() -> MetricConfig.builder()
+                .enabledForAll(true)
+                .tenantDimensionEnabled(true)
+                .enabledForTenants(ImmutableSet.of("tenant1", "tenant2", "tenant3"))
+                .maxTenants(2)
+                .build(), metricRegistry);
+        for (val tenantId : new String[]{"tenant1", "tenant2", "tenant3", "tenant4", "tenant1"}) {
+            metricManager.getEntityOpMetricData(TransactionExecutionContext.builder()
+                    .entityClass(this.getClass())
+                    .daoType(DaoType.LOOKUP)
+                    .commandName("get")
+                    .shardName("connectionpool-" + tenantId + "-1")
+                    .tenantId(tenantId)
+                    .opContext(LockAndExecute.<String>buildForRead().getter(() -> null).build())
+                    .build());
+        }
+        val timers = metricRegistry.getTimers().keySet();
+        assertEquals(3, timers.size());
+        val metricSuffix = ".io_appform_dropwizard_sharding_metrics_TransactionMetricManagerTest."
+                + "io_appform_dropwizard_sharding_dao_LookupDao.get.READ.latency";
+        assertTrue(timers.contains("db.sharding.entity.tenant1" + metricSuffix));
+        assertTrue(timers.contains("db.sharding.entity.tenant2" + metricSuffix));
+        assertTrue(timers.contains("db.sharding.entity.others" + metricSuffix));
+    }
 }
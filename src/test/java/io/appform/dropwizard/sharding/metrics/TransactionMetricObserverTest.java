@@ -1,18 +1,25 @@
 package io.appform.dropwizard.sharding.metrics;
 
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Meter;
+import com.codahale.metrics.UniformReservoir;
 import com.codahale.metrics.Timer;
 import io.appform.dropwizard.sharding.dao.RelationalDao;
 import io.appform.dropwizard.sharding.dao.operations.Save;
+import io.appform.dropwizard.sharding.dao.operations.SaveAll;
 import io.appform.dropwizard.sharding.dao.operations.lockedcontext.LockAndExecute;
 import io.appform.dropwizard.sharding.dao.testdata.entities.RelationalEntity;
 import io.appform.dropwizard.sharding.execution.DaoType;
 import io.appform.dropwizard.sharding.execution.TransactionExecutionContext;
+import io.appform.dropwizard.sharding.execution.TransactionPhases;
 import lombok.val;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -108,6 +115,154 @@ class TransactionMetricObserverTest {
         validateMetrics(entityOpMetricData, shardMetricData, 0, 1);
     }
 
+    @Test
+    void testExecuteRecordsRowsPerBatch() {
+        val context = TransactionExecutionContext.builder()
+                .commandName("saveAll")
+                .shardName("shard")
+                .opContext(SaveAll.<String>builder()
+                                   .entities(List.of("1", "2", "3", "4", "5", "6", "7"))
+                                   .saver(entities -> true)
+                                   .batchSize(3)
+                                   .build())
+                .entityClass(RelationalEntity.class)
+                .daoType(DaoType.RELATIONAL)
+                .build();
+        val metricData = MetricData.builder()
+                .timer(new Timer())
+                .total(new Meter())
+                .success(new Meter())
+                .failed(new Meter())
+                .build();
+        val histogram = new Histogram(new UniformReservoir());
+
+        Mockito.doReturn(metricData).when(metricManager).getEntityOpMetricData(context);
+        Mockito.doReturn(metricData).when(metricManager).getShardMetricData(context.getShardName());
+        Mockito.doReturn(histogram).when(metricManager).getEntityOpBatchSizeHistogram(context);
+        Mockito.doReturn(true).when(metricManager).isMetricApplicable(context.getEntityClass());
+
+        assertEquals(true, transactionMetricObserver.execute(context, () -> true));
+        assertEquals(3, histogram.getCount());
+        assertArrayEquals(new long[]{1, 3, 3}, histogram.getSnapshot().getValues());
+        assertEquals(1, transactionMetricObserver.getBatchSizeMetricCache().size());
+    }
+
+    @Test
+    void testMetricHandlesAreResolvedOnce() {
+        val context = TransactionExecutionContext.builder()
+                .commandName("testCommand")
+                .shardName("shard")
+                .opContext(Save.<String, String>builder().entity("dummy").saver(t->t).build())
+                .entityClass(RelationalEntity.class)
+                .daoType(DaoType.RELATIONAL)
+                .build();
+        val metricData = MetricData.builder()
+                .timer(new Timer())
+                .total(new Meter())
+                .success(new Meter())
+                .failed(new Meter())
+                .build();
+
+        Mockito.doReturn(metricData).when(metricManager).getEntityOpMetricData(context);
+        Mockito.doReturn(metricData).when(metricManager).getShardMetricData(context.getShardName());
+        Mockito.doReturn(true).when(metricManager).isMetricApplicable(context.getEntityClass());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(terminate(), transactionMetricObserver.execute(context, this::terminate));
+        }
+        assertEquals(20, metricData.getTotal().getCount());
+        assertEquals(20, metricData.getTimer().getCount());
+        Mockito.verify(metricManager, Mockito.times(1)).isMetricApplicable(context.getEntityClass());
+        Mockito.verify(metricManager, Mockito.times(1)).getEntityOpMetricData(context);
+        Mockito.verify(metricManager, Mockito.times(1)).getShardMetricData(context.getShardName());
+    }
+
+    @Test
+    void testExecuteRecordsPhases() {
+        val phases = new TransactionPhases();
+        val context = TransactionExecutionContext.builder()
+                .commandName("testCommand")
+                .shardName("shard")
+                .opContext(Save.<String, String>builder().entity("dummy").saver(t->t).build())
+                .entityClass(RelationalEntity.class)
+                .daoType(DaoType.RELATIONAL)
+                .phases(phases)
+                .build();
+        val metricData = MetricData.builder()
+                .timer(new Timer())
+                .total(new Meter())
+                .success(new Meter())
+                .failed(new Meter())
+                .build();
+        val entityOpPhaseTimers = phaseTimers();
+        val shardPhaseTimers = phaseTimers();
+
+        Mockito.doReturn(metricData).when(metricManager).getEntityOpMetricData(context);
+        Mockito.doReturn(metricData).when(metricManager).getShardMetricData(context.getShardName());
+        Mockito.doReturn(entityOpPhaseTimers).when(metricManager).getEntityOpPhaseTimers(context);
+        Mockito.doReturn(shardPhaseTimers).when(metricManager).getShardPhaseTimers(context.getShardName());
+        Mockito.doReturn(true).when(metricManager).isMetricApplicable(context.getEntityClass());
+        Mockito.doReturn(true).when(metricManager).isPhaseTimerApplicable();
+
+        assertEquals(terminate(), transactionMetricObserver.execute(context, () -> {
+            phases.jdbcConnectionAcquisitionStart();
+            phases.jdbcConnectionAcquisitionEnd();
+            phases.addExecute(phases.clock());
+            return terminate();
+        }));
+        assertThrows(RuntimeException.class,
+                () -> transactionMetricObserver.execute(context, this::terminateWithException));
+        //Phases that did not run are not recorded
+        for (val phaseTimers : List.of(entityOpPhaseTimers, shardPhaseTimers)) {
+            assertEquals(2, phaseTimers.getConnectionAcquire().getCount());
+            assertEquals(0, phaseTimers.getBegin().getCount());
+            assertEquals(2, phaseTimers.getExecute().getCount());
+            assertEquals(0, phaseTimers.getFlush().getCount());
+            assertEquals(0, phaseTimers.getCommit().getCount());
+        }
+    }
+
+    @Test
+    void testExecuteSkipsPhasesWhenDisabled() {
+        val phases = new TransactionPhases();
+        val context = TransactionExecutionContext.builder()
+                .commandName("testCommand")
+                .shardName("shard")
+                .opContext(Save.<String, String>builder().entity("dummy").saver(t->t).build())
+                .entityClass(RelationalEntity.class)
+                .daoType(DaoType.RELATIONAL)
+                .phases(phases)
+                .build();
+        val metricData = MetricData.builder()
+                .timer(new Timer())
+                .total(new Meter())
+                .success(new Meter())
+                .failed(new Meter())
+                .build();
+
+        Mockito.doReturn(metricData).when(metricManager).getEntityOpMetricData(context);
+        Mockito.doReturn(metricData).when(metricManager).getShardMetricData(context.getShardName());
+        Mockito.doReturn(true).when(metricManager).isMetricApplicable(context.getEntityClass());
+
+        assertEquals(terminate(), transactionMetricObserver.execute(context, () -> {
+            phases.addExecute(phases.clock());
+            return terminate();
+        }));
+        assertEquals(2, metricData.getTimer().getCount());
+        Mockito.verify(metricManager, Mockito.never()).getEntityOpPhaseTimers(context);
+        Mockito.verify(metricManager, Mockito.never()).getShardPhaseTimers(context.getShardName());
+    }
+
+    private static PhaseTimers phaseTimers() {
+        return PhaseTimers.builder()
+                .connectionAcquire(new Timer())
+                .begin(new Timer())
+                .execute(new Timer())
+                .flush(new Timer())
+                .commit(new Timer())
+                .build();
+    }
+
     private void validateCache(final MetricData entityOpMetricData,
                                final MetricData shardMetricData,
                                final TransactionExecutionContext context) {
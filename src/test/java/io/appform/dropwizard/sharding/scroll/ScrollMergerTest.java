@@ -0,0 +1,88 @@
+package io.appform.dropwizard.sharding.scroll;
+
+import lombok.val;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ScrollMergerTest {
+
+    private static final Comparator<ScrollResultItem<Integer>> COMPARATOR
+            = Comparator.<ScrollResultItem<Integer>, Integer>comparing(ScrollResultItem::getData)
+            .thenComparing(ScrollResultItem::getShardIdx);
+
+    @Test
+    public void testFirstPageFetchesFullPageFromEveryShard() {
+        val pointer = new ScrollPointer(ScrollPointer.Direction.DOWN);
+        val sizes = ScrollMerger.fetchSizes(pointer, 4, 10);
+        for (int size : sizes) {
+            assertEquals(10, size);
+        }
+    }
+
+    @Test
+    public void testSubsequentPagesFetchShareOfPage() {
+        val pointer = new ScrollPointer(ScrollPointer.Direction.DOWN)
+                .put(0, 90)
+                .put(1, 10)
+                .put(2, 0);
+        val sizes = ScrollMerger.fetchSizes(pointer, 3, 10);
+        assertEquals(10, sizes[0]);
+        assertTrue(sizes[1] < 10);
+        assertTrue(sizes[2] >= 1);
+    }
+
+    @Test
+    public void testMergeTopsUpUnderFetchedShards() {
+        //Shard 0 contributes the first two pages, after which only shard 1 has rows to contribute
+        final List<List<Integer>> shards = List.of(
+                IntStream.range(0, 20).boxed().collect(Collectors.toList()),
+                IntStream.range(100, 200).boxed().collect(Collectors.toList()));
+        val fetches = new AtomicInteger();
+        final ScrollMerger.ShardPageFetcher<Integer> fetcher = (shardIdx, start, numRows) -> {
+            fetches.incrementAndGet();
+            val rows = shards.get(shardIdx);
+            return new ArrayList<>(rows.subList(Math.min(start, rows.size()),
+                                                Math.min(start + numRows, rows.size())));
+        };
+        val pointer = new ScrollPointer(ScrollPointer.Direction.DOWN);
+        val merger = new ScrollMerger<>(10, COMPARATOR, fetcher);
+        final List<Integer> seen = new ArrayList<>();
+        for (int page = 0; page < 5; page++) {
+            val sizes = ScrollMerger.fetchSizes(pointer, 2, 10);
+            final List<List<Integer>> firstPages = new ArrayList<>();
+            for (int shard = 0; shard < 2; shard++) {
+                firstPages.add(fetcher.fetch(shard, pointer.getCurrOffset(shard), sizes[shard]));
+            }
+            val results = merger.merge(pointer, firstPages, sizes);
+            assertEquals(10, results.size());
+            results.forEach(result -> seen.add(result.getData()));
+        }
+        assertEquals(IntStream.concat(IntStream.range(0, 20), IntStream.range(100, 130))
+                             .boxed()
+                             .collect(Collectors.toList()), seen);
+        assertEquals(20, pointer.getCurrOffset(0));
+        assertEquals(30, pointer.getCurrOffset(1));
+        assertTrue(fetches.get() > 10);
+    }
+
+    @Test
+    public void testMergeStopsWhenShardsAreExhausted() {
+        final List<List<Integer>> firstPages = List.of(List.of(1, 3), List.of(2));
+        final ScrollMerger.ShardPageFetcher<Integer> fetcher = (shardIdx, start, numRows) -> List.of();
+        val pointer = new ScrollPointer(ScrollPointer.Direction.DOWN);
+        val results = new ScrollMerger<>(10, COMPARATOR, fetcher)
+                .merge(pointer, firstPages, new int[]{10, 10});
+        assertEquals(List.of(1, 2, 3), results.stream().map(ScrollResultItem::getData).collect(Collectors.toList()));
+        assertEquals(2, pointer.getCurrOffset(0));
+        assertEquals(1, pointer.getCurrOffset(1));
+    }
+}
@@ -18,9 +18,20 @@
 package io.appform.dropwizard.sharding.sharding;
 
 import io.appform.dropwizard.sharding.exceptions.ShardBlacklistedException;
+import lombok.val;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class ShardManagerTest {
@@ -47,4 +58,147 @@ public class ShardManagerTest {
         Thread.sleep(5000); //Sleeping for 5 seconds
         assertEquals(0, shardManager.shardForBucket(100));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRoutingTableMatchesBucketRanges() {
+        ShardManager legacy = new LegacyShardManager(8);
+        for (int bucketId = 0; bucketId < legacy.numBuckets(); bucketId++) {
+            assertEquals(legacy.shardForBucketImpl(bucketId), legacy.shardForBucket(bucketId));
+        }
+        ShardManager balanced = new BalancedShardManager(16);
+        for (int bucketId = 0; bucketId < balanced.numBuckets(); bucketId++) {
+            assertEquals(balanced.shardForBucketImpl(bucketId), balanced.shardForBucket(bucketId));
+        }
+        assertThrows(IllegalArgumentException.class, () -> legacy.shardForBucket(1000));
+        assertThrows(IllegalArgumentException.class, () -> balanced.shardForBucket(-1));
+    }
+
+    @Test
+    public void testBlacklistingIsVisibleImmediately() {
+        ShardManager shardManager = new BalancedShardManager(4);
+        assertTrue(shardManager.isMappedToValidShard(0));
+        shardManager.blacklistShard(0);
+        assertFalse(shardManager.isMappedToValidShard(0));
+        assertTrue(shardManager.isMappedToValidShard(1023));
+        assertThrows(ShardBlacklistedException.class, () -> shardManager.shardForBucket(0));
+        shardManager.unblacklistShard(0);
+        assertEquals(0, shardManager.shardForBucket(0));
+    }
+
+    @Test
+    public void testBlacklistRefreshDoesNotBlockCallers() throws Exception {
+        val store = new InMemoryLocalShardBlacklistingStore();
+        val blockStore = new AtomicBoolean(false);
+        val refreshStarted = new CountDownLatch(1);
+        val releaseStore = new CountDownLatch(1);
+        //Refreshes on every call
+        val shardManager = new TwoShardManager(new DelegatingStore(store) {
+            @Override
+            public boolean blacklisted(int shardId) {
+                if (blockStore.get()) {
+                    refreshStarted.countDown();
+                    await(releaseStore);
+                }
+                return super.blacklisted(shardId);
+            }
+        }, 0);
+        assertTrue(shardManager.isMappedToValidShard(0));
+
+        //Blacklisted behind the back of the manager, seen on refresh
+        store.blacklist(0);
+        blockStore.set(true);
+        assertTrue(shardManager.isMappedToValidShard(0));
+        assertTrue(refreshStarted.await(5, TimeUnit.SECONDS));
+        //The store is stuck, callers keep getting the older snapshot
+        assertTrue(shardManager.isMappedToValidShard(0));
+
+        blockStore.set(false);
+        releaseStore.countDown();
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (shardManager.isMappedToValidShard(0) && System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+        assertFalse(shardManager.isMappedToValidShard(0));
+    }
+
+    @Test
+    public void testFirstBlacklistLoadIsShared() throws Exception {
+        val lookups = new AtomicInteger();
+        val callersStarted = new CountDownLatch(8);
+        val shardManager = new TwoShardManager(new DelegatingStore(new InMemoryLocalShardBlacklistingStore()) {
+            @Override
+            public boolean blacklisted(int shardId) {
+                lookups.incrementAndGet();
+                await(callersStarted);
+                return super.blacklisted(shardId);
+            }
+        }, TimeUnit.HOURS.toNanos(1));
+        final List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            val caller = new Thread(() -> {
+                callersStarted.countDown();
+                assertTrue(shardManager.isMappedToValidShard(1));
+            });
+            caller.start();
+            callers.add(caller);
+        }
+        for (val caller : callers) {
+            caller.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        //One lookup per shard
+        assertEquals(2, lookups.get());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class DelegatingStore implements ShardBlacklistingStore {
+        private final ShardBlacklistingStore delegate;
+
+        private DelegatingStore(ShardBlacklistingStore delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void blacklist(int shardId) {
+            delegate.blacklist(shardId);
+        }
+
+        @Override
+        public void unblacklist(int shardId) {
+            delegate.unblacklist(shardId);
+        }
+
+        @Override
+        public boolean blacklisted(int shardId) {
+            return delegate.blacklisted(shardId);
+        }
+    }
+
+    private static final class TwoShardManager extends ShardManager {
+        private TwoShardManager(ShardBlacklistingStore shardBlacklistingStore, long blacklistRefreshIntervalNanos) {
+            super(shardBlacklistingStore, blacklistRefreshIntervalNanos);
+        }
+
+        @Override
+        public int numBuckets() {
+            return 2;
+        }
+
+        @Override
+        protected int numShards() {
+            return 2;
+        }
+
+        @Override
+        protected int shardForBucketImpl(int bucketId) {
+            return bucketId;
+        }
+    }
+}
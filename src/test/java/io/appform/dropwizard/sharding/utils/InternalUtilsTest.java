@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.utils;
+
+import io.appform.dropwizard.sharding.dao.testdata.entities.RelationalEntity;
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InternalUtilsTest {
+
+    @Test
+    public void testExecutePendingBatch() {
+        val configuration = new Configuration();
+        configuration.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        configuration.setProperty("hibernate.connection.driver_class", "org.h2.Driver");
+        configuration.setProperty("hibernate.connection.url", "jdbc:h2:mem:pending_batch");
+        configuration.setProperty("hibernate.hbm2ddl.auto", "create");
+        configuration.addAnnotatedClass(RelationalEntity.class);
+        try (SessionFactory sessionFactory = configuration.buildSessionFactory(
+                new StandardServiceRegistryBuilder().applySettings(configuration.getProperties()).build());
+             val session = sessionFactory.openSession()) {
+            session.doWork(connection -> {
+                val statelessSession = sessionFactory.openStatelessSession(connection);
+                try {
+                    statelessSession.setJdbcBatchSize(10);
+                    for (int i = 0; i < 3; i++) {
+                        statelessSession.insert(RelationalEntity.builder()
+                                .key("key" + i)
+                                .value("value" + i)
+                                .build());
+                    }
+                    //Inserts are held back till the batch fills up
+                    assertEquals(0, countRows(connection));
+                    InternalUtils.executePendingBatch(statelessSession);
+                    assertEquals(3, countRows(connection));
+                } finally {
+                    statelessSession.close();
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testExecutePendingBatchRejectsUnknownSessions() {
+        assertThrows(IllegalArgumentException.class,
+                () -> InternalUtils.executePendingBatch(Mockito.mock(StatelessSession.class)));
+    }
+
+    private static int countRows(final Connection connection) throws SQLException {
+        try (val statement = connection.createStatement();
+             val resultSet = statement.executeQuery("select count(*) from relations")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+}
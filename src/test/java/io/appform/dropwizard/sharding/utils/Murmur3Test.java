@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Santanu Sinha <santanu.sinha@gmail.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package io.appform.dropwizard.sharding.utils;
+
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Murmur3Test {
+
+    @Test
+    public void testMatchesGuavaMurmur() {
+        assertSameHash("");
+        assertSameHash("a");
+        assertSameHash("0123456789abcdef");
+        assertSameHash("0123456789abcdef0");
+        assertSameHash("résumé-ключ-キー");
+        assertSameHash("😀 emoji");
+        assertSameHash("unpaired \uD83D surrogate \uDE00");
+        for (int i = 0; i < 1000; i++) {
+            assertSameHash(UUID.randomUUID().toString());
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(64);
+            for (int j = 0; j < length; j++) {
+                builder.append((char) random.nextInt(Character.MAX_VALUE + 1));
+            }
+            assertSameHash(builder.toString());
+        }
+    }
+
+    private static void assertSameHash(String input) {
+        assertEquals(Hashing.murmur3_128().hashString(input, StandardCharsets.UTF_8).asInt(),
+                     Murmur3.hashToInt(input),
+                     "Hash mismatch for: " + input);
+    }
+}